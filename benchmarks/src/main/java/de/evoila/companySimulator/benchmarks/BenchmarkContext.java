@@ -0,0 +1,44 @@
+package de.evoila.companySimulator.benchmarks;
+
+import de.evoila.companySimulator.CompanySimulatorApplication;
+import org.springframework.boot.WebApplicationType;
+import org.springframework.boot.builder.SpringApplicationBuilder;
+import org.springframework.context.ConfigurableApplicationContext;
+
+// Starts the application on its own in-memory H2, seeded with synthetic rows by the application's own seeding. The rows
+// come from a fixed seed, so every run measures against the same data.
+final class BenchmarkContext {
+
+    // the seeding numbers the rows from one
+    static final long FIRST_ID = 1;
+
+    private BenchmarkContext() {
+    }
+
+    // without a web server, the benchmarks call the beans
+    static ConfigurableApplicationContext start(int employees, int projects) {
+        return builder(employees, projects).web(WebApplicationType.NONE).run();
+    }
+
+    // with Tomcat on a random port, read it with local.server.port
+    static ConfigurableApplicationContext startServer(int employees, int projects, String... properties) {
+        return builder(employees, projects).web(WebApplicationType.SERVLET).properties("server.port=0").properties(properties).run();
+    }
+
+    // the reactive profile on Netty, on a random port as well
+    static ConfigurableApplicationContext startReactiveServer(int employees, int projects) {
+        return builder(employees, projects).web(WebApplicationType.REACTIVE).profiles("reactive").properties("server.port=0").run();
+    }
+
+    private static SpringApplicationBuilder builder(int employees, int projects) {
+        return new SpringApplicationBuilder(CompanySimulatorApplication.class)
+                .logStartupInfo(false)
+                .properties("spring.main.banner-mode=off",
+                        "logging.level.root=WARN",
+                        "spring.datasource.url=jdbc:h2:mem:benchmarks;DB_CLOSE_DELAY=-1",
+                        "company-simulator.seed.employees=" + employees,
+                        "company-simulator.seed.projects=" + projects,
+                        "company-simulator.seed.random-seed=42");
+    }
+
+}
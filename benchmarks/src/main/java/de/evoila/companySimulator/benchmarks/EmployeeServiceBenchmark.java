@@ -0,0 +1,94 @@
+package de.evoila.companySimulator.benchmarks;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.services.EmployeeService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class EmployeeServiceBenchmark {
+
+    @Param({"1000", "10000", "100000"})
+    int employees;
+
+    private ConfigurableApplicationContext context;
+
+    private EmployeeService employeeService;
+
+    private EmployeeRepository employeeRepository;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start(employees, Math.max(10, employees / 100));
+        employeeService = context.getBean(EmployeeService.class);
+        employeeRepository = context.getBean(EmployeeRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    // through the entity cache, which holds fewer entries than the largest table
+    @Benchmark
+    public Object findById() {
+        return employeeService.findEmployeeById(randomId());
+    }
+
+    @Benchmark
+    public Object findByIdFromRepository() {
+        return employeeRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public Object findAll() {
+        return employeeService.getAllEmployees();
+    }
+
+    @Benchmark
+    public Object findAllEntitiesFromRepository() {
+        return employeeRepository.findAll();
+    }
+
+    // a pair keeps the table at its size across iterations
+    @Benchmark
+    public Object createAndDelete() {
+        Employee employee = (Employee) employeeService.createEmployee(new Employee("Bench", "Mark", "bench@mark.de", Speciality.BACKEND)).getBody();
+        return employeeService.deleteEmployee(employee.getId());
+    }
+
+    // without a project in the body, so the update does not cascade a detached project
+    @Benchmark
+    public Object update() {
+        long id = randomId();
+        Speciality speciality = Speciality.values()[(int) (id % Speciality.values().length)];
+        return employeeService.updateEmployee(new Employee("Bench", "Mark", "bench@mark.de", speciality), id);
+    }
+
+    private long randomId() {
+        return BenchmarkContext.FIRST_ID + ThreadLocalRandom.current().nextInt(employees);
+    }
+
+}
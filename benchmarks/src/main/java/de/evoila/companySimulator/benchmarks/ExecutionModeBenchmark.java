@@ -0,0 +1,80 @@
+package de.evoila.companySimulator.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+// Bursts of concurrent page reads over HTTP against each company-simulator.execution.mode and against the reactive
+// profile. Tomcat is held to a small worker pool, so at high concurrency the platform mode queues on the container
+// threads while the offloaded modes queue on the JDBC pool and the reactive profile on the R2DBC pool. The score is
+// bursts per second, times concurrency it is requests per second.
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ExecutionModeBenchmark {
+
+    private static final int EMPLOYEES = 10000;
+
+    @Param({"platform", "async", "virtual", "reactive"})
+    String mode;
+
+    @Param({"50", "500"})
+    int concurrency;
+
+    private ConfigurableApplicationContext context;
+
+    private HttpClient client;
+
+    private String baseUrl;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = mode.equals("reactive") ? BenchmarkContext.startReactiveServer(EMPLOYEES, EMPLOYEES / 100)
+                : BenchmarkContext.startServer(EMPLOYEES, EMPLOYEES / 100,
+                "company-simulator.execution.mode=" + mode,
+                "server.tomcat.threads.max=20",
+                "server.tomcat.threads.min-spare=20");
+        baseUrl = "http://localhost:" + context.getEnvironment().getProperty("local.server.port");
+        client = HttpClient.newBuilder().version(HttpClient.Version.HTTP_1_1).build();
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public int pageBurst() {
+        CompletableFuture<?>[] responses = new CompletableFuture<?>[concurrency];
+        for (int request = 0; request < concurrency; request++) {
+            long cursor = ThreadLocalRandom.current().nextInt(EMPLOYEES);
+            responses[request] = client.sendAsync(HttpRequest.newBuilder(URI.create(baseUrl + "/employee/all?size=50&cursor=" + cursor)).build(),
+                    HttpResponse.BodyHandlers.discarding());
+        }
+        CompletableFuture.allOf(responses).join();
+        return responses.length;
+    }
+
+}
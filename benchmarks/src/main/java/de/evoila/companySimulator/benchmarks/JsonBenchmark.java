@@ -0,0 +1,95 @@
+package de.evoila.companySimulator.benchmarks;
+
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.Project;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+// the mapper is built like the one Spring MVC uses, without starting the application
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class JsonBenchmark {
+
+    private static final TypeReference<List<Employee>> EMPLOYEE_LIST = new TypeReference<>() {
+    };
+
+    @Param({"100", "10000"})
+    int bulkSize;
+
+    private ObjectMapper objectMapper;
+
+    private Employee employee;
+
+    private List<Employee> employees;
+
+    private byte[] employeeJson;
+
+    private byte[] employeesJson;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        objectMapper = Jackson2ObjectMapperBuilder.json().build();
+        employees = new ArrayList<>(bulkSize);
+        for (int index = 0; index < bulkSize; index++) {
+            employees.add(employee(index));
+        }
+        employee = employees.get(0);
+        employeeJson = objectMapper.writeValueAsBytes(employee);
+        employeesJson = objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public byte[] encodeSingle() throws IOException {
+        return objectMapper.writeValueAsBytes(employee);
+    }
+
+    @Benchmark
+    public Employee decodeSingle() throws IOException {
+        return objectMapper.readValue(employeeJson, Employee.class);
+    }
+
+    @Benchmark
+    public byte[] encodeBulk() throws IOException {
+        return objectMapper.writeValueAsBytes(employees);
+    }
+
+    @Benchmark
+    public List<Employee> decodeBulk() throws IOException {
+        return objectMapper.readValue(employeesJson, EMPLOYEE_LIST);
+    }
+
+    private static Employee employee(int index) {
+        Employee employee = new Employee("Harry" + index, "Potter", "hp" + index + "@gmail.com", Speciality.values()[index % Speciality.values().length]);
+        employee.setId((long) index + 1);
+        employee.setVersion(0L);
+        Project project = new Project("Tosch", "Project " + index % 50);
+        project.setId((long) index % 50 + 1);
+        project.setVersion(0L);
+        employee.setProject(project);
+        return employee;
+    }
+
+}
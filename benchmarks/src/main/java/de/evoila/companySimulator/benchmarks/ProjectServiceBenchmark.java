@@ -0,0 +1,84 @@
+package de.evoila.companySimulator.benchmarks;
+
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.repositories.ProjectRepository;
+import de.evoila.companySimulator.services.ProjectService;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.context.ConfigurableApplicationContext;
+
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class ProjectServiceBenchmark {
+
+    @Param({"100", "1000", "10000"})
+    int projects;
+
+    private ConfigurableApplicationContext context;
+
+    private ProjectService projectService;
+
+    private ProjectRepository projectRepository;
+
+    @Setup(Level.Trial)
+    public void start() {
+        context = BenchmarkContext.start(0, projects);
+        projectService = context.getBean(ProjectService.class);
+        projectRepository = context.getBean(ProjectRepository.class);
+    }
+
+    @TearDown(Level.Trial)
+    public void stop() {
+        context.close();
+    }
+
+    @Benchmark
+    public Object findById() {
+        return projectService.findProjectById(randomId());
+    }
+
+    @Benchmark
+    public Object findByIdFromRepository() {
+        return projectRepository.findById(randomId());
+    }
+
+    @Benchmark
+    public Object findAll() {
+        return projectService.getAllProjects();
+    }
+
+    @Benchmark
+    public Object createAndDelete() {
+        Project project = (Project) projectService.createProject(new Project("Bench", "Mark")).getBody();
+        return projectService.deleteProject(project.getId());
+    }
+
+    @Benchmark
+    public Object update() {
+        long id = randomId();
+        return projectService.updateProject(new Project("Bench", "Mark " + id % 10), id);
+    }
+
+    private long randomId() {
+        return BenchmarkContext.FIRST_ID + ThreadLocalRandom.current().nextInt(projects);
+    }
+
+}
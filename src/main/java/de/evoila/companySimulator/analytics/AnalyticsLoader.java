@@ -0,0 +1,46 @@
+package de.evoila.companySimulator.analytics;
+
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.repositories.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+@Component
+public class AnalyticsLoader {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    StaffingCounter staffingCounter;
+
+    @Autowired
+    EmployeeColumns employeeColumns;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadStaffingCounter() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status ->
+                staffingCounter.rebuild(employeeRepository::countHeadcounts, projectRepository::findAllProjectCompanies));
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadEmployeeColumns() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status ->
+                employeeColumns.rebuild(employeeRepository::streamAllSummaries, projectRepository::findAllProjectCompanies));
+    }
+
+}
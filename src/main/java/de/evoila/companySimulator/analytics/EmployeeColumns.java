@@ -0,0 +1,352 @@
+package de.evoila.companySimulator.analytics;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.EmployeeMatches;
+import de.evoila.companySimulator.models.EmployeePlacement;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.models.FootprintEstimate;
+import de.evoila.companySimulator.models.ProjectCompany;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Supplier;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+// Read model of the employee table in primitive arrays sorted by id, one array per column. Names are stored as codes of
+// a shared dictionary. Deleted rows stay as tombstones until they make up a quarter of the rows, so ids keep their order.
+// Compaction also rebuilds the dictionaries, so names that no row uses anymore are dropped.
+@Component
+public class EmployeeColumns {
+
+    private static final byte DELETED = -1;
+
+    private static final long NO_PROJECT = 0;
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private StringDictionary names = new StringDictionary();
+
+    private StringDictionary companies = new StringDictionary();
+
+    private Map<Long, Integer> projectCompanies = new HashMap<>();
+
+    private long[] ids = new long[0];
+
+    private byte[] specialities = new byte[0];
+
+    private long[] projectIds = new long[0];
+
+    private int[] firstNames = new int[0];
+
+    private int[] lastNames = new int[0];
+
+    private int size;
+
+    private int deleted;
+
+    // the changes made while a rebuild reads its snapshot, null outside a rebuild, guarded by the write lock
+    private List<Runnable> rebuildChanges;
+
+    @Value("${company-simulator.analytics.parallel-scan-threshold:200000}")
+    int parallelScanThreshold;
+
+    // The rows have to come ordered by id. Changes made while the suppliers read the snapshot are replayed onto the
+    // rebuilt columns, see StaffingCounter.rebuild.
+    public void rebuild(Supplier<Stream<EmployeeSummary>> rows, Supplier<List<ProjectCompany>> projects) {
+        lock.writeLock().lock();
+        try {
+            rebuildChanges = new ArrayList<>();
+        } finally {
+            lock.writeLock().unlock();
+        }
+        try {
+            EmployeeColumns rebuilt = new EmployeeColumns();
+            try (Stream<EmployeeSummary> snapshot = rows.get()) {
+                snapshot.forEach(row -> rebuilt.insert(rebuilt.size, row.getId(), row.getFirstName(), row.getLastName(), row.getSpeciality(), row.getProjectId()));
+            }
+            projects.get().forEach(project -> rebuilt.projectCompanies.put(project.getProjectId(), rebuilt.companies.encode(project.getCompanyName())));
+            lock.writeLock().lock();
+            try {
+                names = rebuilt.names;
+                companies = rebuilt.companies;
+                projectCompanies = rebuilt.projectCompanies;
+                ids = rebuilt.ids;
+                specialities = rebuilt.specialities;
+                projectIds = rebuilt.projectIds;
+                firstNames = rebuilt.firstNames;
+                lastNames = rebuilt.lastNames;
+                size = rebuilt.size;
+                deleted = 0;
+                rebuildChanges.forEach(Runnable::run);
+            } finally {
+                lock.writeLock().unlock();
+            }
+        } finally {
+            lock.writeLock().lock();
+            try {
+                rebuildChanges = null;
+            } finally {
+                lock.writeLock().unlock();
+            }
+        }
+    }
+
+    public void upsert(Long id, String firstName, String lastName, Speciality speciality, Long projectId) {
+        if (id == null) {
+            return;
+        }
+        change(() -> {
+            int index = indexOf(id);
+            if (index < 0) {
+                insert(-index - 1, id, firstName, lastName, speciality, projectId);
+                return;
+            }
+            if (specialities[index] == DELETED) {
+                deleted--;
+            }
+            set(index, firstName, lastName, speciality, projectId);
+        });
+    }
+
+    // null values are left unchanged
+    public void patch(Long id, String firstName, String lastName, Speciality speciality) {
+        change(() -> {
+            int index = indexOf(id);
+            if (index < 0 || specialities[index] == DELETED) {
+                return;
+            }
+            if (firstName != null) {
+                firstNames[index] = names.encode(firstName);
+            }
+            if (lastName != null) {
+                lastNames[index] = names.encode(lastName);
+            }
+            if (speciality != null) {
+                specialities[index] = (byte) speciality.ordinal();
+            }
+        });
+    }
+
+    public void moveToProject(Collection<Long> employeeIds, Long projectId) {
+        change(() -> {
+            for (Long id : employeeIds) {
+                int index = indexOf(id);
+                if (index >= 0 && specialities[index] != DELETED) {
+                    projectIds[index] = projectId == null ? NO_PROJECT : projectId;
+                }
+            }
+        });
+    }
+
+    public void remove(Long id) {
+        change(() -> {
+            int index = indexOf(id);
+            if (index < 0 || specialities[index] == DELETED) {
+                return;
+            }
+            specialities[index] = DELETED;
+            deleted++;
+        });
+    }
+
+    public void projectSaved(Long id, String companyName) {
+        if (id == null || companyName == null) {
+            return;
+        }
+        change(() -> projectCompanies.put(id, companies.encode(companyName)));
+    }
+
+    public void projectRemoved(Long id) {
+        change(() -> projectCompanies.remove(id));
+    }
+
+    // null if the employee is unknown or deleted
+    public EmployeePlacement placementOf(Long id) {
+        lock.readLock().lock();
+        try {
+            int index = indexOf(id);
+            if (index < 0 || specialities[index] == DELETED) {
+                return null;
+            }
+            return new EmployeePlacement(id, projectIds[index] == NO_PROJECT ? null : projectIds[index], Speciality.values()[specialities[index]]);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // null filters match everything, a company filter leaves out the employees without a project
+    public EmployeeMatches find(Speciality speciality, String companyName, String lastName) {
+        lock.readLock().lock();
+        try {
+            byte specialityFilter = speciality == null ? DELETED : (byte) speciality.ordinal();
+            long[] companyProjects = companyName == null ? null : projectsOf(companyName);
+            int lastNameCode = lastName == null ? StringDictionary.NONE : names.codeOf(lastName);
+            if ((companyProjects != null && companyProjects.length == 0) || (lastName != null && lastNameCode == StringDictionary.NONE)) {
+                return new EmployeeMatches(0, new long[0]);
+            }
+            long[] matches;
+            if (size < parallelScanThreshold) {
+                matches = scan(0, size, specialityFilter, companyProjects, lastName != null, lastNameCode);
+            } else {
+                // the read lock is held by this thread for the whole scan, the workers only read the arrays
+                int chunks = Runtime.getRuntime().availableProcessors() * 4;
+                int chunkSize = (size + chunks - 1) / chunks;
+                matches = IntStream.range(0, chunks).parallel()
+                        .mapToObj(chunk -> scan(Math.min(size, chunk * chunkSize), Math.min(size, (chunk + 1) * chunkSize),
+                                specialityFilter, companyProjects, lastName != null, lastNameCode))
+                        .flatMapToLong(Arrays::stream)
+                        .toArray();
+            }
+            return new EmployeeMatches(matches.length, matches);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    // Shallow sizes for a 64 bit JVM with compressed references and compact strings. Email is left out on both
+    // sides since the read model does not hold it. A managed entity also costs a loaded state snapshot, which is not counted.
+    public FootprintEstimate footprint() {
+        lock.readLock().lock();
+        try {
+            int capacity = ids.length;
+            long columnarBytes = 5 * 16L + capacity * (8L + 1L + 8L + 4L + 4L);
+            long[] nameBytes = new long[names.size()];
+            for (int code = 0; code < nameBytes.length; code++) {
+                nameBytes[code] = stringBytes(names.decode(code));
+                // list slot, map entry, boxed code and the string itself
+                columnarBytes += 4 + 32 + 16 + nameBytes[code];
+            }
+            long entityListBytes = 16;
+            int rows = 0;
+            for (int index = 0; index < size; index++) {
+                if (specialities[index] == DELETED) {
+                    continue;
+                }
+                rows++;
+                // list slot, the Employee with seven reference fields, the boxed id and version
+                entityListBytes += 4 + 40 + 16 + 16;
+                entityListBytes += firstNames[index] == StringDictionary.NONE ? 0 : nameBytes[firstNames[index]];
+                entityListBytes += lastNames[index] == StringDictionary.NONE ? 0 : nameBytes[lastNames[index]];
+            }
+            return new FootprintEstimate(rows, names.size(), columnarBytes, entityListBytes);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private long[] scan(int from, int to, byte speciality, long[] companyProjects, boolean filterLastName, int lastNameCode) {
+        long[] matches = new long[Math.min(to - from, 1024)];
+        int count = 0;
+        for (int index = from; index < to; index++) {
+            byte rowSpeciality = specialities[index];
+            if (rowSpeciality == DELETED
+                    || (speciality != DELETED && rowSpeciality != speciality)
+                    || (filterLastName && lastNames[index] != lastNameCode)
+                    || (companyProjects != null && Arrays.binarySearch(companyProjects, projectIds[index]) < 0)) {
+                continue;
+            }
+            if (count == matches.length) {
+                matches = Arrays.copyOf(matches, count * 2);
+            }
+            matches[count++] = ids[index];
+        }
+        return Arrays.copyOf(matches, count);
+    }
+
+    private long[] projectsOf(String companyName) {
+        int company = companies.codeOf(companyName);
+        return projectCompanies.entrySet().stream()
+                .filter(entry -> entry.getValue() == company)
+                .mapToLong(Map.Entry::getKey)
+                .sorted()
+                .toArray();
+    }
+
+    private void change(Runnable change) {
+        lock.writeLock().lock();
+        try {
+            if (rebuildChanges != null) {
+                rebuildChanges.add(change);
+            }
+            change.run();
+            // renames leave unused names behind just like deletes, at most as many as the live rows use
+            int live = size - deleted;
+            if (deleted > size / 4 || names.size() > 4 * live + 16 || companies.size() > 2 * projectCompanies.size() + 16) {
+                compact();
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private int indexOf(long id) {
+        return Arrays.binarySearch(ids, 0, size, id);
+    }
+
+    private void insert(int index, long id, String firstName, String lastName, Speciality speciality, Long projectId) {
+        if (size == ids.length) {
+            int capacity = Math.max(16, size + (size >> 1));
+            ids = Arrays.copyOf(ids, capacity);
+            specialities = Arrays.copyOf(specialities, capacity);
+            projectIds = Arrays.copyOf(projectIds, capacity);
+            firstNames = Arrays.copyOf(firstNames, capacity);
+            lastNames = Arrays.copyOf(lastNames, capacity);
+        }
+        // ids come from a sequence, so this is an append unless batches commit out of order
+        if (index < size) {
+            System.arraycopy(ids, index, ids, index + 1, size - index);
+            System.arraycopy(specialities, index, specialities, index + 1, size - index);
+            System.arraycopy(projectIds, index, projectIds, index + 1, size - index);
+            System.arraycopy(firstNames, index, firstNames, index + 1, size - index);
+            System.arraycopy(lastNames, index, lastNames, index + 1, size - index);
+        }
+        ids[index] = id;
+        size++;
+        set(index, firstName, lastName, speciality, projectId);
+    }
+
+    private void set(int index, String firstName, String lastName, Speciality speciality, Long projectId) {
+        firstNames[index] = names.encode(firstName);
+        lastNames[index] = names.encode(lastName);
+        specialities[index] = speciality == null ? DELETED : (byte) speciality.ordinal();
+        projectIds[index] = projectId == null ? NO_PROJECT : projectId;
+    }
+
+    private void compact() {
+        StringDictionary usedNames = new StringDictionary();
+        int live = 0;
+        for (int index = 0; index < size; index++) {
+            if (specialities[index] == DELETED) {
+                continue;
+            }
+            ids[live] = ids[index];
+            specialities[live] = specialities[index];
+            projectIds[live] = projectIds[index];
+            firstNames[live] = usedNames.encode(names.decode(firstNames[index]));
+            lastNames[live] = usedNames.encode(names.decode(lastNames[index]));
+            live++;
+        }
+        size = live;
+        deleted = 0;
+        names = usedNames;
+        StringDictionary usedCompanies = new StringDictionary();
+        projectCompanies.replaceAll((projectId, company) -> usedCompanies.encode(companies.decode(company)));
+        companies = usedCompanies;
+    }
+
+    private static long stringBytes(String value) {
+        boolean latin1 = value.chars().allMatch(character -> character < 256);
+        long bytes = 16 + (long) value.length() * (latin1 ? 1 : 2);
+        return 24 + (bytes + 7) / 8 * 8;
+    }
+
+}
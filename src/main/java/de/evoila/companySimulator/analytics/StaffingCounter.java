@@ -0,0 +1,129 @@
+package de.evoila.companySimulator.analytics;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.CompanyProjectCount;
+import de.evoila.companySimulator.models.HeadcountRow;
+import de.evoila.companySimulator.models.ProjectCompany;
+import de.evoila.companySimulator.models.StaffingReport;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+// Headcount per project and speciality kept up to date by the service write paths, so a staffing report costs
+// projects x specialities instead of a scan over the employee table. The writers pass the committed old and new state.
+@Component
+public class StaffingCounter {
+
+    private static final Speciality[] SPECIALITIES = Speciality.values();
+
+    private volatile Counts counts = new Counts();
+
+    // the changes made while a rebuild reads its snapshot, null outside a rebuild, guarded by this
+    private List<Consumer<Counts>> rebuildChanges;
+
+    public void employeeAdded(Long projectId, Speciality speciality) {
+        change(current -> current.add(projectId, speciality, 1));
+    }
+
+    public void employeeRemoved(Long projectId, Speciality speciality) {
+        change(current -> current.add(projectId, speciality, -1));
+    }
+
+    public void employeeMoved(Long fromProjectId, Speciality fromSpeciality, Long toProjectId, Speciality toSpeciality) {
+        change(current -> {
+            current.add(fromProjectId, fromSpeciality, -1);
+            current.add(toProjectId, toSpeciality, 1);
+        });
+    }
+
+    // a null company name keeps the known one, a patch may leave it unchanged
+    public void projectSaved(Long id, String companyName) {
+        if (id != null && companyName != null) {
+            change(current -> current.projectCompanies.put(id, companyName));
+        }
+    }
+
+    public void projectRemoved(Long id) {
+        change(current -> {
+            current.projectCompanies.remove(id);
+            current.headcounts.remove(id);
+        });
+    }
+
+    // The snapshot is read by the suppliers. Changes made meanwhile are replayed onto the rebuilt counts, like the
+    // removals of IdExistenceFilter, so writes served while the application starts are not lost.
+    public void rebuild(Supplier<List<HeadcountRow>> headcounts, Supplier<List<ProjectCompany>> projects) {
+        synchronized (this) {
+            rebuildChanges = new ArrayList<>();
+        }
+        try {
+            Counts rebuilt = new Counts();
+            headcounts.get().forEach(row -> rebuilt.add(row.getProjectId(), row.getSpeciality(), row.getHeadcount()));
+            projects.get().forEach(project -> rebuilt.projectCompanies.put(project.getProjectId(), project.getCompanyName()));
+            synchronized (this) {
+                rebuildChanges.forEach(change -> change.accept(rebuilt));
+                counts = rebuilt;
+            }
+        } finally {
+            synchronized (this) {
+                rebuildChanges = null;
+            }
+        }
+    }
+
+    public StaffingReport report() {
+        Counts current = counts;
+        List<HeadcountRow> headcounts = new ArrayList<>();
+        current.headcounts.forEach((projectId, perSpeciality) -> addRows(headcounts, projectId, perSpeciality));
+        addRows(headcounts, null, current.unassigned);
+        Map<String, Long> perCompany = new HashMap<>();
+        current.projectCompanies.values().forEach(companyName -> perCompany.merge(companyName, 1L, Long::sum));
+        List<CompanyProjectCount> companies = new ArrayList<>();
+        perCompany.forEach((companyName, projects) -> companies.add(new CompanyProjectCount(companyName, projects)));
+        return StaffingReport.of(headcounts, companies);
+    }
+
+    private void change(Consumer<Counts> change) {
+        Counts current;
+        synchronized (this) {
+            current = counts;
+            if (rebuildChanges != null) {
+                rebuildChanges.add(change);
+            }
+        }
+        change.accept(current);
+    }
+
+    private void addRows(List<HeadcountRow> rows, Long projectId, AtomicLongArray perSpeciality) {
+        for (Speciality speciality : SPECIALITIES) {
+            rows.add(new HeadcountRow(projectId, speciality, perSpeciality.get(speciality.ordinal())));
+        }
+    }
+
+    private static class Counts {
+
+        private final Map<Long, AtomicLongArray> headcounts = new ConcurrentHashMap<>();
+
+        private final AtomicLongArray unassigned = new AtomicLongArray(SPECIALITIES.length);
+
+        private final Map<Long, String> projectCompanies = new ConcurrentHashMap<>();
+
+        private void add(Long projectId, Speciality speciality, long delta) {
+            if (speciality == null) {
+                return;
+            }
+            AtomicLongArray perSpeciality = projectId == null ? unassigned
+                    : headcounts.computeIfAbsent(projectId, id -> new AtomicLongArray(SPECIALITIES.length));
+            perSpeciality.addAndGet(speciality.ordinal(), delta);
+        }
+
+    }
+
+}
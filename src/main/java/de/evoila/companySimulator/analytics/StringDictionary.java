@@ -0,0 +1,40 @@
+package de.evoila.companySimulator.analytics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+// Not thread safe, the owner guards it together with the columns that hold its codes.
+class StringDictionary {
+
+    static final int NONE = -1;
+
+    private final List<String> values = new ArrayList<>();
+
+    private final Map<String, Integer> codes = new HashMap<>();
+
+    int encode(String value) {
+        if (value == null) {
+            return NONE;
+        }
+        return codes.computeIfAbsent(value, key -> {
+            values.add(key);
+            return values.size() - 1;
+        });
+    }
+
+    int codeOf(String value) {
+        Integer code = value == null ? null : codes.get(value);
+        return code == null ? NONE : code;
+    }
+
+    String decode(int code) {
+        return code == NONE ? null : values.get(code);
+    }
+
+    int size() {
+        return values.size();
+    }
+
+}
@@ -0,0 +1,142 @@
+package de.evoila.companySimulator.assignment;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.AssignmentMove;
+import de.evoila.companySimulator.models.AssignmentProposal;
+import de.evoila.companySimulator.models.EmployeePlacement;
+import de.evoila.companySimulator.models.StaffingDemand;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+// Fills the open slots from the unassigned employees first, so nobody leaves a project while someone unassigned could
+// take the slot, then from the surplus within the same company, then from other companies.
+public class AssignmentSolver {
+
+    private static final int SPECIALITIES = Speciality.values().length;
+
+    private final long deadline;
+
+    private boolean timedOut;
+
+    private final List<AssignmentMove> moves = new ArrayList<>();
+
+    // the solver runs once, deadline is a System.nanoTime() value
+    public AssignmentSolver(long deadline) {
+        this.deadline = deadline;
+    }
+
+    // employees ordered by id, so the proposal is the same for the same data; companyOf maps every demanded project
+    public AssignmentProposal solve(List<EmployeePlacement> employees, List<StaffingDemand> demands, Map<Long, String> companyOf) {
+        int projects = demands.size();
+        long[] projectIds = new long[projects];
+        Map<Long, Integer> projectIndexes = new HashMap<>();
+        int[] required = new int[projects * SPECIALITIES];
+        for (int project = 0; project < projects; project++) {
+            projectIds[project] = demands.get(project).getProjectId();
+            projectIndexes.put(projectIds[project], project);
+            for (Map.Entry<Speciality, Integer> entry : demands.get(project).getRequired().entrySet()) {
+                required[project * SPECIALITIES + entry.getKey().ordinal()] = Math.max(0, entry.getValue());
+            }
+        }
+
+        // the employees of a speciality on a project, and the unassigned ones, by id
+        List<List<Long>> members = new ArrayList<>(projects * SPECIALITIES);
+        for (int slot = 0; slot < projects * SPECIALITIES; slot++) {
+            members.add(new ArrayList<>());
+        }
+        List<List<Long>> unassigned = new ArrayList<>(SPECIALITIES);
+        for (int speciality = 0; speciality < SPECIALITIES; speciality++) {
+            unassigned.add(new ArrayList<>());
+        }
+        for (EmployeePlacement employee : employees) {
+            if (employee.getProjectId() == null) {
+                unassigned.get(employee.getSpeciality().ordinal()).add(employee.getId());
+                continue;
+            }
+            Integer project = projectIndexes.get(employee.getProjectId());
+            if (project != null) {
+                members.get(project * SPECIALITIES + employee.getSpeciality().ordinal()).add(employee.getId());
+            }
+        }
+
+        // projects of a company in the order they were demanded
+        Map<String, List<Integer>> companies = new LinkedHashMap<>();
+        for (int project = 0; project < projects; project++) {
+            companies.computeIfAbsent(companyOf.get(projectIds[project]), company -> new ArrayList<>()).add(project);
+        }
+
+        long requiredSlots = 0;
+        long coveredBefore = 0;
+        for (int slot = 0; slot < projects * SPECIALITIES; slot++) {
+            requiredSlots += required[slot];
+            coveredBefore += Math.min(required[slot], members.get(slot).size());
+        }
+
+        for (Speciality speciality : Speciality.values()) {
+            int offset = speciality.ordinal();
+            // what each project lacks, and its surplus as the ids behind the ones it keeps
+            int[] missing = new int[projects];
+            List<List<Long>> surplus = new ArrayList<>(projects);
+            for (int project = 0; project < projects; project++) {
+                List<Long> staff = members.get(project * SPECIALITIES + offset);
+                int keep = Math.min(required[project * SPECIALITIES + offset], staff.size());
+                missing[project] = required[project * SPECIALITIES + offset] - keep;
+                surplus.add(staff.subList(keep, staff.size()));
+            }
+            int[] taken = new int[projects];
+
+            List<Long> pool = unassigned.get(offset);
+            int poolTaken = 0;
+            for (int project = 0; project < projects && poolTaken < pool.size() && !timedOut(); project++) {
+                while (missing[project] > 0 && poolTaken < pool.size()) {
+                    moves.add(new AssignmentMove(pool.get(poolTaken++), speciality, null, projectIds[project]));
+                    missing[project]--;
+                }
+            }
+            for (List<Integer> company : companies.values()) {
+                fill(company, company, speciality, projectIds, missing, surplus, taken);
+            }
+            List<Integer> all = new ArrayList<>(projects);
+            for (int project = 0; project < projects; project++) {
+                all.add(project);
+            }
+            fill(all, all, speciality, projectIds, missing, surplus, taken);
+        }
+
+        return new AssignmentProposal(!timedOut, requiredSlots, coveredBefore, coveredBefore + moves.size(), moves);
+    }
+
+    // moves the surplus of the donors into the missing slots of the receivers, both in their given order
+    private void fill(List<Integer> receivers, List<Integer> donors, Speciality speciality, long[] projectIds,
+                      int[] missing, List<List<Long>> surplus, int[] taken) {
+        int donor = 0;
+        for (int receiver : receivers) {
+            if (timedOut()) {
+                return;
+            }
+            while (missing[receiver] > 0) {
+                while (donor < donors.size() && taken[donors.get(donor)] == surplus.get(donors.get(donor)).size()) {
+                    donor++;
+                }
+                if (donor == donors.size()) {
+                    return;
+                }
+                int from = donors.get(donor);
+                moves.add(new AssignmentMove(surplus.get(from).get(taken[from]++), speciality, projectIds[from], projectIds[receiver]));
+                missing[receiver]--;
+            }
+        }
+    }
+
+    private boolean timedOut() {
+        if (!timedOut && System.nanoTime() - deadline > 0) {
+            timedOut = true;
+        }
+        return timedOut;
+    }
+
+}
@@ -0,0 +1,74 @@
+package de.evoila.companySimulator.caches;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.Project;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+public class CacheConfig {
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Value("${company-simulator.cache.maximum-size:10000}")
+    long maximumSize;
+
+    @Value("${company-simulator.cache.time-to-live:5m}")
+    Duration timeToLive;
+
+    @Value("${company-simulator.idempotency.maximum-size:100000}")
+    long idempotencyMaximumSize;
+
+    @Value("${company-simulator.idempotency.time-to-live:24h}")
+    Duration idempotencyTimeToLive;
+
+    @Value("${company-simulator.idempotency.stripes:64}")
+    int idempotencyStripes;
+
+    @Bean
+    EntityCache<Employee> employeeCache() {
+        return new EntityCache<>("employees", maximumSize, timeToLive);
+    }
+
+    @Bean
+    EntityCache<Project> projectCache() {
+        return new EntityCache<>("projects", maximumSize, timeToLive);
+    }
+
+    @Bean
+    IdempotencyStore employeeIdempotencyStore() {
+        return new IdempotencyStore("employee-idempotency-keys", objectMapper, idempotencyMaximumSize, idempotencyTimeToLive, idempotencyStripes);
+    }
+
+    @Bean
+    IdempotencyStore projectIdempotencyStore() {
+        return new IdempotencyStore("project-idempotency-keys", objectMapper, idempotencyMaximumSize, idempotencyTimeToLive, idempotencyStripes);
+    }
+
+    @Bean
+    IdExistenceFilter employeeIdFilter() {
+        return new IdExistenceFilter("employees");
+    }
+
+    @Bean
+    IdExistenceFilter projectIdFilter() {
+        return new IdExistenceFilter("projects");
+    }
+
+    @Bean
+    CollectionVersion employeeCollectionVersion() {
+        return new CollectionVersion();
+    }
+
+    @Bean
+    CollectionVersion projectCollectionVersion() {
+        return new CollectionVersion();
+    }
+
+}
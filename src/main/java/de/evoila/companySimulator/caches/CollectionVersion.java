@@ -0,0 +1,22 @@
+package de.evoila.companySimulator.caches;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+// Change counter of a whole table, the epoch keeps ETags of an earlier run from matching after a restart.
+// Writers have to count a change only after it is committed, otherwise a reader could tag old rows with the new value.
+public class CollectionVersion {
+
+    private final String epoch = UUID.randomUUID().toString().substring(0, 8);
+
+    private final AtomicLong changes = new AtomicLong();
+
+    public void changed() {
+        changes.incrementAndGet();
+    }
+
+    public String eTag() {
+        return "\"" + epoch + "-" + changes.get() + "\"";
+    }
+
+}
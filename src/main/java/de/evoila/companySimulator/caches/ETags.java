@@ -0,0 +1,22 @@
+package de.evoila.companySimulator.caches;
+
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.Project;
+
+public final class ETags {
+
+    private ETags() {
+    }
+
+    public static String of(Project project) {
+        return "\"" + project.getId() + "-" + project.getVersion() + "\"";
+    }
+
+    // the employee representation embeds the project, so its version is part of the tag
+    public static String of(Employee employee) {
+        Project project = employee.getProject();
+        return "\"" + employee.getId() + "-" + employee.getVersion()
+                + (project == null ? "" : "-" + project.getId() + "-" + project.getVersion()) + "\"";
+    }
+
+}
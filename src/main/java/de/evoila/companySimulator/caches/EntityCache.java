@@ -0,0 +1,84 @@
+package de.evoila.companySimulator.caches;
+
+import com.github.benmanes.caffeine.cache.AsyncCache;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.evoila.companySimulator.models.CacheStatistics;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+// bound to the meter registry by Spring Boot as a MeterBinder bean
+public class EntityCache<V> implements MeterBinder {
+
+    private final String name;
+
+    private final AsyncCache<Long, V> asyncCache;
+
+    private final Cache<Long, V> cache;
+
+    public EntityCache(String name, long maximumSize, Duration timeToLive) {
+        this.name = name;
+        // a synchronous loader still runs on the calling thread
+        this.asyncCache = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .executor(Runnable::run)
+                .recordStats()
+                .buildAsync();
+        this.cache = asyncCache.synchronous();
+    }
+
+    // a loader throwing, e.g. a not found exception, leaves nothing in the cache
+    public V get(Long id, Function<Long, V> loader) {
+        return cache.get(id, loader);
+    }
+
+    // the loader only starts the load and returns its future, so the cache is not locked while the value loads. A load
+    // completing with null, like a failed one, leaves nothing in the cache and returns null
+    public V load(Long id, Function<Long, CompletableFuture<V>> loader) {
+        try {
+            return asyncCache.get(id, (key, executor) -> loader.apply(key)).join();
+        } catch (CompletionException e) {
+            throw e.getCause() instanceof RuntimeException ? (RuntimeException) e.getCause() : e;
+        }
+    }
+
+    public V getIfPresent(Long id) {
+        return cache.getIfPresent(id);
+    }
+
+    public void invalidate(Long id) {
+        cache.invalidate(id);
+    }
+
+    public void invalidateIf(Predicate<V> predicate) {
+        cache.asMap().values().removeIf(predicate);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStatistics statistics() {
+        cache.cleanUp();
+        com.github.benmanes.caffeine.cache.stats.CacheStats stats = cache.stats();
+        return new CacheStatistics(name, cache.estimatedSize(), stats.hitCount(), stats.missCount(), stats.evictionCount(), stats.hitRate());
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, cache, name);
+    }
+
+    public String getName() {
+        return name;
+    }
+
+}
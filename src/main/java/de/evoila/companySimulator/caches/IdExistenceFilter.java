@@ -0,0 +1,115 @@
+package de.evoila.companySimulator.caches;
+
+import de.evoila.companySimulator.models.IdFilterStatistics;
+
+import java.util.BitSet;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.stream.LongStream;
+
+// Exact set of the ids in a table: sequence ids are dense, so one bit per id is enough and deletes can be applied.
+// Until the first rebuild every id might exist, which keeps lookups correct while the application is starting.
+public class IdExistenceFilter {
+
+    private final String name;
+
+    private final BitSet ids = new BitSet();
+
+    private final BitSet removedBeforeReady = new BitSet();
+
+    private final ReadWriteLock lock = new ReentrantReadWriteLock();
+
+    private final AtomicLong rejectedLookups = new AtomicLong();
+
+    private volatile boolean ready;
+
+    public IdExistenceFilter(String name) {
+        this.name = name;
+    }
+
+    public boolean mightExist(Long id) {
+        if (!ready || !isTracked(id)) {
+            return true;
+        }
+        boolean exists;
+        lock.readLock().lock();
+        try {
+            exists = ids.get(id.intValue());
+        } finally {
+            lock.readLock().unlock();
+        }
+        if (!exists) {
+            rejectedLookups.incrementAndGet();
+        }
+        return exists;
+    }
+
+    public void add(Long id) {
+        if (!isTracked(id)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.set(id.intValue());
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void remove(Long id) {
+        if (!isTracked(id)) {
+            return;
+        }
+        lock.writeLock().lock();
+        try {
+            ids.clear(id.intValue());
+            if (!ready) {
+                removedBeforeReady.set(id.intValue());
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void rebuild(LongStream existingIds) {
+        BitSet loaded = new BitSet();
+        existingIds.filter(id -> id >= 0 && id <= Integer.MAX_VALUE).forEach(id -> loaded.set((int) id));
+        lock.writeLock().lock();
+        try {
+            // writes that happened while the ids were read win over the snapshot
+            loaded.andNot(removedBeforeReady);
+            ids.or(loaded);
+            removedBeforeReady.clear();
+            ready = true;
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public void reset() {
+        lock.writeLock().lock();
+        try {
+            ready = false;
+            ids.clear();
+            removedBeforeReady.clear();
+            rejectedLookups.set(0);
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    public IdFilterStatistics statistics() {
+        lock.readLock().lock();
+        try {
+            return new IdFilterStatistics(name, ready, ids.cardinality(), rejectedLookups.get());
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    private static boolean isTracked(Long id) {
+        return id != null && id >= 0 && id <= Integer.MAX_VALUE;
+    }
+
+}
@@ -0,0 +1,47 @@
+package de.evoila.companySimulator.caches;
+
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.repositories.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.stream.Stream;
+
+@Component
+public class IdFilterLoader {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    IdExistenceFilter employeeIdFilter;
+
+    @Autowired
+    IdExistenceFilter projectIdFilter;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    // runs after the command line runners, so the seeded rows are part of the first snapshot
+    @EventListener(ApplicationReadyEvent.class)
+    public void loadIdFilters() {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        transactionTemplate.executeWithoutResult(status -> {
+            try (Stream<Long> ids = employeeRepository.streamAllIds()) {
+                employeeIdFilter.rebuild(ids.mapToLong(Long::longValue));
+            }
+            try (Stream<Long> ids = projectRepository.streamAllIds()) {
+                projectIdFilter.rebuild(ids.mapToLong(Long::longValue));
+            }
+        });
+    }
+
+}
@@ -0,0 +1,118 @@
+package de.evoila.companySimulator.caches;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.MeterBinder;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+// Responses of create requests by their Idempotency-Key. A retry with a known key is answered with the stored response
+// and never reaches the database. Requests with the same key are serialized by one of a fixed set of locks, so
+// requests with different keys only wait for each other when their keys share a stripe.
+public class IdempotencyStore implements MeterBinder {
+
+    private static final int MAX_KEY_LENGTH = 255;
+
+    private final String name;
+
+    private final ObjectMapper objectMapper;
+
+    private final Cache<String, StoredResponse> responses;
+
+    private final ReentrantLock[] stripes;
+
+    public IdempotencyStore(String name, ObjectMapper objectMapper, long maximumSize, Duration timeToLive, int stripes) {
+        this.name = name;
+        this.objectMapper = objectMapper;
+        this.responses = Caffeine.newBuilder()
+                .maximumSize(maximumSize)
+                .expireAfterWrite(timeToLive)
+                .recordStats()
+                .build();
+        this.stripes = new ReentrantLock[stripes];
+        for (int i = 0; i < stripes; i++) {
+            this.stripes[i] = new ReentrantLock();
+        }
+    }
+
+    public ResponseEntity<?> execute(String key, Object request, Supplier<ResponseEntity<?>> action) {
+        if (key == null) {
+            return action.get();
+        }
+        if (key.isEmpty() || key.length() > MAX_KEY_LENGTH) {
+            return new ResponseEntity<>("Idempotency-Key must have between 1 and " + MAX_KEY_LENGTH + " characters!", HttpStatus.BAD_REQUEST);
+        }
+        // taken before the action, which fills in the generated id
+        byte[] fingerprint = fingerprint(request);
+        StoredResponse stored = responses.getIfPresent(key);
+        if (stored != null) {
+            return stored.replay(key, fingerprint);
+        }
+        ReentrantLock lock = stripes[Math.floorMod(key.hashCode(), stripes.length)];
+        lock.lock();
+        try {
+            // a concurrent request with the same key may have finished while this one waited
+            stored = responses.getIfPresent(key);
+            if (stored != null) {
+                return stored.replay(key, fingerprint);
+            }
+            ResponseEntity<?> response = action.get();
+            // failures are not stored, a retry runs the request again
+            if (response.getStatusCode().is2xxSuccessful()) {
+                responses.put(key, new StoredResponse(fingerprint, response));
+            }
+            return response;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    // a SHA-256 of the request body as it is serialized, unlike a hash code it does not collide for different bodies
+    private byte[] fingerprint(Object request) {
+        try {
+            return MessageDigest.getInstance("SHA-256").digest(objectMapper.writeValueAsBytes(request));
+        } catch (JsonProcessingException | NoSuchAlgorithmException e) {
+            throw new IllegalStateException("Could not fingerprint the request", e);
+        }
+    }
+
+    @Override
+    public void bindTo(MeterRegistry registry) {
+        CaffeineCacheMetrics.monitor(registry, responses, name);
+    }
+
+    private static class StoredResponse {
+
+        private final byte[] fingerprint;
+
+        private final ResponseEntity<?> response;
+
+        StoredResponse(byte[] fingerprint, ResponseEntity<?> response) {
+            this.fingerprint = fingerprint;
+            this.response = response;
+        }
+
+        ResponseEntity<?> replay(String key, byte[] requestFingerprint) {
+            if (!Arrays.equals(requestFingerprint, fingerprint)) {
+                return new ResponseEntity<>("Idempotency-Key " + key + " was already used for a different request!", HttpStatus.UNPROCESSABLE_ENTITY);
+            }
+            return ResponseEntity.status(response.getStatusCode())
+                    .headers(response.getHeaders())
+                    .header("Idempotent-Replayed", "true")
+                    .body(response.getBody());
+        }
+
+    }
+
+}
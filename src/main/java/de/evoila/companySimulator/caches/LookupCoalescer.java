@@ -0,0 +1,92 @@
+package de.evoila.companySimulator.caches;
+
+import java.time.Duration;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+// Merges single id lookups that arrive within a window into one batch load, like a DataLoader. A lookup only joins the
+// open batch and gets its future, the batch is loaded on a coalescer thread when the window ends or the batch is full.
+// Lookups of the same id within a window share one entry of the batch.
+public class LookupCoalescer<V> {
+
+    private final int maxBatch;
+
+    private final Function<Collection<Long>, Map<Long, V>> batchLoader;
+
+    private final ExecutorService loads = Executors.newCachedThreadPool(runnable -> {
+        Thread thread = new Thread(runnable, "lookup-coalescer");
+        thread.setDaemon(true);
+        return thread;
+    });
+
+    private final Executor afterWindow;
+
+    // the batch that still takes lookups, guarded by this
+    private Batch<V> open;
+
+    public LookupCoalescer(Duration window, int maxBatch, Function<Collection<Long>, Map<Long, V>> batchLoader) {
+        this.maxBatch = maxBatch;
+        this.batchLoader = batchLoader;
+        this.afterWindow = CompletableFuture.delayedExecutor(window.toNanos(), TimeUnit.NANOSECONDS, loads);
+    }
+
+    // completes with null if there is no row with the id
+    public CompletableFuture<V> load(Long id) {
+        CompletableFuture<V> result;
+        Batch<V> full = null;
+        synchronized (this) {
+            if (open == null) {
+                Batch<V> batch = new Batch<>();
+                afterWindow.execute(() -> dispatch(batch));
+                open = batch;
+            }
+            result = open.results.computeIfAbsent(id, key -> new CompletableFuture<>());
+            if (open.results.size() >= maxBatch) {
+                full = open;
+                open = null;
+            }
+        }
+        if (full != null) {
+            Batch<V> batch = full;
+            loads.execute(() -> dispatch(batch));
+        }
+        return result;
+    }
+
+    private void dispatch(Batch<V> batch) {
+        synchronized (this) {
+            // a full batch is dispatched right away and again when its window ends
+            if (batch.dispatched) {
+                return;
+            }
+            batch.dispatched = true;
+            if (open == batch) {
+                open = null;
+            }
+        }
+        // closed, no lookup adds to the results anymore
+        try {
+            Map<Long, V> found = batchLoader.apply(batch.results.keySet());
+            batch.results.forEach((id, result) -> result.complete(found.get(id)));
+        } catch (RuntimeException e) {
+            batch.results.values().forEach(result -> result.completeExceptionally(e));
+        }
+    }
+
+    private static class Batch<V> {
+
+        private final Map<Long, CompletableFuture<V>> results = new LinkedHashMap<>();
+
+        // guarded by the coalescer
+        private boolean dispatched;
+
+    }
+
+}
@@ -0,0 +1,70 @@
+package de.evoila.companySimulator.changes;
+
+import de.evoila.companySimulator.enums.ChangeType;
+import de.evoila.companySimulator.enums.EntityType;
+import de.evoila.companySimulator.models.ChangeBatch;
+import de.evoila.companySimulator.models.ChangeEvent;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+// The last capacity committed changes, numbered from one in the order they were recorded. Writers only take the lock
+// for the slot they fill, listeners are told afterwards and must not block. Sequences start over with every run, a
+// sequence ahead of the log therefore also asks for a resync.
+@Component
+public class ChangeLog {
+
+    @Value("${company-simulator.changes.capacity:10000}")
+    int capacity;
+
+    private ChangeEvent[] ring;
+
+    private long lastSequence;
+
+    private final List<Runnable> listeners = new CopyOnWriteArrayList<>();
+
+    @PostConstruct
+    void allocate() {
+        ring = new ChangeEvent[capacity];
+    }
+
+    public void record(EntityType entity, ChangeType type, Long id) {
+        synchronized (this) {
+            lastSequence++;
+            ring[(int) (lastSequence % capacity)] = new ChangeEvent(lastSequence, entity, type, id);
+        }
+        listeners.forEach(Runnable::run);
+    }
+
+    // the changes after sequence, at most limit of them
+    public synchronized ChangeBatch since(long sequence, int limit) {
+        long oldest = Math.max(1, lastSequence - capacity + 1);
+        if (sequence < oldest - 1 || sequence > lastSequence) {
+            return new ChangeBatch(Collections.emptyList(), lastSequence, true);
+        }
+        long last = Math.min(lastSequence, sequence + limit);
+        List<ChangeEvent> events = new ArrayList<>((int) (last - sequence));
+        for (long next = sequence + 1; next <= last; next++) {
+            events.add(ring[(int) (next % capacity)]);
+        }
+        return new ChangeBatch(events, last, false);
+    }
+
+    public synchronized long lastSequence() {
+        return lastSequence;
+    }
+
+    public void addListener(Runnable listener) {
+        listeners.add(listener);
+    }
+
+    public void removeListener(Runnable listener) {
+        listeners.remove(listener);
+    }
+
+}
@@ -0,0 +1,44 @@
+package de.evoila.companySimulator.controllers;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.services.AnalyticsService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/analytics")
+public class AnalyticsController {
+
+    @Autowired
+    AnalyticsService analyticsService;
+
+    @GetMapping("/staffing")
+    public ResponseEntity<?> getStaffingReport() {
+        return analyticsService.getStaffingReport();
+    }
+
+    // the same report computed with GROUP BY queries, for checking the in-memory counters
+    @GetMapping("/staffing/database")
+    public ResponseEntity<?> getStaffingReportFromDatabase() {
+        return analyticsService.getStaffingReportFromDatabase();
+    }
+
+    @GetMapping("/employees")
+    public ResponseEntity<?> findEmployees(@RequestParam(required = false) Speciality speciality,
+                                           @RequestParam(required = false) String companyName,
+                                           @RequestParam(required = false) String lastName) {
+        return analyticsService.findEmployees(speciality, companyName, lastName);
+    }
+
+    @GetMapping("/employees/footprint")
+    public ResponseEntity<?> getEmployeeColumnsFootprint() {
+        return analyticsService.getEmployeeColumnsFootprint();
+    }
+
+}
@@ -0,0 +1,37 @@
+package de.evoila.companySimulator.controllers;
+
+import de.evoila.companySimulator.models.AssignmentMove;
+import de.evoila.companySimulator.models.AssignmentRequest;
+import de.evoila.companySimulator.services.AssignmentService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+import java.util.List;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/assignment")
+public class AssignmentController {
+
+    @Autowired
+    AssignmentService assignmentService;
+
+    // only proposes the moves, nothing is written
+    @PostMapping("/proposal")
+    public ResponseEntity<?> propose(@RequestBody @Valid AssignmentRequest request) {
+        return assignmentService.propose(request);
+    }
+
+    // takes the moves of a proposal, all of them are applied or none
+    @PostMapping("/apply")
+    public ResponseEntity<?> apply(@RequestBody List<AssignmentMove> moves) {
+        return assignmentService.apply(moves);
+    }
+
+}
@@ -0,0 +1,39 @@
+package de.evoila.companySimulator.controllers;
+
+import de.evoila.companySimulator.caches.EntityCache;
+import de.evoila.companySimulator.caches.IdExistenceFilter;
+import de.evoila.companySimulator.models.CacheStatistics;
+import de.evoila.companySimulator.models.IdFilterStatistics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/cache")
+public class CacheController {
+
+    @Autowired
+    List<EntityCache<?>> caches;
+
+    @Autowired
+    List<IdExistenceFilter> idFilters;
+
+    @GetMapping("/stats")
+    public ResponseEntity<List<CacheStatistics>> getCacheStatistics() {
+        return new ResponseEntity<>(caches.stream().map(EntityCache::statistics).collect(Collectors.toList()), HttpStatus.OK);
+    }
+
+    @GetMapping("/id-filters")
+    public ResponseEntity<List<IdFilterStatistics>> getIdFilterStatistics() {
+        return new ResponseEntity<>(idFilters.stream().map(IdExistenceFilter::statistics).collect(Collectors.toList()), HttpStatus.OK);
+    }
+
+}
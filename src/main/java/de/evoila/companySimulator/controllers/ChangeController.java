@@ -0,0 +1,36 @@
+package de.evoila.companySimulator.controllers;
+
+import de.evoila.companySimulator.services.ChangeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/changes")
+public class ChangeController {
+
+    @Autowired
+    ChangeService changeService;
+
+    @GetMapping
+    public ResponseEntity<?> getChanges(@RequestParam(defaultValue = "0") long since,
+                                        @RequestParam(required = false) Integer limit) {
+        return changeService.getChanges(since, limit);
+    }
+
+    // a reconnecting EventSource sends the id of the last event it saw
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter streamChanges(@RequestParam(required = false) Long since,
+                                    @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        return changeService.subscribe(since != null ? since : lastEventId);
+    }
+
+}
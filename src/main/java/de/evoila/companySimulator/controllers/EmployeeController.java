@@ -1,23 +1,71 @@
 package de.evoila.companySimulator.controllers;
 
+import de.evoila.companySimulator.execution.Offloaded;
 import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.EmployeePatch;
+import de.evoila.companySimulator.models.EmployeeSearch;
 import de.evoila.companySimulator.services.EmployeeService;
+import de.evoila.companySimulator.services.IngestionService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
+@Profile("!reactive")
+// latency histograms on http.server.requests for these endpoints
+@Timed(histogram = true)
+@Offloaded
 @RequestMapping("/employee")
 public class EmployeeController {
 
     @Autowired
     EmployeeService employeeService;
 
+    @Autowired
+    IngestionService ingestionService;
+
     @GetMapping("/all")
-    public ResponseEntity<?> getAllEmployees() {
-        return employeeService.getAllEmployees();
+    public ResponseEntity<?> getAllEmployees(@RequestParam(required = false) Long cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestParam(defaultValue = "false") boolean unpaged,
+                                         WebRequest webRequest) {
+        // the tag is taken before reading, so a concurrent write can only make it older than the rows
+        if (webRequest.checkNotModified(employeeService.getEmployeesETag())) {
+            return null;
+        }
+        if (unpaged) {
+            return employeeService.getAllEmployees();
+        }
+        return employeeService.getEmployeesPage(cursor, size);
+    }
+
+    @GetMapping("/search")
+    public ResponseEntity<?> searchEmployees(EmployeeSearch search,
+                                             @RequestParam(required = false) Long cursor,
+                                             @RequestParam(required = false) Integer size,
+                                             WebRequest webRequest) {
+        if (webRequest.checkNotModified(employeeService.getEmployeesETag())) {
+            return null;
+        }
+        return employeeService.searchEmployees(search, cursor, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        return employeeService.exportEmployees();
+    }
+
+    @GetMapping("/find")
+    public ResponseEntity<?> findEmployeesByIds(@RequestParam List<Long> ids) {
+        return employeeService.findEmployeesByIds(ids);
     }
 
     @GetMapping("/find/{id}")
@@ -26,8 +74,14 @@ public class EmployeeController {
     }
 
     @PostMapping("/new")
-    public ResponseEntity<?> createEmployee(@RequestBody @Valid Employee employeeToCreate) {
-        return employeeService.createEmployee(employeeToCreate);
+    public ResponseEntity<?> createEmployee(@RequestBody @Valid Employee employeeToCreate,
+                                            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return employeeService.createEmployee(employeeToCreate, idempotencyKey);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> createEmployees(@RequestBody List<Employee> employeesToCreate) {
+        return employeeService.createEmployees(employeesToCreate);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -35,9 +89,29 @@ public class EmployeeController {
         return employeeService.deleteEmployee(id);
     }
 
+    // with Prefer: respond-async the update is queued and answered with a ticket, see IngestionService
     @PutMapping("/update/{id}")
-    public ResponseEntity<?> updateEmployee(@RequestBody @Valid Employee updatedEmployee, @PathVariable Long id) {
+    public ResponseEntity<?> updateEmployee(@RequestBody @Valid Employee updatedEmployee, @PathVariable Long id,
+                                            @RequestHeader(value = "Prefer", required = false) String prefer) {
+        if (prefer != null && prefer.contains("respond-async")) {
+            return ingestionService.enqueueUpdate(updatedEmployee, id);
+        }
         return employeeService.updateEmployee(updatedEmployee, id);
     }
 
+    @PutMapping("/{id}/project/{projectId}")
+    public ResponseEntity<?> assignProject(@PathVariable Long id, @PathVariable Long projectId) {
+        return employeeService.assignProject(id, projectId);
+    }
+
+    @PutMapping("/project/{projectId}")
+    public ResponseEntity<?> assignProject(@RequestBody List<Long> ids, @PathVariable Long projectId) {
+        return employeeService.assignProject(ids, projectId);
+    }
+
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<?> patchEmployee(@RequestBody @Valid EmployeePatch patch, @PathVariable Long id) {
+        return employeeService.patchEmployee(patch, id);
+    }
+
 }
@@ -0,0 +1,25 @@
+package de.evoila.companySimulator.controllers;
+
+import de.evoila.companySimulator.services.IngestionService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/ingestion")
+public class IngestionController {
+
+    @Autowired
+    IngestionService ingestionService;
+
+    @GetMapping("/tickets/{id}")
+    public ResponseEntity<?> getTicket(@PathVariable String id) {
+        return ingestionService.getTicket(id);
+    }
+
+}
@@ -1,14 +1,25 @@
 package de.evoila.companySimulator.controllers;
 
+import de.evoila.companySimulator.execution.Offloaded;
 import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.models.ProjectPatch;
 import de.evoila.companySimulator.services.ProjectService;
+import io.micrometer.core.annotation.Timed;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import javax.validation.Valid;
+import java.util.List;
 
 @RestController
+@Profile("!reactive")
+@Timed(histogram = true)
+@Offloaded
 @RequestMapping("/project")
 public class ProjectController {
 
@@ -16,8 +27,28 @@ public class ProjectController {
     ProjectService projectService;
 
     @GetMapping("/all")
-    public ResponseEntity<?> getAllProjects() {
-        return projectService.getAllProjects();
+    public ResponseEntity<?> getAllProjects(@RequestParam(required = false) Long cursor,
+                                         @RequestParam(required = false) Integer size,
+                                         @RequestParam(defaultValue = "false") boolean unpaged,
+                                         WebRequest webRequest) {
+        // the tag is taken before reading, so a concurrent write can only make it older than the rows
+        if (webRequest.checkNotModified(projectService.getProjectsETag())) {
+            return null;
+        }
+        if (unpaged) {
+            return projectService.getAllProjects();
+        }
+        return projectService.getProjectsPage(cursor, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public ResponseEntity<StreamingResponseBody> exportProjects() {
+        return projectService.exportProjects();
+    }
+
+    @GetMapping("/find")
+    public ResponseEntity<?> findProjectsByIds(@RequestParam List<Long> ids) {
+        return projectService.findProjectsByIds(ids);
     }
 
     @GetMapping("/find/{id}")
@@ -26,8 +57,14 @@ public class ProjectController {
     }
 
     @PostMapping("/new")
-    public ResponseEntity<?> createProject(@RequestBody @Valid Project projectToCreate) {
-        return projectService.createProject(projectToCreate);
+    public ResponseEntity<?> createProject(@RequestBody @Valid Project projectToCreate,
+                                            @RequestHeader(value = "Idempotency-Key", required = false) String idempotencyKey) {
+        return projectService.createProject(projectToCreate, idempotencyKey);
+    }
+
+    @PostMapping("/batch")
+    public ResponseEntity<?> createProjects(@RequestBody List<Project> projectsToCreate) {
+        return projectService.createProjects(projectsToCreate);
     }
 
     @DeleteMapping("/delete/{id}")
@@ -40,4 +77,9 @@ public class ProjectController {
         return projectService.updateProject(updatedProject, id);
     }
 
+    @PatchMapping("/update/{id}")
+    public ResponseEntity<?> patchProject(@RequestBody @Valid ProjectPatch patch, @PathVariable Long id) {
+        return projectService.patchProject(patch, id);
+    }
+
 }
@@ -0,0 +1,66 @@
+package de.evoila.companySimulator.controllers;
+
+import de.evoila.companySimulator.models.CursorPage;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.EmployeeSearch;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.services.ReactiveEmployeeService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// The read endpoints of EmployeeController on WebFlux, under the same paths
+@RestController
+@Profile("reactive")
+@RequestMapping("/employee")
+public class ReactiveEmployeeController {
+
+    @Autowired
+    ReactiveEmployeeService employeeService;
+
+    @GetMapping("/all")
+    public Mono<CursorPage<EmployeeSummary>> getEmployeesPage(@RequestParam(required = false) Long cursor,
+                                                              @RequestParam(required = false) Integer size,
+                                                              ServerWebExchange exchange) {
+        if (exchange.checkNotModified(employeeService.getEmployeesETag())) {
+            return Mono.empty();
+        }
+        return employeeService.getEmployeesPage(cursor, size);
+    }
+
+    // streamed with backpressure, as a JSON array or as NDJSON when asked for
+    @GetMapping(value = "/all", params = "unpaged=true")
+    public Flux<EmployeeSummary> getAllEmployees(ServerWebExchange exchange) {
+        if (exchange.checkNotModified(employeeService.getEmployeesETag())) {
+            return Flux.empty();
+        }
+        return employeeService.getAllEmployees();
+    }
+
+    @GetMapping("/search")
+    public Mono<CursorPage<EmployeeSummary>> searchEmployees(EmployeeSearch search,
+                                                             @RequestParam(required = false) Long cursor,
+                                                             @RequestParam(required = false) Integer size,
+                                                             ServerWebExchange exchange) {
+        if (exchange.checkNotModified(employeeService.getEmployeesETag())) {
+            return Mono.empty();
+        }
+        return employeeService.searchEmployees(search, cursor, size);
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Employee> exportEmployees() {
+        return employeeService.exportEmployees();
+    }
+
+    @GetMapping("/find/{id}")
+    public Mono<ResponseEntity<Employee>> findEmployeeById(@PathVariable Long id) {
+        return employeeService.findEmployeeById(id);
+    }
+
+}
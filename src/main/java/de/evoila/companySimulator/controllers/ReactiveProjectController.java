@@ -0,0 +1,52 @@
+package de.evoila.companySimulator.controllers;
+
+import de.evoila.companySimulator.models.CursorPage;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.services.ReactiveProjectService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// The read endpoints of ProjectController on WebFlux, under the same paths
+@RestController
+@Profile("reactive")
+@RequestMapping("/project")
+public class ReactiveProjectController {
+
+    @Autowired
+    ReactiveProjectService projectService;
+
+    @GetMapping("/all")
+    public Mono<CursorPage<Project>> getProjectsPage(@RequestParam(required = false) Long cursor,
+                                                     @RequestParam(required = false) Integer size,
+                                                     ServerWebExchange exchange) {
+        if (exchange.checkNotModified(projectService.getProjectsETag())) {
+            return Mono.empty();
+        }
+        return projectService.getProjectsPage(cursor, size);
+    }
+
+    @GetMapping(value = "/all", params = "unpaged=true")
+    public Flux<Project> getAllProjects(ServerWebExchange exchange) {
+        if (exchange.checkNotModified(projectService.getProjectsETag())) {
+            return Flux.empty();
+        }
+        return projectService.getAllProjects();
+    }
+
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    public Flux<Project> exportProjects() {
+        return projectService.getAllProjects();
+    }
+
+    @GetMapping("/find/{id}")
+    public Mono<ResponseEntity<Project>> findProjectById(@PathVariable Long id) {
+        return projectService.findProjectById(id);
+    }
+
+}
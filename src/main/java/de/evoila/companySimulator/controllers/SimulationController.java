@@ -0,0 +1,56 @@
+package de.evoila.companySimulator.controllers;
+
+import de.evoila.companySimulator.models.ScenarioRequest;
+import de.evoila.companySimulator.services.ScenarioService;
+import de.evoila.companySimulator.services.SimulationService;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import javax.validation.Valid;
+
+@RestController
+@Profile("!reactive")
+@RequestMapping("/simulation")
+public class SimulationController {
+
+    @Autowired
+    SimulationService simulationService;
+
+    @Autowired
+    ScenarioService scenarioService;
+
+    @PostMapping("/start")
+    public ResponseEntity<?> start(@RequestParam(required = false) Long seed) {
+        return simulationService.start(seed);
+    }
+
+    @PostMapping("/step")
+    public ResponseEntity<?> step(@RequestParam(defaultValue = "1") int ticks) {
+        return simulationService.step(ticks);
+    }
+
+    @GetMapping("/status")
+    public ResponseEntity<?> getStatus() {
+        return simulationService.getStatus();
+    }
+
+    // answers with the job right away, the result is polled with the job id
+    @PostMapping("/scenarios")
+    public ResponseEntity<?> submitScenario(@RequestBody @Valid ScenarioRequest request) {
+        return scenarioService.submit(request);
+    }
+
+    @GetMapping("/scenarios/{id}")
+    public ResponseEntity<?> getScenarioJob(@PathVariable String id) {
+        return scenarioService.getJob(id);
+    }
+
+}
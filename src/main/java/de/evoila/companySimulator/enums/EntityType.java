@@ -0,0 +1,6 @@
+package de.evoila.companySimulator.enums;
+
+public enum EntityType {
+    EMPLOYEE,
+    PROJECT
+}
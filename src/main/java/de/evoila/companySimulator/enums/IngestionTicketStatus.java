@@ -0,0 +1,8 @@
+package de.evoila.companySimulator.enums;
+
+public enum IngestionTicketStatus {
+    QUEUED,
+    APPLIED,
+    SUPERSEDED,
+    FAILED
+}
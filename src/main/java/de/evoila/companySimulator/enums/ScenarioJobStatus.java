@@ -0,0 +1,7 @@
+package de.evoila.companySimulator.enums;
+
+public enum ScenarioJobStatus {
+    RUNNING,
+    DONE,
+    FAILED
+}
@@ -0,0 +1,8 @@
+package de.evoila.companySimulator.exceptions;
+
+public class AssignmentConflictException extends RuntimeException {
+
+    public AssignmentConflictException(Long employeeId, Long projectId) {
+        super("Employee with id: " + employeeId + " is no longer " + (projectId == null ? "unassigned" : "on project " + projectId) + "!");
+    }
+}
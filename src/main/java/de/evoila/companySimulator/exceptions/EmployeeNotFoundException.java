@@ -3,6 +3,7 @@ package de.evoila.companySimulator.exceptions;
 public class EmployeeNotFoundException extends RuntimeException {
 
     public EmployeeNotFoundException(Long id) {
-        super("Employee with id: " + id + " could not be found!");
+        // no stack trace, a flood of lookups for unknown ids should not pay for filling it in
+        super("Employee with id: " + id + " could not be found!", null, false, false);
     }
 }
@@ -0,0 +1,19 @@
+package de.evoila.companySimulator.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ControllerAdvice
+public class IngestionTicketNotFoundAdvice {
+
+    @ResponseBody
+    @ExceptionHandler(IngestionTicketNotFoundException.class)
+    @ResponseStatus(HttpStatus.NOT_FOUND)
+    String ingestionTicketNotFoundHandler(IngestionTicketNotFoundException ex) {
+        return ex.getMessage();
+    }
+
+}
@@ -0,0 +1,8 @@
+package de.evoila.companySimulator.exceptions;
+
+public class IngestionTicketNotFoundException extends RuntimeException {
+
+    public IngestionTicketNotFoundException(String id) {
+        super("Ingestion ticket with id: " + id + " could not be found!", null, false, false);
+    }
+}
@@ -3,6 +3,7 @@ package de.evoila.companySimulator.exceptions;
 public class ProjectNotFoundException extends RuntimeException {
 
     public ProjectNotFoundException(Long id) {
-        super("Project with id: " + id + " could not be found!");
+        // no stack trace, a flood of lookups for unknown ids should not pay for filling it in
+        super("Project with id: " + id + " could not be found!", null, false, false);
     }
 }
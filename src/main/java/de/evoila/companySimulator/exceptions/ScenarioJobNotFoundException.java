@@ -0,0 +1,8 @@
+package de.evoila.companySimulator.exceptions;
+
+public class ScenarioJobNotFoundException extends RuntimeException {
+
+    public ScenarioJobNotFoundException(String id) {
+        super("Scenario job with id: " + id + " could not be found!", null, false, false);
+    }
+}
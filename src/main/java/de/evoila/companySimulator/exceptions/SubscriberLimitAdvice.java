@@ -0,0 +1,19 @@
+package de.evoila.companySimulator.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ControllerAdvice;
+import org.springframework.web.bind.annotation.ExceptionHandler;
+import org.springframework.web.bind.annotation.ResponseBody;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ControllerAdvice
+public class SubscriberLimitAdvice {
+
+    @ResponseBody
+    @ExceptionHandler(SubscriberLimitException.class)
+    @ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+    String subscriberLimitHandler(SubscriberLimitException ex) {
+        return ex.getMessage();
+    }
+
+}
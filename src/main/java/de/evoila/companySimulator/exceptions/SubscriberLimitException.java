@@ -0,0 +1,8 @@
+package de.evoila.companySimulator.exceptions;
+
+public class SubscriberLimitException extends RuntimeException {
+
+    public SubscriberLimitException(int maxSubscribers) {
+        super("There are already " + maxSubscribers + " change stream subscribers!");
+    }
+}
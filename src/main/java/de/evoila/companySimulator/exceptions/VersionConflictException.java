@@ -0,0 +1,8 @@
+package de.evoila.companySimulator.exceptions;
+
+public class VersionConflictException extends RuntimeException {
+
+    public VersionConflictException(String entityName, Long id, Long version) {
+        super(entityName + " with id: " + id + " is no longer at version " + version + "!");
+    }
+}
@@ -0,0 +1,111 @@
+package de.evoila.companySimulator.execution;
+
+import de.evoila.companySimulator.enums.ExecutionMode;
+import de.evoila.companySimulator.metrics.QueryCounter;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.web.servlet.WebMvcRegistrations;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.support.TaskExecutorAdapter;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.web.servlet.config.annotation.AsyncSupportConfigurer;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+
+import javax.annotation.PreDestroy;
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+// async and virtual run the @Offloaded handlers off the Tomcat threads, virtual falls back to async before Java 21
+@Configuration
+public class ExecutionConfig {
+
+    private final Logger log = LoggerFactory.getLogger(ExecutionConfig.class);
+
+    @Value("${company-simulator.execution.mode:platform}")
+    ExecutionMode mode;
+
+    @Value("${company-simulator.execution.threads:64}")
+    int threads;
+
+    @Value("${company-simulator.execution.queue-capacity:10000}")
+    int queueCapacity;
+
+    @Value("${company-simulator.execution.streaming-timeout:1h}")
+    Duration streamingTimeout;
+
+    private ThreadPoolTaskExecutor pool;
+
+    private ExecutorService virtualThreads;
+
+    @Bean
+    WebMvcRegistrations offloadingRegistrations(QueryCounter queryCounter) {
+        TaskExecutor executor = handlerExecutor(queryCounter);
+        return new WebMvcRegistrations() {
+            @Override
+            public RequestMappingHandlerAdapter getRequestMappingHandlerAdapter() {
+                return executor == null ? null : new OffloadingHandlerAdapter(executor);
+            }
+        };
+    }
+
+    @Bean
+    WebMvcConfigurer streamingTimeoutConfigurer() {
+        return new WebMvcConfigurer() {
+            @Override
+            public void configureAsyncSupport(AsyncSupportConfigurer configurer) {
+                configurer.registerCallableInterceptors(new StreamingTimeoutInterceptor(streamingTimeout));
+            }
+        };
+    }
+
+    private TaskExecutor handlerExecutor(QueryCounter queryCounter) {
+        if (mode == ExecutionMode.PLATFORM) {
+            return null;
+        }
+        if (mode == ExecutionMode.VIRTUAL) {
+            virtualThreads = virtualThreadExecutor();
+            if (virtualThreads != null) {
+                TaskExecutorAdapter executor = new TaskExecutorAdapter(virtualThreads);
+                executor.setTaskDecorator(queryCounter);
+                log.info("Running offloaded handlers on virtual threads");
+                return executor;
+            }
+            log.warn("Virtual threads are not available in Java " + Runtime.version().feature() + ", running offloaded handlers on a bounded pool");
+        }
+        pool = new ThreadPoolTaskExecutor();
+        pool.setCorePoolSize(threads);
+        pool.setMaxPoolSize(threads);
+        pool.setQueueCapacity(queueCapacity);
+        pool.setThreadNamePrefix("handler-");
+        pool.setTaskDecorator(queryCounter);
+        pool.setWaitForTasksToCompleteOnShutdown(true);
+        pool.initialize();
+        log.info("Running offloaded handlers on " + threads + " threads");
+        return pool;
+    }
+
+    @PreDestroy
+    void shutdown() {
+        if (pool != null) {
+            pool.shutdown();
+        }
+        if (virtualThreads != null) {
+            virtualThreads.shutdown();
+        }
+    }
+
+    // looked up reflectively, the code is compiled for Java 11
+    private static ExecutorService virtualThreadExecutor() {
+        try {
+            return (ExecutorService) Executors.class.getMethod("newVirtualThreadPerTaskExecutor").invoke(null);
+        } catch (ReflectiveOperationException | UnsupportedOperationException e) {
+            return null;
+        }
+    }
+
+}
@@ -0,0 +1,12 @@
+package de.evoila.companySimulator.execution;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+// handlers streaming their body already write it asynchronously and are not offloaded
+@Target(ElementType.TYPE)
+@Retention(RetentionPolicy.RUNTIME)
+public @interface Offloaded {
+}
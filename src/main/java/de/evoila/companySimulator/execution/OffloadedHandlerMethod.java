@@ -0,0 +1,49 @@
+package de.evoila.companySimulator.execution;
+
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.ServletWebRequest;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.method.support.ModelAndViewContainer;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+
+import java.util.concurrent.CompletableFuture;
+
+// binds and validates the arguments on the container thread, only the handler body runs on the executor
+class OffloadedHandlerMethod extends ServletInvocableHandlerMethod {
+
+    private final TaskExecutor executor;
+
+    OffloadedHandlerMethod(HandlerMethod handlerMethod, TaskExecutor executor) {
+        super(handlerMethod);
+        this.executor = executor;
+    }
+
+    @Override
+    public Object invokeForRequest(NativeWebRequest request, ModelAndViewContainer mavContainer, Object... providedArgs) throws Exception {
+        Object[] args = getMethodArgumentValues(request, mavContainer, providedArgs);
+        CompletableFuture<Object> result = new CompletableFuture<>();
+        try {
+            executor.execute(() -> {
+                try {
+                    Object value = doInvoke(args);
+                    // checkNotModified answers with no value, the dispatch after the handler no longer knows the request
+                    // was not modified
+                    if (value == null && ((ServletWebRequest) request).isNotModified()) {
+                        value = ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+                    }
+                    result.complete(value);
+                } catch (Throwable e) {
+                    result.completeExceptionally(e);
+                }
+            });
+        } catch (TaskRejectedException e) {
+            return new ResponseEntity<>("Too many requests in flight, try again later!", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        return result;
+    }
+
+}
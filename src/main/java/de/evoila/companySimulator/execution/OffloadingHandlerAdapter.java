@@ -0,0 +1,32 @@
+package de.evoila.companySimulator.execution;
+
+import org.springframework.core.ResolvableType;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.RequestMappingHandlerAdapter;
+import org.springframework.web.servlet.mvc.method.annotation.ServletInvocableHandlerMethod;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+// Runs the handlers of @Offloaded controllers on the given executor, the others as usual.
+public class OffloadingHandlerAdapter extends RequestMappingHandlerAdapter {
+
+    private final TaskExecutor executor;
+
+    public OffloadingHandlerAdapter(TaskExecutor executor) {
+        this.executor = executor;
+    }
+
+    @Override
+    protected ServletInvocableHandlerMethod createInvocableHandlerMethod(HandlerMethod handlerMethod) {
+        if (handlerMethod.getBeanType().isAnnotationPresent(Offloaded.class) && !streamsBody(handlerMethod)) {
+            return new OffloadedHandlerMethod(handlerMethod, executor);
+        }
+        return super.createInvocableHandlerMethod(handlerMethod);
+    }
+
+    static boolean streamsBody(HandlerMethod handlerMethod) {
+        Class<?> body = ResolvableType.forMethodReturnType(handlerMethod.getMethod()).getGeneric().toClass();
+        return StreamingResponseBody.class.isAssignableFrom(body);
+    }
+
+}
@@ -0,0 +1,35 @@
+package de.evoila.companySimulator.execution;
+
+import com.zaxxer.hikari.HikariDataSource;
+import org.springframework.boot.autoconfigure.jdbc.DataSourceProperties;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.boot.web.embedded.netty.NettyReactiveWebServerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Profile;
+
+// Spring Boot backs off the JDBC data source once an R2DBC connection factory exists, JPA still needs it for the
+// schema, the seeding and the loaders. With Tomcat on the classpath WebFlux would be served through the servlet
+// adapter, Netty keeps the reactive profile on an event loop.
+@Configuration
+@Profile("reactive")
+public class ReactiveConfig {
+
+    @Bean
+    @ConfigurationProperties("spring.datasource")
+    DataSourceProperties dataSourceProperties() {
+        return new DataSourceProperties();
+    }
+
+    @Bean
+    @ConfigurationProperties("spring.datasource.hikari")
+    HikariDataSource dataSource(DataSourceProperties dataSourceProperties) {
+        return dataSourceProperties.initializeDataSourceBuilder().type(HikariDataSource.class).build();
+    }
+
+    @Bean
+    NettyReactiveWebServerFactory nettyReactiveWebServerFactory() {
+        return new NettyReactiveWebServerFactory();
+    }
+
+}
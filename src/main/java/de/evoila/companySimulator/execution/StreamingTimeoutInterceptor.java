@@ -0,0 +1,32 @@
+package de.evoila.companySimulator.execution;
+
+import org.springframework.web.context.request.NativeWebRequest;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.async.AsyncWebRequest;
+import org.springframework.web.context.request.async.CallableProcessingInterceptor;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.HandlerMapping;
+
+import java.time.Duration;
+import java.util.concurrent.Callable;
+
+// Gives the handlers streaming their body, the NDJSON exports, their own timeout. Every other async request keeps the
+// default one. Runs after the adapter set the default and before the request goes async.
+class StreamingTimeoutInterceptor implements CallableProcessingInterceptor {
+
+    private final long timeoutMillis;
+
+    StreamingTimeoutInterceptor(Duration timeout) {
+        this.timeoutMillis = timeout.toMillis();
+    }
+
+    @Override
+    public <T> void beforeConcurrentHandling(NativeWebRequest request, Callable<T> task) {
+        Object handler = request.getAttribute(HandlerMapping.BEST_MATCHING_HANDLER_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST);
+        if (request instanceof AsyncWebRequest && handler instanceof HandlerMethod
+                && OffloadingHandlerAdapter.streamsBody((HandlerMethod) handler)) {
+            ((AsyncWebRequest) request).setTimeout(timeoutMillis);
+        }
+    }
+
+}
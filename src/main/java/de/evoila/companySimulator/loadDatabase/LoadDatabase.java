@@ -6,34 +6,70 @@ import de.evoila.companySimulator.repositories.EmployeeRepository;
 import de.evoila.companySimulator.repositories.ProjectRepository;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.boot.CommandLineRunner;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import java.util.List;
+import java.util.Map;
 
 @Configuration
 public class LoadDatabase {
 
     private final Logger log = LoggerFactory.getLogger(LoadDatabase.class);
 
+    // with zero employees and projects the six sample employees are loaded instead
+    @Value("${company-simulator.seed.employees:0}")
+    int employees;
+
+    @Value("${company-simulator.seed.projects:0}")
+    int projects;
+
+    @Value("${company-simulator.seed.speciality-weights:}")
+    String specialityWeights;
+
+    @Value("${company-simulator.seed.assigned-ratio:0.9}")
+    double assignedRatio;
+
+    @Value("${company-simulator.seed.random-seed:42}")
+    long randomSeed;
+
+    @Value("${company-simulator.seed.batch-size:10000}")
+    int batchSize;
+
     @Bean
-    CommandLineRunner initDatabase(EmployeeRepository employeeRepository, ProjectRepository projectRepository) {
+    CommandLineRunner initDatabase(EmployeeRepository employeeRepository, ProjectRepository projectRepository, JdbcTemplate jdbcTemplate) {
         return args -> {
+            if (employees > 0 || projects > 0) {
+                seedSyntheticData(jdbcTemplate);
+                return;
+            }
 
-            Employee emp1 = employeeRepository.save(new Employee("Harry", "Potter", "hp@gmail.com", Speciality.FRONTEND));
-            Employee emp2 = employeeRepository.save(new Employee("Peter", "Parker", "pp@gmail.com", Speciality.BACKEND));
-            Employee emp3 = employeeRepository.save(new Employee("Mary", "Jane", "mj@gmail.com", Speciality.DEVOPS));
-            Employee emp4 = employeeRepository.save(new Employee("Tony", "Stark", "ts@gmail.com", Speciality.SECURITY));
-            Employee emp5 = employeeRepository.save(new Employee("Andrew", "Garfield", "ag@gmail.com", Speciality.CLOUD));
-            Employee emp6 = employeeRepository.save(new Employee("Tom", "Santos", "tsantos@gmail.com", Speciality.DEVOPS));
+            List<Employee> employees = employeeRepository.saveAll(List.of(
+                    new Employee("Harry", "Potter", "hp@gmail.com", Speciality.FRONTEND),
+                    new Employee("Peter", "Parker", "pp@gmail.com", Speciality.BACKEND),
+                    new Employee("Mary", "Jane", "mj@gmail.com", Speciality.DEVOPS),
+                    new Employee("Tony", "Stark", "ts@gmail.com", Speciality.SECURITY),
+                    new Employee("Andrew", "Garfield", "ag@gmail.com", Speciality.CLOUD),
+                    new Employee("Tom", "Santos", "tsantos@gmail.com", Speciality.DEVOPS)));
 
-            log.info("Preloading " + emp1);
-            log.info("Preloading " + emp2);
-            log.info("Preloading " + emp3);
-            log.info("Preloading " + emp4);
-            log.info("Preloading " + emp5);
-            log.info("Preloading " + emp6);
+            log.info("Preloaded " + employees.size() + " sample employees");
 
         };
     }
 
+    private void seedSyntheticData(JdbcTemplate jdbcTemplate) {
+        // invalid weights fail the startup before anything is written
+        Map<Speciality, Integer> weights = SyntheticData.parseWeights(specialityWeights);
+        SyntheticData syntheticData = new SyntheticData(jdbcTemplate, batchSize);
+        long started = System.nanoTime();
+        syntheticData.insertProjects(projects);
+        syntheticData.insertEmployees(employees, projects, weights, assignedRatio, randomSeed);
+        double seconds = (System.nanoTime() - started) / 1e9;
+        log.info(String.format("Seeded %d employees and %d projects in %.2f s (%.0f rows/s, seed %d)",
+                employees, projects, seconds, (employees + projects) / Math.max(seconds, 1e-9), randomSeed));
+    }
+
 }
@@ -0,0 +1,163 @@
+package de.evoila.companySimulator.loadDatabase;
+
+import de.evoila.companySimulator.enums.Speciality;
+import org.springframework.jdbc.core.BatchPreparedStatementSetter;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.core.RowCallbackHandler;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Types;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// Writes generated projects and employees with plain JDBC batches, bypassing the persistence context. It has to run
+// before Hibernate hands out ids, the sequences are restarted behind the generated ids at the end.
+class SyntheticData {
+
+    private static final String[] FIRST_NAMES = {"Harry", "Peter", "Mary", "Tony", "Andrew", "Tom", "Jane", "Clara", "Jonas", "Lena",
+            "Felix", "Mia", "Paul", "Emma", "Lukas", "Hanna"};
+
+    private static final String[] LAST_NAMES = {"Potter", "Parker", "Jane", "Stark", "Garfield", "Santos", "Mueller", "Schmidt",
+            "Schneider", "Fischer", "Weber", "Meyer", "Wagner", "Becker", "Schulz", "Hoffmann"};
+
+    // projects per generated company
+    private static final int PROJECTS_PER_COMPANY = 10;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private final int batchSize;
+
+    SyntheticData(JdbcTemplate jdbcTemplate, int batchSize) {
+        this.jdbcTemplate = jdbcTemplate;
+        this.batchSize = batchSize;
+    }
+
+    void insertProjects(int projects) {
+        for (int from = 0; from < projects; from += batchSize) {
+            int first = from;
+            int size = Math.min(batchSize, projects - from);
+            jdbcTemplate.batchUpdate("insert into project (id, version, company_name, project_name) values (?, 0, ?, ?)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int index) throws SQLException {
+                            int project = first + index;
+                            statement.setLong(1, project + 1L);
+                            statement.setString(2, "Company " + (project / PROJECTS_PER_COMPANY + 1));
+                            statement.setString(3, "Project " + (project + 1));
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    });
+        }
+        jdbcTemplate.execute("alter sequence project_seq restart with " + nextSequenceValue(projects));
+    }
+
+    // assignedRatio is the share of employees placed on a project, the others stay unassigned
+    void insertEmployees(int employees, int projects, Map<Speciality, Integer> specialityWeights, double assignedRatio, long seed) {
+        Speciality[] specialities = cumulativeTable(specialityWeights);
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> indexes = dropDeclaredIndexes("EMPLOYEE");
+        // the generated project ids all exist, checking each one again only costs time
+        jdbcTemplate.execute("set referential_integrity false");
+        try {
+            insertEmployeeRows(employees, projects, specialities, assignedRatio, random);
+        } finally {
+            jdbcTemplate.execute("set referential_integrity true");
+        }
+        indexes.forEach(jdbcTemplate::execute);
+        jdbcTemplate.execute("alter sequence employee_seq restart with " + nextSequenceValue(employees));
+    }
+
+    private void insertEmployeeRows(int employees, int projects, Speciality[] specialities, double assignedRatio, SplittableRandom random) {
+        for (int from = 0; from < employees; from += batchSize) {
+            int first = from;
+            int size = Math.min(batchSize, employees - from);
+            jdbcTemplate.batchUpdate("insert into employee (id, version, first_name, last_name, email, speciality, project_id) values (?, 0, ?, ?, ?, ?, ?)",
+                    new BatchPreparedStatementSetter() {
+                        @Override
+                        public void setValues(PreparedStatement statement, int index) throws SQLException {
+                            long id = first + index + 1L;
+                            statement.setLong(1, id);
+                            statement.setString(2, FIRST_NAMES[random.nextInt(FIRST_NAMES.length)]);
+                            statement.setString(3, LAST_NAMES[random.nextInt(LAST_NAMES.length)]);
+                            statement.setString(4, "employee" + id + "@company-simulator.de");
+                            // stored as the ordinal, like the entity maps it
+                            statement.setInt(5, specialities[random.nextInt(specialities.length)].ordinal());
+                            if (projects > 0 && random.nextDouble() < assignedRatio) {
+                                statement.setLong(6, random.nextInt(projects) + 1L);
+                            } else {
+                                statement.setNull(6, Types.BIGINT);
+                            }
+                        }
+
+                        @Override
+                        public int getBatchSize() {
+                            return size;
+                        }
+                    });
+        }
+    }
+
+    // Building an index once over all rows is much cheaper in H2 than maintaining it row by row. Only the indexes
+    // declared on the entities are dropped, the primary key and the foreign key indexes stay. Returns their DDL.
+    private List<String> dropDeclaredIndexes(String table) {
+        Map<String, String> indexes = new LinkedHashMap<>();
+        jdbcTemplate.query("select index_name, sql from information_schema.indexes where table_name = ? and index_name like 'IDX\\_%'",
+                (RowCallbackHandler) row -> indexes.put(row.getString(1), row.getString(2)), table);
+        indexes.keySet().forEach(index -> jdbcTemplate.execute("drop index " + index));
+        return new ArrayList<>(indexes.values());
+    }
+
+    // Parses "FRONTEND:3,BACKEND:1", a blank value weighs all specialities alike.
+    static Map<Speciality, Integer> parseWeights(String weights) {
+        Map<Speciality, Integer> parsed = new EnumMap<>(Speciality.class);
+        if (weights == null || weights.isBlank()) {
+            for (Speciality speciality : Speciality.values()) {
+                parsed.put(speciality, 1);
+            }
+            return parsed;
+        }
+        for (String entry : weights.split(",")) {
+            String[] parts = entry.trim().split(":");
+            if (parts.length != 2) {
+                throw new IllegalArgumentException("Speciality weight " + entry + " is not of the form SPECIALITY:weight!");
+            }
+            int weight = Integer.parseInt(parts[1].trim());
+            if (weight < 0) {
+                throw new IllegalArgumentException("Speciality weight " + entry + " must not be negative!");
+            }
+            parsed.put(Speciality.valueOf(parts[0].trim()), weight);
+        }
+        if (parsed.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+            throw new IllegalArgumentException("At least one speciality needs a positive weight!");
+        }
+        return parsed;
+    }
+
+    // one slot per unit of weight, so a uniform draw from the table follows the weights
+    private static Speciality[] cumulativeTable(Map<Speciality, Integer> weights) {
+        Speciality[] table = new Speciality[weights.values().stream().mapToInt(Integer::intValue).sum()];
+        int slot = 0;
+        for (Map.Entry<Speciality, Integer> entry : weights.entrySet()) {
+            for (int count = 0; count < entry.getValue(); count++) {
+                table[slot++] = entry.getKey();
+            }
+        }
+        return table;
+    }
+
+    // Hibernate's pooled optimizer may treat a sequence value as the upper end of its block, a full block of headroom
+    // keeps the next generated ids clear of the inserted ones either way
+    private static long nextSequenceValue(int rows) {
+        return rows + 51L;
+    }
+
+}
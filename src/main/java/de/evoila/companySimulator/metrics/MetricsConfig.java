@@ -0,0 +1,34 @@
+package de.evoila.companySimulator.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.hibernate.cfg.AvailableSettings;
+import org.springframework.boot.autoconfigure.orm.jpa.HibernatePropertiesCustomizer;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+// The Hikari pool, Hibernate statistics and http.server.requests are bound by Spring Boot itself, the entity caches
+// bind themselves. This adds the statements per request and the service timers.
+@Configuration
+public class MetricsConfig {
+
+    @Bean
+    QueryCounter queryCounter() {
+        return new QueryCounter();
+    }
+
+    @Bean
+    HibernatePropertiesCustomizer queryCounterCustomizer(QueryCounter queryCounter) {
+        return properties -> properties.put(AvailableSettings.STATEMENT_INSPECTOR, queryCounter);
+    }
+
+    @Bean
+    QueryCountFilter queryCountFilter(QueryCounter queryCounter, MeterRegistry meterRegistry) {
+        return new QueryCountFilter(queryCounter, meterRegistry);
+    }
+
+    @Bean
+    ServiceTimingAspect serviceTimingAspect(MeterRegistry meterRegistry) {
+        return new ServiceTimingAspect(meterRegistry);
+    }
+
+}
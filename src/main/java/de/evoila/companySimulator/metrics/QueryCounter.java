@@ -0,0 +1,52 @@
+package de.evoila.companySimulator.metrics;
+
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.springframework.core.task.TaskDecorator;
+
+// Counts the statements Hibernate prepares on the current thread while a count is open. Statements run directly
+// through the JdbcTemplate are not seen. As a TaskDecorator it carries the open count over to the thread a request
+// handler is offloaded to.
+public class QueryCounter implements StatementInspector, TaskDecorator {
+
+    private final ThreadLocal<int[]> counts = new ThreadLocal<>();
+
+    @Override
+    public String inspect(String sql) {
+        int[] count = counts.get();
+        if (count != null) {
+            count[0]++;
+        }
+        return sql;
+    }
+
+    // the returned count keeps growing while the request runs, also on the threads it was offloaded to
+    public int[] start() {
+        int[] count = new int[1];
+        counts.set(count);
+        return count;
+    }
+
+    // the statements since start, the count is closed afterwards
+    public int stop() {
+        int[] count = counts.get();
+        counts.remove();
+        return count == null ? 0 : count[0];
+    }
+
+    @Override
+    public Runnable decorate(Runnable runnable) {
+        int[] count = counts.get();
+        if (count == null) {
+            return runnable;
+        }
+        return () -> {
+            counts.set(count);
+            try {
+                runnable.run();
+            } finally {
+                counts.remove();
+            }
+        };
+    }
+
+}
@@ -0,0 +1,22 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.Speciality;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// fromProjectId is null for an unassigned employee
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentMove {
+
+    private Long employeeId;
+
+    private Speciality speciality;
+
+    private Long fromProjectId;
+
+    private Long toProjectId;
+
+}
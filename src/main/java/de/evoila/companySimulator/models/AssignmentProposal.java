@@ -0,0 +1,25 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentProposal {
+
+    // false when the solver ran into its timeout, the moves found until then are still valid on their own
+    private boolean complete;
+
+    private long requiredSlots;
+
+    private long coveredBefore;
+
+    private long coveredAfter;
+
+    private List<AssignmentMove> moves;
+
+}
@@ -0,0 +1,24 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class AssignmentRequest {
+
+    // projects without a demand keep their employees
+    @Valid
+    @NotEmpty
+    private List<StaffingDemand> demands;
+
+    // optional, the solver stops at the configured timeout or this one, whichever comes first
+    private Long timeoutMillis;
+
+}
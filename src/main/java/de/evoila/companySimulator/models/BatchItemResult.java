@@ -0,0 +1,21 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.BatchItemStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+
+@Data
+@AllArgsConstructor
+public class BatchItemResult {
+
+    private int index;
+
+    private BatchItemStatus status;
+
+    private Long id;
+
+    private List<String> errors;
+
+}
@@ -0,0 +1,22 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+// With resync set the requested changes are no longer retained, the consumer has to read the full state again and
+// continue from lastSequence.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeBatch {
+
+    private List<ChangeEvent> events;
+
+    private long lastSequence;
+
+    private boolean resync;
+
+}
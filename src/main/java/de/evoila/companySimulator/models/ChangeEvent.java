@@ -0,0 +1,23 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.ChangeType;
+import de.evoila.companySimulator.enums.EntityType;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// only names the changed row, consumers read its current state when they need it
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChangeEvent {
+
+    private long sequence;
+
+    private EntityType entity;
+
+    private ChangeType type;
+
+    private Long id;
+
+}
@@ -0,0 +1,16 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CompanyProjectCount {
+
+    private String companyName;
+
+    private Long projects;
+
+}
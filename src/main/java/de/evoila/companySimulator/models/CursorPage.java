@@ -0,0 +1,26 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+import java.util.List;
+import java.util.function.Function;
+
+@Data
+@AllArgsConstructor
+public class CursorPage<T> {
+
+    private List<T> content;
+
+    private Long nextCursor;
+
+    // rows are expected to be fetched with pageSize + 1 entries, the extra row only tells that another page exists
+    public static <T> CursorPage<T> of(List<T> rows, int pageSize, Function<T, Long> idOf) {
+        if (rows.size() <= pageSize) {
+            return new CursorPage<>(rows, null);
+        }
+        List<T> content = rows.subList(0, pageSize);
+        return new CursorPage<>(content, idOf.apply(content.get(pageSize - 1)));
+    }
+
+}
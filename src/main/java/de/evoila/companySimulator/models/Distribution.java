@@ -0,0 +1,43 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.Arrays;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Distribution {
+
+    private double mean;
+
+    private double min;
+
+    private double p5;
+
+    private double p25;
+
+    private double p50;
+
+    private double p75;
+
+    private double p95;
+
+    private double max;
+
+    // nearest rank percentiles
+    public static Distribution of(double[] samples) {
+        double[] sorted = samples.clone();
+        Arrays.sort(sorted);
+        return new Distribution(Arrays.stream(sorted).average().orElse(0), sorted[0], percentile(sorted, 5), percentile(sorted, 25),
+                percentile(sorted, 50), percentile(sorted, 75), percentile(sorted, 95), sorted[sorted.length - 1]);
+    }
+
+    private static double percentile(double[] sorted, int percent) {
+        int rank = (int) Math.ceil(percent / 100.0 * sorted.length);
+        return sorted[Math.max(0, rank - 1)];
+    }
+
+}
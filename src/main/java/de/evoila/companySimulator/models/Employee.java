@@ -9,14 +9,25 @@ import javax.validation.constraints.Email;
 import javax.validation.constraints.NotNull;
 
 @Entity
+@Table(indexes = {
+        // the id columns keep keyset paged searches a range scan over a single index
+        @Index(name = "idx_employee_speciality", columnList = "speciality, id"),
+        @Index(name = "idx_employee_project", columnList = "project_id, id"),
+        @Index(name = "idx_employee_last_name", columnList = "lastName"),
+        @Index(name = "idx_employee_email", columnList = "email")
+})
 @Data
 @NoArgsConstructor
 public class Employee {
 
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "employee_seq")
+    @SequenceGenerator(name = "employee_seq", sequenceName = "employee_seq", allocationSize = 50)
     private Long id;
 
+    @Version
+    private Long version;
+
     @NotNull
     private String firstName;
 
@@ -29,7 +40,8 @@ public class Employee {
     @NotNull
     private Speciality speciality;
 
-    @ManyToOne(cascade = CascadeType.ALL)
+    // only a new project given inline is persisted with the employee, an existing one is referenced by id
+    @ManyToOne(cascade = CascadeType.PERSIST)
     private Project project;
 
     public Employee(String firstName, String lastName, String email, Speciality speciality) {
@@ -0,0 +1,29 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.Speciality;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Email;
+import javax.validation.constraints.NotNull;
+
+// fields left null are not changed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePatch {
+
+    @NotNull
+    private Long version;
+
+    private String firstName;
+
+    private String lastName;
+
+    @Email
+    private String email;
+
+    private Speciality speciality;
+
+}
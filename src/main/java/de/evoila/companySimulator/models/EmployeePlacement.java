@@ -0,0 +1,19 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.Speciality;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeePlacement {
+
+    private Long id;
+
+    private Long projectId;
+
+    private Speciality speciality;
+
+}
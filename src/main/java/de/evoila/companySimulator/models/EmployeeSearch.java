@@ -0,0 +1,22 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.Speciality;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// filters left null are not applied
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSearch {
+
+    private Speciality speciality;
+
+    private Long projectId;
+
+    private String lastName;
+
+    private String email;
+
+}
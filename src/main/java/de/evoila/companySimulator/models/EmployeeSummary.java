@@ -0,0 +1,27 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.Speciality;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class EmployeeSummary {
+
+    private Long id;
+
+    private String firstName;
+
+    private String lastName;
+
+    private String email;
+
+    private Speciality speciality;
+
+    private Long projectId;
+
+    private String projectName;
+
+}
@@ -0,0 +1,20 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FootprintEstimate {
+
+    private int rows;
+
+    private int distinctNames;
+
+    private long columnarBytes;
+
+    private long entityListBytes;
+
+}
@@ -0,0 +1,20 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.Speciality;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// projectId is null for the employees without a project
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HeadcountRow {
+
+    private Long projectId;
+
+    private Speciality speciality;
+
+    private Long headcount;
+
+}
@@ -0,0 +1,18 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+@Data
+@AllArgsConstructor
+public class IdFilterStatistics {
+
+    private String name;
+
+    private boolean ready;
+
+    private long knownIds;
+
+    private long rejectedLookups;
+
+}
@@ -0,0 +1,22 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.IngestionTicketStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IngestionTicket {
+
+    private String id;
+
+    private Long employeeId;
+
+    private IngestionTicketStatus status;
+
+    // set if the update failed
+    private String error;
+
+}
@@ -0,0 +1,16 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectCompany {
+
+    private Long projectId;
+
+    private String companyName;
+
+}
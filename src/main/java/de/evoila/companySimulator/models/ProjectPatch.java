@@ -0,0 +1,22 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+
+// fields left null are not changed
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ProjectPatch {
+
+    @NotNull
+    private Long version;
+
+    private String companyName;
+
+    private String projectName;
+
+}
@@ -0,0 +1,18 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReassignmentResult {
+
+    private Long projectId;
+
+    private int requested;
+
+    private int reassigned;
+
+}
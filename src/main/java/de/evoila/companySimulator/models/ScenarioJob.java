@@ -0,0 +1,29 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.ScenarioJobStatus;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioJob {
+
+    private String id;
+
+    private ScenarioJobStatus status;
+
+    private long seed;
+
+    private int runs;
+
+    private int completedRuns;
+
+    // set once the job is done
+    private ScenarioResult result;
+
+    // set if the job failed
+    private String error;
+
+}
@@ -0,0 +1,30 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.Valid;
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotEmpty;
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioRequest {
+
+    // without a seed a random one is drawn and returned with the job
+    private Long seed;
+
+    @Min(1)
+    private int runs;
+
+    @Min(1)
+    private int ticks;
+
+    @Valid
+    @NotEmpty
+    private List<StaffMove> moves;
+
+}
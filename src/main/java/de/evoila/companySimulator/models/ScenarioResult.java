@@ -0,0 +1,25 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// Every run simulates the unchanged company and the changed one with the same seed, so the delta only shows the moves.
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ScenarioResult {
+
+    // can be less than requested when a project has fewer employees of a speciality
+    private int movedEmployees;
+
+    private Distribution baselineOutput;
+
+    private Distribution scenarioOutput;
+
+    private Distribution outputDelta;
+
+    // share of the runs in which the scenario produced more than the baseline
+    private double improvedShare;
+
+}
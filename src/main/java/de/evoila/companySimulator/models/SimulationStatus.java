@@ -0,0 +1,35 @@
+package de.evoila.companySimulator.models;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimulationStatus {
+
+    private long seed;
+
+    private long tick;
+
+    private int projects;
+
+    private int employees;
+
+    private int unassigned;
+
+    private long hires;
+
+    private long departures;
+
+    private long reassignments;
+
+    private double lastTickOutput;
+
+    private double totalOutput;
+
+    // throughput of the last step
+    private long employeeTicksPerSecond;
+
+}
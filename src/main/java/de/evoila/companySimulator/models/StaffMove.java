@@ -0,0 +1,27 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.Speciality;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.Min;
+import javax.validation.constraints.NotNull;
+
+// a null project stands for the unassigned employees
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffMove {
+
+    @NotNull
+    private Speciality speciality;
+
+    @Min(1)
+    private int count;
+
+    private Long fromProjectId;
+
+    private Long toProjectId;
+
+}
@@ -0,0 +1,23 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.Speciality;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import javax.validation.constraints.NotNull;
+import java.util.Map;
+
+// a speciality missing in required is needed zero times, so its employees may be moved to other projects
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffingDemand {
+
+    @NotNull
+    private Long projectId;
+
+    @NotNull
+    private Map<Speciality, Integer> required;
+
+}
@@ -0,0 +1,41 @@
+package de.evoila.companySimulator.models;
+
+import de.evoila.companySimulator.enums.Speciality;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class StaffingReport {
+
+    private Map<Long, Map<Speciality, Long>> headcountPerProject;
+
+    private Map<Speciality, Long> unassignedPerSpeciality;
+
+    private Map<String, Long> projectsPerCompany;
+
+    // groups without any employee are left out, so both the database and the in-memory counters give the same report
+    public static StaffingReport of(List<HeadcountRow> headcounts, List<CompanyProjectCount> companies) {
+        Map<Long, Map<Speciality, Long>> headcountPerProject = new TreeMap<>();
+        Map<Speciality, Long> unassignedPerSpeciality = new EnumMap<>(Speciality.class);
+        for (HeadcountRow row : headcounts) {
+            if (row.getHeadcount() == 0) {
+                continue;
+            }
+            Map<Speciality, Long> counts = row.getProjectId() == null ? unassignedPerSpeciality
+                    : headcountPerProject.computeIfAbsent(row.getProjectId(), id -> new EnumMap<>(Speciality.class));
+            counts.merge(row.getSpeciality(), row.getHeadcount(), Long::sum);
+        }
+        Map<String, Long> projectsPerCompany = new TreeMap<>();
+        companies.forEach(company -> projectsPerCompany.merge(company.getCompanyName(), company.getProjects(), Long::sum));
+        return new StaffingReport(headcountPerProject, unassignedPerSpeciality, projectsPerCompany);
+    }
+
+}
@@ -1,9 +1,88 @@
 package de.evoila.companySimulator.repositories;
 
 import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.EmployeePlacement;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.models.HeadcountRow;
+import de.evoila.companySimulator.models.Project;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.LockModeType;
+import javax.persistence.QueryHint;
+import java.util.Collection;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface EmployeeRepository extends JpaRepository<Employee, Long> {
+public interface EmployeeRepository extends JpaRepository<Employee, Long>, EmployeeRepositoryCustom {
+
+    String SELECT_SUMMARY = "select new de.evoila.companySimulator.models.EmployeeSummary(e.id, e.firstName, e.lastName, e.email, e.speciality, p.id, p.projectName) "
+            + "from Employee e left join e.project p";
+
+    @Override
+    @EntityGraph(attributePaths = "project")
+    List<Employee> findAll();
+
+    @Override
+    @EntityGraph(attributePaths = "project")
+    List<Employee> findAllById(Iterable<Long> ids);
+
+    @Query(SELECT_SUMMARY + " order by e.id")
+    List<EmployeeSummary> findAllSummaries();
+
+    @Query(SELECT_SUMMARY + " where e.id > :cursor order by e.id")
+    List<EmployeeSummary> findSummariesAfter(@Param("cursor") Long cursor, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @EntityGraph(attributePaths = "project")
+    @Query("select e from Employee e order by e.id")
+    Stream<Employee> streamAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query(SELECT_SUMMARY + " order by e.id")
+    Stream<EmployeeSummary> streamAllSummaries();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select e.id from Employee e")
+    Stream<Long> streamAllIds();
+
+    @Transactional
+    @Modifying
+    @Query("delete from Employee e where e.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
+    // the project is only referenced by its id, nothing is merged or cascaded onto it
+    @Transactional
+    @Modifying
+    @Query("update Employee e set e.project = :project, e.version = e.version + 1 where e.id in :ids")
+    int assignProject(@Param("ids") Collection<Long> ids, @Param("project") Project project);
+
+    @Query("select new de.evoila.companySimulator.models.HeadcountRow(e.project.id, e.speciality, count(e)) from Employee e "
+            + "group by e.project.id, e.speciality")
+    List<HeadcountRow> countHeadcounts();
+
+    @Query("select new de.evoila.companySimulator.models.EmployeePlacement(e.id, p.id, e.speciality) from Employee e left join e.project p order by e.id")
+    List<EmployeePlacement> findAllPlacements();
+
+    // locks the rows, so the placement read before a write is still the one the write replaces
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("select new de.evoila.companySimulator.models.EmployeePlacement(e.id, e.project.id, e.speciality) from Employee e where e.id in :ids")
+    List<EmployeePlacement> findPlacementsForUpdate(@Param("ids") Collection<Long> ids);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @EntityGraph(attributePaths = "project")
+    @Query("select e from Employee e where e.id in :ids")
+    List<Employee> findAllForUpdate(@Param("ids") Collection<Long> ids);
+
 }
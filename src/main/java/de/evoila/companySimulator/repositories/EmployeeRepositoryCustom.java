@@ -0,0 +1,19 @@
+package de.evoila.companySimulator.repositories;
+
+import de.evoila.companySimulator.models.EmployeePlacement;
+import de.evoila.companySimulator.models.EmployeeSearch;
+import de.evoila.companySimulator.models.EmployeeSummary;
+
+import java.util.List;
+import java.util.Map;
+
+public interface EmployeeRepositoryCustom {
+
+    int updateIfVersionMatches(Long id, Long version, Map<String, Object> changes);
+
+    // deletes the row only while it still has the given placement
+    int deleteIfPlacementMatches(EmployeePlacement placement);
+
+    List<EmployeeSummary> searchSummaries(EmployeeSearch search, Long cursor, int limit);
+
+}
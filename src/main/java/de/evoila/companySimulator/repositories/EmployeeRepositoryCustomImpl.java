@@ -0,0 +1,84 @@
+package de.evoila.companySimulator.repositories;
+
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.EmployeePlacement;
+import de.evoila.companySimulator.models.EmployeeSearch;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.models.Project;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.util.StringUtils;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.Query;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaQuery;
+import javax.persistence.criteria.Join;
+import javax.persistence.criteria.JoinType;
+import javax.persistence.criteria.Predicate;
+import javax.persistence.criteria.Root;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+public class EmployeeRepositoryCustomImpl implements EmployeeRepositoryCustom {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateIfVersionMatches(Long id, Long version, Map<String, Object> changes) {
+        return VersionedUpdate.execute(entityManager, Employee.class, id, version, changes);
+    }
+
+    @Override
+    @Transactional
+    public int deleteIfPlacementMatches(EmployeePlacement placement) {
+        // a null parameter never compares equal, an employee without a project needs "is null"
+        Query delete = entityManager.createQuery("delete from Employee e where e.id = :id and e.speciality = :speciality and "
+                        + (placement.getProjectId() == null ? "e.project is null" : "e.project.id = :projectId"))
+                .setParameter("id", placement.getId())
+                .setParameter("speciality", placement.getSpeciality());
+        if (placement.getProjectId() != null) {
+            delete.setParameter("projectId", placement.getProjectId());
+        }
+        return delete.executeUpdate();
+    }
+
+    @Override
+    public List<EmployeeSummary> searchSummaries(EmployeeSearch search, Long cursor, int limit) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaQuery<EmployeeSummary> query = criteriaBuilder.createQuery(EmployeeSummary.class);
+        Root<Employee> employee = query.from(Employee.class);
+        Join<Employee, Project> project = employee.join("project", JoinType.LEFT);
+
+        List<Predicate> predicates = new ArrayList<>();
+        predicates.add(criteriaBuilder.greaterThan(employee.get("id"), cursor));
+        if (search.getSpeciality() != null) {
+            predicates.add(criteriaBuilder.equal(employee.get("speciality"), search.getSpeciality()));
+        }
+        if (search.getProjectId() != null) {
+            predicates.add(criteriaBuilder.equal(employee.get("project").get("id"), search.getProjectId()));
+        }
+        if (StringUtils.hasText(search.getLastName())) {
+            // a prefix without a leading wildcard can still use the index
+            predicates.add(criteriaBuilder.like(employee.get("lastName"), escapeLike(search.getLastName()) + "%", '\\'));
+        }
+        if (StringUtils.hasText(search.getEmail())) {
+            predicates.add(criteriaBuilder.equal(employee.get("email"), search.getEmail()));
+        }
+
+        query.select(criteriaBuilder.construct(EmployeeSummary.class,
+                        employee.get("id"), employee.get("firstName"), employee.get("lastName"), employee.get("email"),
+                        employee.get("speciality"), project.get("id"), project.get("projectName")))
+                .where(predicates.toArray(new Predicate[0]))
+                .orderBy(criteriaBuilder.asc(employee.get("id")));
+        return entityManager.createQuery(query).setMaxResults(limit).getResultList();
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+}
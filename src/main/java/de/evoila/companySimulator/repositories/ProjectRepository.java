@@ -1,9 +1,45 @@
 package de.evoila.companySimulator.repositories;
 
+import de.evoila.companySimulator.models.CompanyProjectCount;
 import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.models.ProjectCompany;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.QueryHint;
+import java.util.List;
+import java.util.stream.Stream;
+
+import static org.hibernate.jpa.QueryHints.HINT_FETCH_SIZE;
 
 @Repository
-public interface ProjectRepository extends JpaRepository<Project, Long> {
+public interface ProjectRepository extends JpaRepository<Project, Long>, ProjectRepositoryCustom {
+
+    List<Project> findByIdGreaterThanOrderByIdAsc(Long cursor, Pageable pageable);
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select p from Project p order by p.id")
+    Stream<Project> streamAll();
+
+    @QueryHints(@QueryHint(name = HINT_FETCH_SIZE, value = "1000"))
+    @Query("select p.id from Project p")
+    Stream<Long> streamAllIds();
+
+    @Query("select new de.evoila.companySimulator.models.CompanyProjectCount(p.companyName, count(p)) from Project p group by p.companyName")
+    List<CompanyProjectCount> countProjectsPerCompany();
+
+    @Query("select new de.evoila.companySimulator.models.ProjectCompany(p.id, p.companyName) from Project p")
+    List<ProjectCompany> findAllProjectCompanies();
+
+    @Transactional
+    @Modifying
+    @Query("delete from Project p where p.id = :id")
+    int deleteRowById(@Param("id") Long id);
+
 }
@@ -0,0 +1,9 @@
+package de.evoila.companySimulator.repositories;
+
+import java.util.Map;
+
+public interface ProjectRepositoryCustom {
+
+    int updateIfVersionMatches(Long id, Long version, Map<String, Object> changes);
+
+}
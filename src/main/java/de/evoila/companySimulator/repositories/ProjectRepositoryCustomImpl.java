@@ -0,0 +1,21 @@
+package de.evoila.companySimulator.repositories;
+
+import de.evoila.companySimulator.models.Project;
+import org.springframework.transaction.annotation.Transactional;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.util.Map;
+
+public class ProjectRepositoryCustomImpl implements ProjectRepositoryCustom {
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Override
+    @Transactional
+    public int updateIfVersionMatches(Long id, Long version, Map<String, Object> changes) {
+        return VersionedUpdate.execute(entityManager, Project.class, id, version, changes);
+    }
+
+}
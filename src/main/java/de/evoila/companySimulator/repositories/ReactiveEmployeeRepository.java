@@ -0,0 +1,119 @@
+package de.evoila.companySimulator.repositories;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.EmployeeSearch;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.models.Project;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import org.springframework.util.StringUtils;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+// The read queries of EmployeeRepository over R2DBC, against the schema Hibernate creates. Rows are mapped into the
+// same models, so both stacks answer with the same JSON.
+@Repository
+@Profile("reactive")
+public class ReactiveEmployeeRepository {
+
+    private static final String SELECT_SUMMARY = "select e.id, e.first_name, e.last_name, e.email, e.speciality, "
+            + "p.id as project_id, p.project_name from employee e left join project p on p.id = e.project_id";
+
+    private static final String SELECT_EMPLOYEE = "select e.id, e.version, e.first_name, e.last_name, e.email, e.speciality, "
+            + "p.id as project_id, p.version as project_version, p.company_name, p.project_name "
+            + "from employee e left join project p on p.id = e.project_id";
+
+    private static final Speciality[] SPECIALITIES = Speciality.values();
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    public Flux<EmployeeSummary> findAllSummaries() {
+        return databaseClient.sql(SELECT_SUMMARY + " order by e.id")
+                .map((row, metadata) -> summary(row))
+                .all();
+    }
+
+    public Flux<EmployeeSummary> findSummariesAfter(long cursor, int limit) {
+        return databaseClient.sql(SELECT_SUMMARY + " where e.id > :cursor order by e.id limit :limit")
+                .bind("cursor", cursor)
+                .bind("limit", limit)
+                .map((row, metadata) -> summary(row))
+                .all();
+    }
+
+    public Flux<EmployeeSummary> searchSummaries(EmployeeSearch search, long cursor, int limit) {
+        Map<String, Object> filters = new LinkedHashMap<>();
+        StringBuilder sql = new StringBuilder(SELECT_SUMMARY).append(" where e.id > :cursor");
+        if (search.getSpeciality() != null) {
+            sql.append(" and e.speciality = :speciality");
+            filters.put("speciality", search.getSpeciality().ordinal());
+        }
+        if (search.getProjectId() != null) {
+            sql.append(" and e.project_id = :projectId");
+            filters.put("projectId", search.getProjectId());
+        }
+        if (StringUtils.hasText(search.getLastName())) {
+            // a prefix without a leading wildcard can still use the index
+            sql.append(" and e.last_name like :lastName escape '\\'");
+            filters.put("lastName", escapeLike(search.getLastName()) + "%");
+        }
+        if (StringUtils.hasText(search.getEmail())) {
+            sql.append(" and e.email = :email");
+            filters.put("email", search.getEmail());
+        }
+        DatabaseClient.GenericExecuteSpec spec = databaseClient.sql(sql.append(" order by e.id limit :limit").toString())
+                .bind("cursor", cursor)
+                .bind("limit", limit);
+        for (Map.Entry<String, Object> filter : filters.entrySet()) {
+            spec = spec.bind(filter.getKey(), filter.getValue());
+        }
+        return spec.map((row, metadata) -> summary(row)).all();
+    }
+
+    public Flux<Employee> findAll() {
+        return databaseClient.sql(SELECT_EMPLOYEE + " order by e.id")
+                .map((row, metadata) -> employee(row))
+                .all();
+    }
+
+    public Mono<Employee> findById(long id) {
+        return databaseClient.sql(SELECT_EMPLOYEE + " where e.id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> employee(row))
+                .one();
+    }
+
+    private static EmployeeSummary summary(Row row) {
+        return new EmployeeSummary(row.get("id", Long.class), row.get("first_name", String.class), row.get("last_name", String.class),
+                row.get("email", String.class), SPECIALITIES[row.get("speciality", Integer.class)],
+                row.get("project_id", Long.class), row.get("project_name", String.class));
+    }
+
+    private static Employee employee(Row row) {
+        Employee employee = new Employee(row.get("first_name", String.class), row.get("last_name", String.class),
+                row.get("email", String.class), SPECIALITIES[row.get("speciality", Integer.class)]);
+        employee.setId(row.get("id", Long.class));
+        employee.setVersion(row.get("version", Long.class));
+        Long projectId = row.get("project_id", Long.class);
+        if (projectId != null) {
+            Project project = new Project(row.get("company_name", String.class), row.get("project_name", String.class));
+            project.setId(projectId);
+            project.setVersion(row.get("project_version", Long.class));
+            employee.setProject(project);
+        }
+        return employee;
+    }
+
+    private static String escapeLike(String value) {
+        return value.replace("\\", "\\\\").replace("%", "\\%").replace("_", "\\_");
+    }
+
+}
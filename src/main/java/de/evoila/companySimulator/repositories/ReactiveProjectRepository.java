@@ -0,0 +1,50 @@
+package de.evoila.companySimulator.repositories;
+
+import de.evoila.companySimulator.models.Project;
+import io.r2dbc.spi.Row;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.annotation.Profile;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// The read queries of ProjectRepository over R2DBC, against the schema Hibernate creates.
+@Repository
+@Profile("reactive")
+public class ReactiveProjectRepository {
+
+    private static final String SELECT_PROJECT = "select id, version, company_name, project_name from project";
+
+    @Autowired
+    DatabaseClient databaseClient;
+
+    public Flux<Project> findAll() {
+        return databaseClient.sql(SELECT_PROJECT + " order by id")
+                .map((row, metadata) -> project(row))
+                .all();
+    }
+
+    public Flux<Project> findAfter(long cursor, int limit) {
+        return databaseClient.sql(SELECT_PROJECT + " where id > :cursor order by id limit :limit")
+                .bind("cursor", cursor)
+                .bind("limit", limit)
+                .map((row, metadata) -> project(row))
+                .all();
+    }
+
+    public Mono<Project> findById(long id) {
+        return databaseClient.sql(SELECT_PROJECT + " where id = :id")
+                .bind("id", id)
+                .map((row, metadata) -> project(row))
+                .one();
+    }
+
+    private static Project project(Row row) {
+        Project project = new Project(row.get("company_name", String.class), row.get("project_name", String.class));
+        project.setId(row.get("id", Long.class));
+        project.setVersion(row.get("version", Long.class));
+        return project;
+    }
+
+}
@@ -0,0 +1,26 @@
+package de.evoila.companySimulator.repositories;
+
+import javax.persistence.EntityManager;
+import javax.persistence.criteria.CriteriaBuilder;
+import javax.persistence.criteria.CriteriaUpdate;
+import javax.persistence.criteria.Root;
+import java.util.Map;
+
+final class VersionedUpdate {
+
+    private VersionedUpdate() {
+    }
+
+    // Sets only the given columns and bumps the version in one statement, the version in the where clause is the
+    // optimistic lock, so zero affected rows means the row is gone or was changed since the client read it.
+    static <T> int execute(EntityManager entityManager, Class<T> type, Long id, Long version, Map<String, Object> changes) {
+        CriteriaBuilder criteriaBuilder = entityManager.getCriteriaBuilder();
+        CriteriaUpdate<T> update = criteriaBuilder.createCriteriaUpdate(type);
+        Root<T> root = update.from(type);
+        changes.forEach(update::set);
+        update.set(root.<Long>get("version"), criteriaBuilder.sum(root.<Long>get("version"), 1L));
+        update.where(criteriaBuilder.equal(root.get("id"), id), criteriaBuilder.equal(root.get("version"), version));
+        return entityManager.createQuery(update).executeUpdate();
+    }
+
+}
@@ -0,0 +1,46 @@
+package de.evoila.companySimulator.services;
+
+import de.evoila.companySimulator.analytics.EmployeeColumns;
+import de.evoila.companySimulator.analytics.StaffingCounter;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.StaffingReport;
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.repositories.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+@Service
+public class AnalyticsService {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    StaffingCounter staffingCounter;
+
+    @Autowired
+    EmployeeColumns employeeColumns;
+
+    public ResponseEntity<?> getStaffingReport() {
+        return new ResponseEntity<>(staffingCounter.report(), HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> getStaffingReportFromDatabase() {
+        StaffingReport report = StaffingReport.of(employeeRepository.countHeadcounts(), projectRepository.countProjectsPerCompany());
+        return new ResponseEntity<>(report, HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> findEmployees(Speciality speciality, String companyName, String lastName) {
+        return new ResponseEntity<>(employeeColumns.find(speciality, companyName, lastName), HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> getEmployeeColumnsFootprint() {
+        return new ResponseEntity<>(employeeColumns.footprint(), HttpStatus.OK);
+    }
+
+}
@@ -0,0 +1,96 @@
+package de.evoila.companySimulator.services;
+
+import de.evoila.companySimulator.assignment.AssignmentSolver;
+import de.evoila.companySimulator.exceptions.ProjectNotFoundException;
+import de.evoila.companySimulator.models.AssignmentMove;
+import de.evoila.companySimulator.models.AssignmentProposal;
+import de.evoila.companySimulator.models.AssignmentRequest;
+import de.evoila.companySimulator.models.ProjectCompany;
+import de.evoila.companySimulator.models.StaffingDemand;
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.repositories.ProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+@Service
+public class AssignmentService {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${company-simulator.assignment.timeout:5s}")
+    Duration timeout;
+
+    @Value("${company-simulator.assignment.max-moves:200000}")
+    int maxMoves;
+
+    public ResponseEntity<?> propose(AssignmentRequest request) {
+        if (request.getDemands().stream().map(StaffingDemand::getProjectId).distinct().count() < request.getDemands().size()) {
+            return new ResponseEntity<>("A project may only be demanded once!", HttpStatus.BAD_REQUEST);
+        }
+        request.getDemands().forEach(demand -> projectService.requireExistingId(demand.getProjectId()));
+        long timeoutNanos = timeout.toNanos();
+        if (request.getTimeoutMillis() != null) {
+            timeoutNanos = Math.min(timeoutNanos, Duration.ofMillis(Math.max(0, request.getTimeoutMillis())).toNanos());
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        AssignmentProposal proposal = transactionTemplate.execute(status -> {
+            Map<Long, String> companyOf = new HashMap<>();
+            for (ProjectCompany project : projectRepository.findAllProjectCompanies()) {
+                companyOf.put(project.getProjectId(), project.getCompanyName());
+            }
+            // the filter may still know a project that was deleted meanwhile
+            request.getDemands().stream()
+                    .filter(demand -> !companyOf.containsKey(demand.getProjectId()))
+                    .findFirst()
+                    .ifPresent(demand -> {
+                        throw new ProjectNotFoundException(demand.getProjectId());
+                    });
+            return new AssignmentSolver(deadline).solve(employeeRepository.findAllPlacements(), request.getDemands(), companyOf);
+        });
+        return new ResponseEntity<>(proposal, HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> apply(List<AssignmentMove> moves) {
+        if (moves.size() > maxMoves) {
+            return new ResponseEntity<>("An assignment may contain at most " + maxMoves + " moves!", HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        if (moves.stream().anyMatch(move -> move.getEmployeeId() == null || move.getToProjectId() == null)) {
+            return new ResponseEntity<>("employeeId and toProjectId must not be null!", HttpStatus.BAD_REQUEST);
+        }
+        if (moves.stream().map(AssignmentMove::getEmployeeId).distinct().count() < moves.size()) {
+            return new ResponseEntity<>("An employee may only be moved once!", HttpStatus.BAD_REQUEST);
+        }
+        moves.stream().map(AssignmentMove::getToProjectId).distinct().forEach(projectService::requireExistingId);
+        if (!moves.isEmpty()) {
+            employeeService.applyMoves(moves);
+        }
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+}
@@ -0,0 +1,110 @@
+package de.evoila.companySimulator.services;
+
+import de.evoila.companySimulator.enums.BatchItemStatus;
+import de.evoila.companySimulator.models.BatchItemResult;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import javax.persistence.PersistenceException;
+import javax.validation.Validator;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+@Service
+public class BatchService {
+
+    @Autowired
+    Validator validator;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Value("${company-simulator.batch.max-items:10000}")
+    int maxItems;
+
+    @Value("${company-simulator.batch.chunk-size:500}")
+    int chunkSize;
+
+    public <T> ResponseEntity<?> createAll(List<T> items, Function<T, Long> idOf) {
+        return createAll(items, idOf, item -> {
+        }, item -> {
+        });
+    }
+
+    public <T> ResponseEntity<?> createAll(List<T> items, Function<T, Long> idOf, Consumer<T> beforePersist, Consumer<T> afterCreate) {
+        if (items.size() > maxItems) {
+            return new ResponseEntity<>("A batch may contain at most " + maxItems + " items!", HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+
+        BatchItemResult[] results = new BatchItemResult[items.size()];
+        List<Integer> validIndexes = new ArrayList<>(items.size());
+        for (int i = 0; i < items.size(); i++) {
+            List<String> errors = validate(items.get(i), idOf);
+            if (errors.isEmpty()) {
+                validIndexes.add(i);
+            } else {
+                results[i] = new BatchItemResult(i, BatchItemStatus.INVALID, null, errors);
+            }
+        }
+
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        for (int from = 0; from < validIndexes.size(); from += chunkSize) {
+            List<Integer> chunk = validIndexes.subList(from, Math.min(from + chunkSize, validIndexes.size()));
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (Integer index : chunk) {
+                        T item = items.get(index);
+                        beforePersist.accept(item);
+                        entityManager.persist(item);
+                    }
+                    entityManager.flush();
+                    entityManager.clear();
+                });
+                for (Integer index : chunk) {
+                    afterCreate.accept(items.get(index));
+                    results[index] = new BatchItemResult(index, BatchItemStatus.CREATED, idOf.apply(items.get(index)), List.of());
+                }
+            } catch (DataAccessException | PersistenceException e) {
+                // the whole chunk was rolled back, so none of its items got created
+                String error = NestedExceptionUtils.getMostSpecificCause(e).getMessage();
+                for (Integer index : chunk) {
+                    results[index] = new BatchItemResult(index, BatchItemStatus.FAILED, null, List.of(error));
+                }
+            }
+        }
+
+        List<BatchItemResult> resultList = List.of(results);
+        boolean allCreated = resultList.stream().allMatch(result -> result.getStatus() == BatchItemStatus.CREATED);
+        return new ResponseEntity<>(resultList, allCreated ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS);
+    }
+
+    private <T> List<String> validate(T item, Function<T, Long> idOf) {
+        if (item == null) {
+            return List.of("item must not be null");
+        }
+        List<String> errors = validator.validate(item).stream()
+                .map(violation -> violation.getPropertyPath() + ": " + violation.getMessage())
+                .sorted()
+                .collect(Collectors.toList());
+        if (idOf.apply(item) != null) {
+            errors.add("id: must be null");
+        }
+        return errors;
+    }
+
+}
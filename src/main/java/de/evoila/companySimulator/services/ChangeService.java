@@ -0,0 +1,149 @@
+package de.evoila.companySimulator.services;
+
+import de.evoila.companySimulator.changes.ChangeLog;
+import de.evoila.companySimulator.exceptions.SubscriberLimitException;
+import de.evoila.companySimulator.models.ChangeBatch;
+import de.evoila.companySimulator.models.ChangeEvent;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.SynchronousQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+@Service
+public class ChangeService {
+
+    @Autowired
+    ChangeLog changeLog;
+
+    @Value("${company-simulator.changes.max-batch:1000}")
+    int maxBatch;
+
+    @Value("${company-simulator.changes.max-subscribers:1000}")
+    int maxSubscribers;
+
+    @Value("${company-simulator.changes.subscription-timeout:1h}")
+    Duration subscriptionTimeout;
+
+    // one delivery at a time per subscriber, so a subscriber stuck on a slow client only holds its own thread
+    private ThreadPoolExecutor delivery;
+
+    private final Set<Subscriber> subscribers = ConcurrentHashMap.newKeySet();
+
+    @PostConstruct
+    void startDelivery() {
+        AtomicInteger threads = new AtomicInteger();
+        delivery = new ThreadPoolExecutor(0, maxSubscribers, 60, TimeUnit.SECONDS, new SynchronousQueue<>(), runnable -> {
+            Thread thread = new Thread(runnable, "changes-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @PreDestroy
+    void stopDelivery() {
+        subscribers.forEach(Subscriber::close);
+        delivery.shutdownNow();
+    }
+
+    public ResponseEntity<?> getChanges(long since, Integer limit) {
+        int batchSize = limit == null ? maxBatch : Math.max(1, Math.min(limit, maxBatch));
+        return new ResponseEntity<>(changeLog.since(since, batchSize), HttpStatus.OK);
+    }
+
+    // without a sequence the stream starts with the next change
+    public SseEmitter subscribe(Long since) {
+        if (subscribers.size() >= maxSubscribers) {
+            throw new SubscriberLimitException(maxSubscribers);
+        }
+        // subscriptions are long lived, the container's default async timeout would close them after seconds
+        Subscriber subscriber = new Subscriber(new SseEmitter(subscriptionTimeout.toMillis()), since == null ? changeLog.lastSequence() : since);
+        subscribers.add(subscriber);
+        changeLog.addListener(subscriber.listener);
+        subscriber.emitter.onCompletion(subscriber::close);
+        subscriber.emitter.onTimeout(subscriber::close);
+        subscriber.emitter.onError(error -> subscriber.close());
+        // catches up on what happened since the requested sequence
+        subscriber.wake();
+        return subscriber.emitter;
+    }
+
+    private class Subscriber implements Runnable {
+
+        private final SseEmitter emitter;
+
+        private final AtomicBoolean scheduled = new AtomicBoolean();
+
+        private volatile boolean closed;
+
+        private long cursor;
+
+        private final Runnable listener = this::wake;
+
+        Subscriber(SseEmitter emitter, long cursor) {
+            this.emitter = emitter;
+            this.cursor = cursor;
+        }
+
+        // called by the writers, only hands the delivery to the pool
+        void wake() {
+            if (!closed && scheduled.compareAndSet(false, true)) {
+                try {
+                    delivery.execute(this);
+                } catch (RejectedExecutionException e) {
+                    scheduled.set(false);
+                }
+            }
+        }
+
+        @Override
+        public void run() {
+            try {
+                while (!closed) {
+                    ChangeBatch batch = changeLog.since(cursor, maxBatch);
+                    if (batch.isResync()) {
+                        // the subscriber fell behind the retained changes, it rereads the state and continues from here
+                        emitter.send(SseEmitter.event().name("resync").id(Long.toString(batch.getLastSequence())).data(batch.getLastSequence()));
+                    } else if (batch.getEvents().isEmpty()) {
+                        break;
+                    }
+                    for (ChangeEvent event : batch.getEvents()) {
+                        emitter.send(SseEmitter.event().name("change").id(Long.toString(event.getSequence())).data(event));
+                    }
+                    cursor = batch.getLastSequence();
+                }
+            } catch (IOException | IllegalStateException e) {
+                close();
+                emitter.completeWithError(e);
+            } finally {
+                scheduled.set(false);
+            }
+            // a change recorded after the last read but before the flag was cleared found it still set
+            if (!closed && changeLog.lastSequence() > cursor) {
+                wake();
+            }
+        }
+
+        void close() {
+            closed = true;
+            subscribers.remove(this);
+            changeLog.removeListener(listener);
+        }
+
+    }
+
+}
@@ -1,12 +1,55 @@
 package de.evoila.companySimulator.services;
 
+import de.evoila.companySimulator.analytics.EmployeeColumns;
+import de.evoila.companySimulator.analytics.StaffingCounter;
+import de.evoila.companySimulator.caches.CollectionVersion;
+import de.evoila.companySimulator.caches.ETags;
+import de.evoila.companySimulator.caches.EntityCache;
+import de.evoila.companySimulator.caches.IdExistenceFilter;
+import de.evoila.companySimulator.caches.IdempotencyStore;
+import de.evoila.companySimulator.caches.LookupCoalescer;
+import de.evoila.companySimulator.changes.ChangeLog;
+import de.evoila.companySimulator.enums.ChangeType;
+import de.evoila.companySimulator.enums.EntityType;
+import de.evoila.companySimulator.exceptions.AssignmentConflictException;
 import de.evoila.companySimulator.exceptions.EmployeeNotFoundException;
+import de.evoila.companySimulator.exceptions.ProjectNotFoundException;
+import de.evoila.companySimulator.exceptions.VersionConflictException;
+import de.evoila.companySimulator.models.AssignmentMove;
+import de.evoila.companySimulator.models.CursorPage;
 import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.EmployeePatch;
+import de.evoila.companySimulator.models.EmployeePlacement;
+import de.evoila.companySimulator.models.EmployeeSearch;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.models.ReassignmentResult;
 import de.evoila.companySimulator.repositories.EmployeeRepository;
+import org.hibernate.Hibernate;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManager;
+import javax.persistence.PersistenceContext;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.stream.Collectors;
 
 @Service
 public class EmployeeService {
@@ -14,32 +57,412 @@ public class EmployeeService {
     @Autowired
     EmployeeRepository employeeRepository;
 
+    @Autowired
+    ExportService exportService;
+
+    @Autowired
+    BatchService batchService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    EntityCache<Employee> employeeCache;
+
+    @Autowired
+    IdExistenceFilter employeeIdFilter;
+
+    @Autowired
+    IdempotencyStore employeeIdempotencyStore;
+
+    @Autowired
+    CollectionVersion employeeCollectionVersion;
+
+    @Autowired
+    StaffingCounter staffingCounter;
+
+    @Autowired
+    EmployeeColumns employeeColumns;
+
+    @Autowired
+    ChangeLog changeLog;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @PersistenceContext
+    EntityManager entityManager;
+
+    @Value("${company-simulator.pagination.default-page-size:50}")
+    int defaultPageSize;
+
+    @Value("${company-simulator.pagination.max-page-size:500}")
+    int maxPageSize;
+
+    @Value("${company-simulator.batch.max-items:10000}")
+    int maxBatchItems;
+
+    @Value("${company-simulator.batch.chunk-size:500}")
+    int chunkSize;
+
+    @Value("${company-simulator.lookup.coalesce-window:0ms}")
+    Duration coalesceWindow;
+
+    @Value("${company-simulator.lookup.coalesce-max-batch:100}")
+    int coalesceMaxBatch;
+
+    // only with a coalesce window, otherwise a lookup reads its row right away
+    private LookupCoalescer<Employee> employeeLoader;
+
+    @PostConstruct
+    void init() {
+        if (!coalesceWindow.isZero()) {
+            employeeLoader = new LookupCoalescer<>(coalesceWindow, coalesceMaxBatch, this::loadEmployees);
+        }
+    }
+
+    public String getEmployeesETag() {
+        return employeeCollectionVersion.eTag();
+    }
+
     public ResponseEntity<?> getAllEmployees() {
-        return new ResponseEntity<>(employeeRepository.findAll(), HttpStatus.FOUND);
+        return new ResponseEntity<>(employeeRepository.findAllSummaries(), HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> getEmployeesPage(Long cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        List<EmployeeSummary> rows = employeeRepository.findSummariesAfter(cursor == null ? 0L : cursor, PageRequest.of(0, pageSize + 1));
+        return new ResponseEntity<>(CursorPage.of(rows, pageSize, EmployeeSummary::getId), HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> searchEmployees(EmployeeSearch search, Long cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        List<EmployeeSummary> rows = employeeRepository.searchSummaries(search, cursor == null ? 0L : cursor, pageSize + 1);
+        return new ResponseEntity<>(CursorPage.of(rows, pageSize, EmployeeSummary::getId), HttpStatus.OK);
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportEmployees() {
+        return exportService.exportAsNdjson(employeeRepository::streamAll);
     }
 
     public ResponseEntity<?> findEmployeeById(Long id) {
-        return new ResponseEntity<>(employeeRepository.findById(id).orElseThrow(() -> new EmployeeNotFoundException(id)), HttpStatus.FOUND);
+        requireExistingId(id);
+        Employee employee = employeeLoader == null
+                ? employeeCache.get(id, key -> employeeRepository.findById(key).orElseThrow(() -> new EmployeeNotFoundException(key)))
+                : employeeCache.load(id, employeeLoader::load);
+        if (employee == null) {
+            throw new EmployeeNotFoundException(id);
+        }
+        // a matching If-None-Match is answered with 304 before the body gets serialized
+        return ResponseEntity.ok().eTag(ETags.of(employee)).body(employee);
+    }
+
+    // The employees in the order of the ids, unknown ids are left out. Cached employees are taken from the cache, the
+    // others are read with one IN query per chunk and not cached: unlike a single lookup, filling the cache in bulk
+    // could store a row that a concurrent write just invalidated.
+    public ResponseEntity<?> findEmployeesByIds(List<Long> ids) {
+        if (ids.size() > maxBatchItems) {
+            return new ResponseEntity<>("A lookup may contain at most " + maxBatchItems + " ids!", HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            return new ResponseEntity<>("ids must not contain null!", HttpStatus.BAD_REQUEST);
+        }
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        Map<Long, Employee> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Employee cached = employeeCache.getIfPresent(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else if (employeeIdFilter.mightExist(id)) {
+                misses.add(id);
+            }
+        }
+        found.putAll(loadEmployees(misses));
+        return new ResponseEntity<>(distinctIds.stream().map(found::get).filter(Objects::nonNull).collect(Collectors.toList()), HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> createEmployee(Employee employeeToCreate, String idempotencyKey) {
+        return employeeIdempotencyStore.execute(idempotencyKey, employeeToCreate, () -> createEmployee(employeeToCreate));
     }
 
     public ResponseEntity<?> createEmployee(Employee employeeToCreate) {
-        return new ResponseEntity<>(employeeRepository.save(employeeToCreate), HttpStatus.CREATED);
+        requireExistingProject(employeeToCreate.getProject());
+        Employee createdEmployee;
+        try {
+            // the reference has to be taken in the transaction that saves the employee
+            createdEmployee = new TransactionTemplate(transactionManager).execute(status -> {
+                employeeToCreate.setProject(resolveProject(employeeToCreate.getProject()));
+                return employeeRepository.save(employeeToCreate);
+            });
+        } catch (DataIntegrityViolationException e) {
+            throw projectNotFoundOr(employeeToCreate.getProject(), e);
+        }
+        employeeCreated(createdEmployee);
+        return new ResponseEntity<>(createdEmployee, HttpStatus.CREATED);
+    }
+
+    public ResponseEntity<?> createEmployees(List<Employee> employeesToCreate) {
+        return batchService.createAll(employeesToCreate, Employee::getId,
+                employee -> employee.setProject(resolveProject(employee.getProject())), this::employeeCreated);
     }
 
     public ResponseEntity<?> deleteEmployee(Long id) {
-        employeeRepository.findById(id).orElseThrow(() -> new EmployeeNotFoundException(id));
-        employeeRepository.deleteById(id);
+        requireExistingId(id);
+        // The read model's placement guards the delete, so the counters move by exactly the row removed without a read
+        // first. Only when it is unknown or behind a concurrent write the placement is read under the row lock.
+        EmployeePlacement placement = employeeColumns.placementOf(id);
+        if (placement == null || employeeRepository.deleteIfPlacementMatches(placement) == 0) {
+            placement = new TransactionTemplate(transactionManager).execute(status -> {
+                EmployeePlacement found = employeeRepository.findPlacementsForUpdate(List.of(id)).stream()
+                        .findFirst().orElseThrow(() -> new EmployeeNotFoundException(id));
+                employeeRepository.deleteRowById(id);
+                return found;
+            });
+        }
+        employeeDeleted(placement);
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
     public ResponseEntity<?> updateEmployee(Employee updatedEmployee, Long id) {
-        Employee foundEmployee = employeeRepository.findById(id).orElseThrow(() -> new EmployeeNotFoundException(id));
-        foundEmployee.setFirstName(updatedEmployee.getFirstName());
-        foundEmployee.setLastName(updatedEmployee.getLastName());
-        foundEmployee.setEmail(updatedEmployee.getEmail());
-        foundEmployee.setSpeciality(updatedEmployee.getSpeciality());
-        foundEmployee.setProject(updatedEmployee.getProject());
-        return new ResponseEntity<>(employeeRepository.save(foundEmployee), HttpStatus.OK);
+        requireExistingId(id);
+        requireExistingProject(updatedEmployee.getProject());
+        Employee savedEmployee;
+        try {
+            savedEmployee = applyUpdates(Map.of(id, updatedEmployee)).stream().findFirst()
+                    .orElseThrow(() -> new EmployeeNotFoundException(id));
+        } catch (DataIntegrityViolationException e) {
+            throw projectNotFoundOr(updatedEmployee.getProject(), e);
+        }
+        return new ResponseEntity<>(savedEmployee, HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> patchEmployee(EmployeePatch patch, Long id) {
+        requireExistingId(id);
+        Map<String, Object> changes = new HashMap<>();
+        if (patch.getFirstName() != null) {
+            changes.put("firstName", patch.getFirstName());
+        }
+        if (patch.getLastName() != null) {
+            changes.put("lastName", patch.getLastName());
+        }
+        if (patch.getEmail() != null) {
+            changes.put("email", patch.getEmail());
+        }
+        if (patch.getSpeciality() != null) {
+            changes.put("speciality", patch.getSpeciality());
+        }
+        EmployeePlacement placement = new TransactionTemplate(transactionManager).execute(status -> {
+            // only a changed speciality moves the employee between counters, otherwise the update stays a single statement
+            EmployeePlacement found = patch.getSpeciality() == null ? null
+                    : employeeRepository.findPlacementsForUpdate(List.of(id)).stream().findFirst().orElse(null);
+            if (employeeRepository.updateIfVersionMatches(id, patch.getVersion(), changes) == 0) {
+                // only a failed update pays for telling a deleted row from a stale version
+                if (!employeeRepository.existsById(id)) {
+                    throw new EmployeeNotFoundException(id);
+                }
+                throw new VersionConflictException("Employee", id, patch.getVersion());
+            }
+            return found;
+        });
+        employeeChanged(id, ChangeType.UPDATED);
+        employeeColumns.patch(id, patch.getFirstName(), patch.getLastName(), patch.getSpeciality());
+        if (placement != null) {
+            staffingCounter.employeeMoved(placement.getProjectId(), placement.getSpeciality(), placement.getProjectId(), patch.getSpeciality());
+        }
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    public ResponseEntity<?> assignProject(Long id, Long projectId) {
+        requireExistingId(id);
+        projectService.requireExistingId(projectId);
+        if (reassign(List.of(id), projectId) == 0) {
+            throw new EmployeeNotFoundException(id);
+        }
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    public ResponseEntity<?> assignProject(List<Long> ids, Long projectId) {
+        if (ids.size() > maxBatchItems) {
+            return new ResponseEntity<>("A reassignment may contain at most " + maxBatchItems + " ids!", HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            return new ResponseEntity<>("ids must not contain null!", HttpStatus.BAD_REQUEST);
+        }
+        projectService.requireExistingId(projectId);
+        List<Long> knownIds = ids.stream().distinct().filter(employeeIdFilter::mightExist).collect(Collectors.toList());
+        int reassigned = knownIds.isEmpty() ? 0 : reassign(knownIds, projectId);
+        return new ResponseEntity<>(new ReassignmentResult(projectId, ids.size(), reassigned), HttpStatus.OK);
+    }
+
+    // Applies the moves in one transaction. The rows are locked and checked against the project each move starts from,
+    // so a proposal that went stale meanwhile is rejected as a whole. The moves have to name distinct employees.
+    void applyMoves(List<AssignmentMove> moves) {
+        Map<Long, AssignmentMove> moveOf = moves.stream().collect(Collectors.toMap(AssignmentMove::getEmployeeId, move -> move));
+        Map<Long, List<Long>> idsByProject = moves.stream().collect(Collectors.groupingBy(AssignmentMove::getToProjectId,
+                LinkedHashMap::new, Collectors.mapping(AssignmentMove::getEmployeeId, Collectors.toList())));
+        List<Long> ids = moves.stream().map(AssignmentMove::getEmployeeId).collect(Collectors.toList());
+        List<EmployeePlacement> placements = new ArrayList<>(moves.size());
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            for (int from = 0; from < ids.size(); from += chunkSize) {
+                for (EmployeePlacement placement : employeeRepository.findPlacementsForUpdate(ids.subList(from, Math.min(from + chunkSize, ids.size())))) {
+                    Long expectedProjectId = moveOf.get(placement.getId()).getFromProjectId();
+                    if (!Objects.equals(placement.getProjectId(), expectedProjectId)) {
+                        throw new AssignmentConflictException(placement.getId(), expectedProjectId);
+                    }
+                    placements.add(placement);
+                }
+            }
+            if (placements.size() < ids.size()) {
+                Set<Long> found = placements.stream().map(EmployeePlacement::getId).collect(Collectors.toSet());
+                throw new EmployeeNotFoundException(ids.stream().filter(id -> !found.contains(id)).findFirst().orElse(null));
+            }
+            idsByProject.forEach((projectId, projectIds) -> {
+                Project project = entityManager.getReference(Project.class, projectId);
+                try {
+                    for (int from = 0; from < projectIds.size(); from += chunkSize) {
+                        employeeRepository.assignProject(projectIds.subList(from, Math.min(from + chunkSize, projectIds.size())), project);
+                    }
+                } catch (DataIntegrityViolationException e) {
+                    throw new ProjectNotFoundException(projectId);
+                }
+            });
+        });
+        ids.forEach(employeeCache::invalidate);
+        employeeCollectionVersion.changed();
+        placements.forEach(placement -> changeLog.record(EntityType.EMPLOYEE, ChangeType.UPDATED, placement.getId()));
+        placements.forEach(placement -> staffingCounter.employeeMoved(placement.getProjectId(), placement.getSpeciality(),
+                moveOf.get(placement.getId()).getToProjectId(), placement.getSpeciality()));
+        idsByProject.forEach((projectId, projectIds) -> employeeColumns.moveToProject(projectIds, projectId));
+    }
+
+    // Applies full updates in one transaction: the rows are read and locked with a single select, so the placements the
+    // counters move from are the ones replaced, and written back as batched updates. Returns the updated employees,
+    // an employee that no longer exists is left out.
+    List<Employee> applyUpdates(Map<Long, Employee> updates) {
+        List<EmployeePlacement> placements = new ArrayList<>(updates.size());
+        List<Project> newProjects = new ArrayList<>();
+        List<Employee> savedEmployees = new TransactionTemplate(transactionManager).execute(status -> {
+            List<Employee> found = employeeRepository.findAllForUpdate(updates.keySet());
+            for (Employee employee : found) {
+                placements.add(new EmployeePlacement(employee.getId(), employee.getProject() == null ? null : employee.getProject().getId(), employee.getSpeciality()));
+                Employee updatedEmployee = updates.get(employee.getId());
+                employee.setFirstName(updatedEmployee.getFirstName());
+                employee.setLastName(updatedEmployee.getLastName());
+                employee.setEmail(updatedEmployee.getEmail());
+                employee.setSpeciality(updatedEmployee.getSpeciality());
+                Project project = updatedEmployee.getProject();
+                if (project != null && project.getId() == null) {
+                    // a copy gets the id, a queued update is applied once more after a rolled back batch
+                    project = new Project(project.getCompanyName(), project.getProjectName());
+                    newProjects.add(project);
+                }
+                employee.setProject(resolveProject(project));
+            }
+            return found;
+        });
+        for (int i = 0; i < savedEmployees.size(); i++) {
+            employeeUpdated(savedEmployees.get(i), placements.get(i));
+        }
+        // only a project given inline changed, an existing one is referenced as it is
+        newProjects.forEach(projectService::projectCreated);
+        return savedEmployees;
+    }
+
+    // A project given with an id is only referenced, whatever else the body says about it. Only a project without an id
+    // is new and persisted through the cascade. Has to run in the transaction that writes the employee.
+    private Project resolveProject(Project project) {
+        return project == null || project.getId() == null ? project : entityManager.getReference(Project.class, project.getId());
+    }
+
+    void requireExistingProject(Project project) {
+        if (project != null && project.getId() != null) {
+            projectService.requireExistingId(project.getId());
+        }
+    }
+
+    // the foreign key is the authoritative check when the referenced project was deleted meanwhile
+    private RuntimeException projectNotFoundOr(Project project, DataIntegrityViolationException e) {
+        return project != null && project.getId() != null ? new ProjectNotFoundException(project.getId()) : e;
+    }
+
+    private Map<Long, Employee> loadEmployees(Collection<Long> ids) {
+        List<Long> idList = new ArrayList<>(ids);
+        Map<Long, Employee> found = new HashMap<>();
+        for (int from = 0; from < idList.size(); from += chunkSize) {
+            employeeRepository.findAllById(idList.subList(from, Math.min(from + chunkSize, idList.size())))
+                    .forEach(employee -> found.put(employee.getId(), employee));
+        }
+        return found;
+    }
+
+    private int reassign(List<Long> ids, Long projectId) {
+        List<EmployeePlacement> placements = new ArrayList<>(ids.size());
+        Integer reassigned;
+        try {
+            // all chunks share one transaction, a reorg is applied completely or not at all
+            reassigned = new TransactionTemplate(transactionManager).execute(status -> {
+                Project project = entityManager.getReference(Project.class, projectId);
+                int count = 0;
+                for (int from = 0; from < ids.size(); from += chunkSize) {
+                    List<Long> chunk = ids.subList(from, Math.min(from + chunkSize, ids.size()));
+                    placements.addAll(employeeRepository.findPlacementsForUpdate(chunk));
+                    count += employeeRepository.assignProject(chunk, project);
+                }
+                return count;
+            });
+        } catch (DataIntegrityViolationException e) {
+            // the foreign key is the authoritative check when the project was deleted meanwhile
+            throw new ProjectNotFoundException(projectId);
+        }
+        ids.forEach(employeeCache::invalidate);
+        employeeCollectionVersion.changed();
+        // only the rows that were found and locked changed
+        placements.forEach(placement -> changeLog.record(EntityType.EMPLOYEE, ChangeType.UPDATED, placement.getId()));
+        placements.forEach(placement -> staffingCounter.employeeMoved(placement.getProjectId(), placement.getSpeciality(), projectId, placement.getSpeciality()));
+        employeeColumns.moveToProject(ids, projectId);
+        return reassigned;
+    }
+
+    void requireExistingId(Long id) {
+        if (!employeeIdFilter.mightExist(id)) {
+            throw new EmployeeNotFoundException(id);
+        }
+    }
+
+    private void employeeCreated(Employee employee) {
+        employeeIdFilter.add(employee.getId());
+        employeeCollectionVersion.changed();
+        changeLog.record(EntityType.EMPLOYEE, ChangeType.CREATED, employee.getId());
+        Project project = employee.getProject();
+        Long projectId = project == null ? null : project.getId();
+        staffingCounter.employeeAdded(projectId, employee.getSpeciality());
+        employeeColumns.upsert(employee.getId(), employee.getFirstName(), employee.getLastName(), employee.getSpeciality(), projectId);
+        // a new project given inline is persisted through the cascade, one only referenced by id already existed
+        if (project != null && Hibernate.isInitialized(project)) {
+            projectService.projectCreated(project);
+        }
+    }
+
+    private void employeeChanged(Long id, ChangeType type) {
+        employeeCache.invalidate(id);
+        employeeCollectionVersion.changed();
+        changeLog.record(EntityType.EMPLOYEE, type, id);
+    }
+
+    private void employeeUpdated(Employee employee, EmployeePlacement before) {
+        employeeChanged(before.getId(), ChangeType.UPDATED);
+        Project project = employee.getProject();
+        Long projectId = project == null ? null : project.getId();
+        staffingCounter.employeeMoved(before.getProjectId(), before.getSpeciality(), projectId, employee.getSpeciality());
+        employeeColumns.upsert(before.getId(), employee.getFirstName(), employee.getLastName(), employee.getSpeciality(), projectId);
+    }
+
+    private void employeeDeleted(EmployeePlacement placement) {
+        employeeIdFilter.remove(placement.getId());
+        employeeChanged(placement.getId(), ChangeType.DELETED);
+        staffingCounter.employeeRemoved(placement.getProjectId(), placement.getSpeciality());
+        employeeColumns.remove(placement.getId());
     }
 
 }
@@ -0,0 +1,214 @@
+package de.evoila.companySimulator.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.evoila.companySimulator.enums.IngestionTicketStatus;
+import de.evoila.companySimulator.exceptions.EmployeeNotFoundException;
+import de.evoila.companySimulator.exceptions.IngestionTicketNotFoundException;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.IngestionTicket;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.NestedExceptionUtils;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.net.URI;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+
+// Write-behind queue for full employee updates. An update is answered with a ticket right away and replaces an update
+// of the same employee that is still queued. A single flusher writes the queue in batches of flush-size, as soon as
+// that many employees are queued and otherwise every flush-interval. A synchronous write to a queued employee is
+// overwritten by the flush, the last update to be flushed wins.
+@Service
+public class IngestionService {
+
+    private final Logger log = LoggerFactory.getLogger(IngestionService.class);
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Value("${company-simulator.ingestion.max-pending:100000}")
+    int maxPending;
+
+    @Value("${company-simulator.ingestion.flush-size:500}")
+    int flushSize;
+
+    @Value("${company-simulator.ingestion.flush-interval:200ms}")
+    Duration flushInterval;
+
+    @Value("${company-simulator.ingestion.retained-tickets:100000}")
+    int retainedTickets;
+
+    // in the order the employees were first queued, guarded by this
+    private final LinkedHashMap<Long, PendingUpdate> pending = new LinkedHashMap<>();
+
+    private final AtomicBoolean flushRequested = new AtomicBoolean();
+
+    private Cache<String, IngestionTicket> tickets;
+
+    private ScheduledExecutorService flusher;
+
+    private Timer flushTimer;
+
+    private Counter coalescedUpdates;
+
+    @PostConstruct
+    void init() {
+        tickets = Caffeine.newBuilder().maximumSize(retainedTickets).build();
+        Gauge.builder("company-simulator.ingestion.queue.depth", this, IngestionService::depth)
+                .description("Employees with an update waiting for the next flush")
+                .register(meterRegistry);
+        flushTimer = Timer.builder("company-simulator.ingestion.flush")
+                .description("Time to write one batch of queued updates")
+                .publishPercentileHistogram()
+                .register(meterRegistry);
+        coalescedUpdates = Counter.builder("company-simulator.ingestion.coalesced")
+                .description("Queued updates replaced by a later update of the same employee")
+                .register(meterRegistry);
+        flusher = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "ingestion-flusher");
+            thread.setDaemon(true);
+            return thread;
+        });
+        flusher.scheduleWithFixedDelay(this::flush, flushInterval.toMillis(), flushInterval.toMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    // what was accepted is still written before the database goes away
+    @PreDestroy
+    void shutdown() throws InterruptedException {
+        flusher.shutdown();
+        flusher.awaitTermination(1, TimeUnit.MINUTES);
+        flush();
+    }
+
+    public ResponseEntity<?> enqueueUpdate(Employee updatedEmployee, Long id) {
+        employeeService.requireExistingId(id);
+        employeeService.requireExistingProject(updatedEmployee.getProject());
+        IngestionTicket ticket = new IngestionTicket(UUID.randomUUID().toString(), id, IngestionTicketStatus.QUEUED, null);
+        int depth;
+        synchronized (this) {
+            PendingUpdate previous = pending.get(id);
+            if (previous == null && pending.size() >= maxPending) {
+                return new ResponseEntity<>("The ingestion queue is full, try again later!", HttpStatus.SERVICE_UNAVAILABLE);
+            }
+            // stored before the update can be drained, so a quick flush is not overwritten with QUEUED
+            tickets.put(ticket.getId(), ticket);
+            pending.put(id, new PendingUpdate(ticket.getId(), updatedEmployee));
+            if (previous != null) {
+                tickets.put(previous.ticketId, new IngestionTicket(previous.ticketId, id, IngestionTicketStatus.SUPERSEDED, null));
+                coalescedUpdates.increment();
+            }
+            depth = pending.size();
+        }
+        if (depth >= flushSize && flushRequested.compareAndSet(false, true)) {
+            flusher.execute(this::flush);
+        }
+        return ResponseEntity.accepted()
+                .location(URI.create("/ingestion/tickets/" + ticket.getId()))
+                .header("Preference-Applied", "respond-async")
+                .body(ticket);
+    }
+
+    public ResponseEntity<?> getTicket(String id) {
+        IngestionTicket ticket = tickets.getIfPresent(id);
+        if (ticket == null) {
+            throw new IngestionTicketNotFoundException(id);
+        }
+        return new ResponseEntity<>(ticket, HttpStatus.OK);
+    }
+
+    synchronized int depth() {
+        return pending.size();
+    }
+
+    // only ever runs on the flusher, or after it stopped
+    void flush() {
+        flushRequested.set(false);
+        List<Map.Entry<Long, PendingUpdate>> batch;
+        while (!(batch = nextBatch()).isEmpty()) {
+            List<Map.Entry<Long, PendingUpdate>> updates = batch;
+            flushTimer.record(() -> apply(updates));
+        }
+    }
+
+    private synchronized List<Map.Entry<Long, PendingUpdate>> nextBatch() {
+        List<Map.Entry<Long, PendingUpdate>> batch = new ArrayList<>(Math.min(flushSize, pending.size()));
+        Iterator<Map.Entry<Long, PendingUpdate>> iterator = pending.entrySet().iterator();
+        while (batch.size() < flushSize && iterator.hasNext()) {
+            Map.Entry<Long, PendingUpdate> entry = iterator.next();
+            batch.add(Map.entry(entry.getKey(), entry.getValue()));
+            iterator.remove();
+        }
+        return batch;
+    }
+
+    private void apply(List<Map.Entry<Long, PendingUpdate>> batch) {
+        Map<Long, Employee> updates = new LinkedHashMap<>();
+        batch.forEach(entry -> updates.put(entry.getKey(), entry.getValue().employee));
+        try {
+            Set<Long> applied = employeeService.applyUpdates(updates).stream().map(Employee::getId).collect(Collectors.toSet());
+            for (Map.Entry<Long, PendingUpdate> entry : batch) {
+                if (!applied.contains(entry.getKey())) {
+                    complete(entry, IngestionTicketStatus.FAILED, new EmployeeNotFoundException(entry.getKey()).getMessage());
+                } else {
+                    complete(entry, IngestionTicketStatus.APPLIED, null);
+                }
+            }
+        } catch (RuntimeException e) {
+            // the batch was rolled back, one by one a single bad update only fails its own ticket
+            log.warn("Batch of {} queued updates failed, applying them one by one: {}", batch.size(), e.toString());
+            for (Map.Entry<Long, PendingUpdate> entry : batch) {
+                try {
+                    employeeService.updateEmployee(entry.getValue().employee, entry.getKey());
+                    complete(entry, IngestionTicketStatus.APPLIED, null);
+                } catch (RuntimeException ex) {
+                    complete(entry, IngestionTicketStatus.FAILED, NestedExceptionUtils.getMostSpecificCause(ex).getMessage());
+                }
+            }
+        }
+    }
+
+    private void complete(Map.Entry<Long, PendingUpdate> entry, IngestionTicketStatus status, String error) {
+        String ticketId = entry.getValue().ticketId;
+        tickets.put(ticketId, new IngestionTicket(ticketId, entry.getKey(), status, error));
+    }
+
+    private static class PendingUpdate {
+
+        private final String ticketId;
+
+        private final Employee employee;
+
+        PendingUpdate(String ticketId, Employee employee) {
+            this.ticketId = ticketId;
+            this.employee = employee;
+        }
+
+    }
+
+}
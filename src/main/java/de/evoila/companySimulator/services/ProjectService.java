@@ -1,12 +1,40 @@
 package de.evoila.companySimulator.services;
 
+import de.evoila.companySimulator.analytics.EmployeeColumns;
+import de.evoila.companySimulator.analytics.StaffingCounter;
+import de.evoila.companySimulator.caches.CollectionVersion;
+import de.evoila.companySimulator.caches.ETags;
+import de.evoila.companySimulator.caches.EntityCache;
+import de.evoila.companySimulator.caches.IdExistenceFilter;
+import de.evoila.companySimulator.caches.IdempotencyStore;
+import de.evoila.companySimulator.caches.LookupCoalescer;
+import de.evoila.companySimulator.changes.ChangeLog;
+import de.evoila.companySimulator.enums.ChangeType;
+import de.evoila.companySimulator.enums.EntityType;
 import de.evoila.companySimulator.exceptions.ProjectNotFoundException;
+import de.evoila.companySimulator.exceptions.VersionConflictException;
+import de.evoila.companySimulator.models.CursorPage;
+import de.evoila.companySimulator.models.Employee;
 import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.models.ProjectPatch;
 import de.evoila.companySimulator.repositories.ProjectRepository;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.Collectors;
 
 @Service
 public class ProjectService {
@@ -14,29 +42,224 @@ public class ProjectService {
     @Autowired
     ProjectRepository projectRepository;
 
+    @Autowired
+    ExportService exportService;
+
+    @Autowired
+    BatchService batchService;
+
+    @Autowired
+    EntityCache<Project> projectCache;
+
+    @Autowired
+    EntityCache<Employee> employeeCache;
+
+    @Autowired
+    IdExistenceFilter projectIdFilter;
+
+    @Autowired
+    IdempotencyStore projectIdempotencyStore;
+
+    @Autowired
+    CollectionVersion projectCollectionVersion;
+
+    @Autowired
+    CollectionVersion employeeCollectionVersion;
+
+    @Autowired
+    StaffingCounter staffingCounter;
+
+    @Autowired
+    EmployeeColumns employeeColumns;
+
+    @Autowired
+    ChangeLog changeLog;
+
+    @Value("${company-simulator.pagination.default-page-size:50}")
+    int defaultPageSize;
+
+    @Value("${company-simulator.pagination.max-page-size:500}")
+    int maxPageSize;
+
+    @Value("${company-simulator.batch.max-items:10000}")
+    int maxBatchItems;
+
+    @Value("${company-simulator.batch.chunk-size:500}")
+    int chunkSize;
+
+    @Value("${company-simulator.lookup.coalesce-window:0ms}")
+    Duration coalesceWindow;
+
+    @Value("${company-simulator.lookup.coalesce-max-batch:100}")
+    int coalesceMaxBatch;
+
+    // only with a coalesce window, otherwise a lookup reads its row right away
+    private LookupCoalescer<Project> projectLoader;
+
+    @PostConstruct
+    void init() {
+        if (!coalesceWindow.isZero()) {
+            projectLoader = new LookupCoalescer<>(coalesceWindow, coalesceMaxBatch, this::loadProjects);
+        }
+    }
+
+    public String getProjectsETag() {
+        return projectCollectionVersion.eTag();
+    }
+
     public ResponseEntity<?> getAllProjects() {
-        return new ResponseEntity<>(projectRepository.findAll(), HttpStatus.FOUND);
+        return new ResponseEntity<>(projectRepository.findAll(), HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> getProjectsPage(Long cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        List<Project> rows = projectRepository.findByIdGreaterThanOrderByIdAsc(cursor == null ? 0L : cursor, PageRequest.of(0, pageSize + 1));
+        return new ResponseEntity<>(CursorPage.of(rows, pageSize, Project::getId), HttpStatus.OK);
+    }
+
+    public ResponseEntity<StreamingResponseBody> exportProjects() {
+        return exportService.exportAsNdjson(projectRepository::streamAll);
     }
 
     public ResponseEntity<?> findProjectById(Long id) {
-        return new ResponseEntity<>(projectRepository.findById(id).orElseThrow(() -> new ProjectNotFoundException(id)), HttpStatus.FOUND);
+        requireExistingId(id);
+        Project project = projectLoader == null
+                ? projectCache.get(id, key -> projectRepository.findById(key).orElseThrow(() -> new ProjectNotFoundException(key)))
+                : projectCache.load(id, projectLoader::load);
+        if (project == null) {
+            throw new ProjectNotFoundException(id);
+        }
+        // a matching If-None-Match is answered with 304 before the body gets serialized
+        return ResponseEntity.ok().eTag(ETags.of(project)).body(project);
+    }
+
+    // the projects in the order of the ids, unknown ids are left out, see EmployeeService.findEmployeesByIds
+    public ResponseEntity<?> findProjectsByIds(List<Long> ids) {
+        if (ids.size() > maxBatchItems) {
+            return new ResponseEntity<>("A lookup may contain at most " + maxBatchItems + " ids!", HttpStatus.PAYLOAD_TOO_LARGE);
+        }
+        if (ids.stream().anyMatch(Objects::isNull)) {
+            return new ResponseEntity<>("ids must not contain null!", HttpStatus.BAD_REQUEST);
+        }
+        List<Long> distinctIds = ids.stream().distinct().collect(Collectors.toList());
+        Map<Long, Project> found = new HashMap<>();
+        List<Long> misses = new ArrayList<>();
+        for (Long id : distinctIds) {
+            Project cached = projectCache.getIfPresent(id);
+            if (cached != null) {
+                found.put(id, cached);
+            } else if (projectIdFilter.mightExist(id)) {
+                misses.add(id);
+            }
+        }
+        found.putAll(loadProjects(misses));
+        return new ResponseEntity<>(distinctIds.stream().map(found::get).filter(Objects::nonNull).collect(Collectors.toList()), HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> createProject(Project projectToCreate, String idempotencyKey) {
+        return projectIdempotencyStore.execute(idempotencyKey, projectToCreate, () -> createProject(projectToCreate));
     }
 
     public ResponseEntity<?> createProject(Project projectToCreate) {
-        return new ResponseEntity<>(projectRepository.save(projectToCreate), HttpStatus.CREATED);
+        Project createdProject = projectRepository.save(projectToCreate);
+        projectCreated(createdProject);
+        return new ResponseEntity<>(createdProject, HttpStatus.CREATED);
+    }
+
+    public ResponseEntity<?> createProjects(List<Project> projectsToCreate) {
+        return batchService.createAll(projectsToCreate, Project::getId, project -> {
+        }, this::projectCreated);
     }
 
     public ResponseEntity<?> deleteProject(Long id) {
-        projectRepository.findById(id).orElseThrow(() -> new ProjectNotFoundException(id));
-        projectRepository.deleteById(id);
+        requireExistingId(id);
+        if (projectRepository.deleteRowById(id) == 0) {
+            throw new ProjectNotFoundException(id);
+        }
+        projectDeleted(id);
         return new ResponseEntity<>(HttpStatus.OK);
     }
 
     public ResponseEntity<?> updateProject(Project updatedProject, Long id) {
+        requireExistingId(id);
         Project foundProject = projectRepository.findById(id).orElseThrow(() -> new ProjectNotFoundException(id));
         foundProject.setCompanyName(updatedProject.getCompanyName());
         foundProject.setProjectName(updatedProject.getProjectName());
-        return new ResponseEntity<>(projectRepository.save(foundProject), HttpStatus.OK);
+        Project savedProject = projectRepository.save(foundProject);
+        projectSaved(id, savedProject.getCompanyName());
+        return new ResponseEntity<>(savedProject, HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> patchProject(ProjectPatch patch, Long id) {
+        requireExistingId(id);
+        Map<String, Object> changes = new HashMap<>();
+        if (patch.getCompanyName() != null) {
+            changes.put("companyName", patch.getCompanyName());
+        }
+        if (patch.getProjectName() != null) {
+            changes.put("projectName", patch.getProjectName());
+        }
+        if (projectRepository.updateIfVersionMatches(id, patch.getVersion(), changes) == 0) {
+            // only a failed update pays for telling a deleted row from a stale version
+            if (!projectRepository.existsById(id)) {
+                throw new ProjectNotFoundException(id);
+            }
+            throw new VersionConflictException("Project", id, patch.getVersion());
+        }
+        projectSaved(id, patch.getCompanyName());
+        return new ResponseEntity<>(HttpStatus.NO_CONTENT);
+    }
+
+    void projectCreated(Project project) {
+        projectIdFilter.add(project.getId());
+        projectCollectionVersion.changed();
+        changeLog.record(EntityType.PROJECT, ChangeType.CREATED, project.getId());
+        staffingCounter.projectSaved(project.getId(), project.getCompanyName());
+        employeeColumns.projectSaved(project.getId(), project.getCompanyName());
+    }
+
+    // a null company name means it was left unchanged
+    void projectSaved(Long id, String companyName) {
+        projectIdFilter.add(id);
+        staffingCounter.projectSaved(id, companyName);
+        employeeColumns.projectSaved(id, companyName);
+        evictProject(id);
+        projectCollectionVersion.changed();
+        // employee listings carry the project name
+        employeeCollectionVersion.changed();
+        changeLog.record(EntityType.PROJECT, ChangeType.UPDATED, id);
+    }
+
+    void projectDeleted(Long id) {
+        projectIdFilter.remove(id);
+        staffingCounter.projectRemoved(id);
+        employeeColumns.projectRemoved(id);
+        evictProject(id);
+        projectCollectionVersion.changed();
+        employeeCollectionVersion.changed();
+        changeLog.record(EntityType.PROJECT, ChangeType.DELETED, id);
+    }
+
+    private Map<Long, Project> loadProjects(Collection<Long> ids) {
+        List<Long> idList = new ArrayList<>(ids);
+        Map<Long, Project> found = new HashMap<>();
+        for (int from = 0; from < idList.size(); from += chunkSize) {
+            projectRepository.findAllById(idList.subList(from, Math.min(from + chunkSize, idList.size())))
+                    .forEach(project -> found.put(project.getId(), project));
+        }
+        return found;
+    }
+
+    void requireExistingId(Long id) {
+        if (!projectIdFilter.mightExist(id)) {
+            throw new ProjectNotFoundException(id);
+        }
+    }
+
+    // cached employees embed their project, so they go stale together with it
+    private void evictProject(Long id) {
+        projectCache.invalidate(id);
+        employeeCache.invalidateIf(employee -> employee.getProject() != null && id.equals(employee.getProject().getId()));
     }
 
 }
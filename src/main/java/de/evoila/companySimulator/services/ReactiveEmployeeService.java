@@ -0,0 +1,76 @@
+package de.evoila.companySimulator.services;
+
+import de.evoila.companySimulator.caches.CollectionVersion;
+import de.evoila.companySimulator.caches.ETags;
+import de.evoila.companySimulator.caches.IdExistenceFilter;
+import de.evoila.companySimulator.exceptions.EmployeeNotFoundException;
+import de.evoila.companySimulator.models.CursorPage;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.EmployeeSearch;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.repositories.ReactiveEmployeeRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// The read path of EmployeeService without blocking. Writes stay with the servlet stack, so the entity cache is not
+// consulted here, a lookup always reads the row.
+@Service
+@Profile("reactive")
+public class ReactiveEmployeeService {
+
+    @Autowired
+    ReactiveEmployeeRepository employeeRepository;
+
+    @Autowired
+    IdExistenceFilter employeeIdFilter;
+
+    @Autowired
+    CollectionVersion employeeCollectionVersion;
+
+    @Value("${company-simulator.pagination.default-page-size:50}")
+    int defaultPageSize;
+
+    @Value("${company-simulator.pagination.max-page-size:500}")
+    int maxPageSize;
+
+    public String getEmployeesETag() {
+        return employeeCollectionVersion.eTag();
+    }
+
+    public Flux<EmployeeSummary> getAllEmployees() {
+        return employeeRepository.findAllSummaries();
+    }
+
+    public Mono<CursorPage<EmployeeSummary>> getEmployeesPage(Long cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        return employeeRepository.findSummariesAfter(cursor == null ? 0L : cursor, pageSize + 1)
+                .collectList()
+                .map(rows -> CursorPage.of(rows, pageSize, EmployeeSummary::getId));
+    }
+
+    public Mono<CursorPage<EmployeeSummary>> searchEmployees(EmployeeSearch search, Long cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        return employeeRepository.searchSummaries(search, cursor == null ? 0L : cursor, pageSize + 1)
+                .collectList()
+                .map(rows -> CursorPage.of(rows, pageSize, EmployeeSummary::getId));
+    }
+
+    public Flux<Employee> exportEmployees() {
+        return employeeRepository.findAll();
+    }
+
+    public Mono<ResponseEntity<Employee>> findEmployeeById(Long id) {
+        if (!employeeIdFilter.mightExist(id)) {
+            return Mono.error(new EmployeeNotFoundException(id));
+        }
+        return employeeRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new EmployeeNotFoundException(id)))
+                .map(employee -> ResponseEntity.ok().eTag(ETags.of(employee)).body(employee));
+    }
+
+}
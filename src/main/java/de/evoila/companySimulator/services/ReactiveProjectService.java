@@ -0,0 +1,62 @@
+package de.evoila.companySimulator.services;
+
+import de.evoila.companySimulator.caches.CollectionVersion;
+import de.evoila.companySimulator.caches.ETags;
+import de.evoila.companySimulator.caches.IdExistenceFilter;
+import de.evoila.companySimulator.exceptions.ProjectNotFoundException;
+import de.evoila.companySimulator.models.CursorPage;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.repositories.ReactiveProjectRepository;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+// The read path of ProjectService without blocking.
+@Service
+@Profile("reactive")
+public class ReactiveProjectService {
+
+    @Autowired
+    ReactiveProjectRepository projectRepository;
+
+    @Autowired
+    IdExistenceFilter projectIdFilter;
+
+    @Autowired
+    CollectionVersion projectCollectionVersion;
+
+    @Value("${company-simulator.pagination.default-page-size:50}")
+    int defaultPageSize;
+
+    @Value("${company-simulator.pagination.max-page-size:500}")
+    int maxPageSize;
+
+    public String getProjectsETag() {
+        return projectCollectionVersion.eTag();
+    }
+
+    public Flux<Project> getAllProjects() {
+        return projectRepository.findAll();
+    }
+
+    public Mono<CursorPage<Project>> getProjectsPage(Long cursor, Integer size) {
+        int pageSize = size == null ? defaultPageSize : Math.max(1, Math.min(size, maxPageSize));
+        return projectRepository.findAfter(cursor == null ? 0L : cursor, pageSize + 1)
+                .collectList()
+                .map(rows -> CursorPage.of(rows, pageSize, Project::getId));
+    }
+
+    public Mono<ResponseEntity<Project>> findProjectById(Long id) {
+        if (!projectIdFilter.mightExist(id)) {
+            return Mono.error(new ProjectNotFoundException(id));
+        }
+        return projectRepository.findById(id)
+                .switchIfEmpty(Mono.error(() -> new ProjectNotFoundException(id)))
+                .map(project -> ResponseEntity.ok().eTag(ETags.of(project)).body(project));
+    }
+
+}
@@ -0,0 +1,158 @@
+package de.evoila.companySimulator.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import de.evoila.companySimulator.enums.ScenarioJobStatus;
+import de.evoila.companySimulator.exceptions.ScenarioJobNotFoundException;
+import de.evoila.companySimulator.models.ScenarioJob;
+import de.evoila.companySimulator.models.ScenarioRequest;
+import de.evoila.companySimulator.models.ScenarioResult;
+import de.evoila.companySimulator.simulation.CompanyState;
+import de.evoila.companySimulator.simulation.ScenarioRunner;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+
+// Scenario jobs run on their own pool, so thousands of runs do not starve the parallel scans in the common pool.
+@Service
+public class ScenarioService {
+
+    @Autowired
+    SimulationService simulationService;
+
+    @Value("${company-simulator.simulation.max-runs:10000}")
+    int maxRuns;
+
+    @Value("${company-simulator.simulation.max-ticks-per-step:10000}")
+    int maxTicks;
+
+    @Value("${company-simulator.simulation.max-scenario-work:1000000000}")
+    long maxWork;
+
+    @Value("${company-simulator.simulation.retained-jobs:100}")
+    int retainedJobs;
+
+    @Value("${company-simulator.simulation.max-running-jobs:4}")
+    int maxRunningJobs;
+
+    @Value("${company-simulator.simulation.scenario-parallelism:0}")
+    int parallelism;
+
+    private ForkJoinPool pool;
+
+    private Cache<String, Job> jobs;
+
+    // every running job holds the company state twice and keeps the pool busy, so only a few may run at once
+    private Semaphore runningJobs;
+
+    @PostConstruct
+    void init() {
+        pool = new ForkJoinPool(parallelism > 0 ? parallelism : Runtime.getRuntime().availableProcessors());
+        runningJobs = new Semaphore(maxRunningJobs);
+        // a running job weighs nothing, so only finished jobs are evicted
+        jobs = Caffeine.newBuilder()
+                .maximumWeight(retainedJobs)
+                .<String, Job>weigher((id, job) -> job.result.isDone() ? 1 : 0)
+                .build();
+    }
+
+    @PreDestroy
+    void shutdown() {
+        pool.shutdownNow();
+    }
+
+    public ResponseEntity<?> submit(ScenarioRequest request) {
+        if (request.getRuns() > maxRuns) {
+            return new ResponseEntity<>("A scenario may contain at most " + maxRuns + " runs!", HttpStatus.BAD_REQUEST);
+        }
+        if (request.getTicks() > maxTicks) {
+            return new ResponseEntity<>("ticks must be between 1 and " + maxTicks + "!", HttpStatus.BAD_REQUEST);
+        }
+        // taken before the company is loaded, so a burst of submissions does not load it once each
+        if (!runningJobs.tryAcquire()) {
+            return new ResponseEntity<>("Too many scenarios running, try again later!", HttpStatus.SERVICE_UNAVAILABLE);
+        }
+        boolean started = false;
+        try {
+            long seed = request.getSeed() == null ? ThreadLocalRandom.current().nextLong() : request.getSeed();
+            // the snapshot is taken now, so the job simulates the company as it was when it was submitted
+            CompanyState base = simulationService.loadCompany(seed);
+            long work = (long) request.getRuns() * request.getTicks() * base.employeeCount();
+            if (work > maxWork) {
+                return new ResponseEntity<>("A scenario may simulate at most " + maxWork + " employee ticks, runs x ticks x employees is " + work + "!", HttpStatus.BAD_REQUEST);
+            }
+            ScenarioRunner runner = new ScenarioRunner(simulationService.engine());
+            Job job = new Job(UUID.randomUUID().toString(), seed, request.getRuns());
+            // released before the result completes, so a client that saw the job finish can submit the next one
+            job.result = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return runner.run(base, request.getMoves(), seed, request.getRuns(), request.getTicks(), job.completedRuns);
+                } finally {
+                    runningJobs.release();
+                }
+            }, pool);
+            started = true;
+            jobs.put(job.id, job);
+            // written again once done, so the job is weighed as finished
+            job.result.whenComplete((result, failure) -> jobs.asMap().replace(job.id, job, job));
+            return new ResponseEntity<>(job.snapshot(), HttpStatus.ACCEPTED);
+        } finally {
+            // a rejected or failed submission gives its slot back right away
+            if (!started) {
+                runningJobs.release();
+            }
+        }
+    }
+
+    public ResponseEntity<?> getJob(String id) {
+        Job job = jobs.getIfPresent(id);
+        if (job == null) {
+            throw new ScenarioJobNotFoundException(id);
+        }
+        return new ResponseEntity<>(job.snapshot(), HttpStatus.OK);
+    }
+
+    private static class Job {
+
+        private final String id;
+
+        private final long seed;
+
+        private final int runs;
+
+        private final AtomicInteger completedRuns = new AtomicInteger();
+
+        private volatile CompletableFuture<ScenarioResult> result;
+
+        Job(String id, long seed, int runs) {
+            this.id = id;
+            this.seed = seed;
+            this.runs = runs;
+        }
+
+        ScenarioJob snapshot() {
+            if (!result.isDone()) {
+                return new ScenarioJob(id, ScenarioJobStatus.RUNNING, seed, runs, completedRuns.get(), null, null);
+            }
+            try {
+                return new ScenarioJob(id, ScenarioJobStatus.DONE, seed, runs, runs, result.join(), null);
+            } catch (CompletionException ex) {
+                return new ScenarioJob(id, ScenarioJobStatus.FAILED, seed, runs, completedRuns.get(), null, String.valueOf(ex.getCause()));
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,122 @@
+package de.evoila.companySimulator.services;
+
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.models.ProjectCompany;
+import de.evoila.companySimulator.models.SimulationStatus;
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.repositories.ProjectRepository;
+import de.evoila.companySimulator.simulation.CompanyState;
+import de.evoila.companySimulator.simulation.SimulationEngine;
+import de.evoila.companySimulator.simulation.SimulationSettings;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
+// Runs one simulation at a time on a snapshot of the stored company. The simulation never writes back.
+@Service
+public class SimulationService {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Value("${company-simulator.simulation.leave-probability:0.001}")
+    double leaveProbability;
+
+    @Value("${company-simulator.simulation.move-probability:0.002}")
+    double moveProbability;
+
+    @Value("${company-simulator.simulation.assign-probability:0.05}")
+    double assignProbability;
+
+    @Value("${company-simulator.simulation.hire-probability:0.02}")
+    double hireProbability;
+
+    @Value("${company-simulator.simulation.split-threshold:20000}")
+    int splitThreshold;
+
+    @Value("${company-simulator.simulation.max-ticks-per-step:10000}")
+    int maxTicksPerStep;
+
+    private CompanyState state;
+
+    private long seed;
+
+    private long employeeTicksPerSecond;
+
+    // published after every start and step, so reading the status does not wait for a running step
+    private volatile SimulationStatus lastStatus;
+
+    // without a seed a random one is drawn, it is part of the status so the run can be repeated
+    public synchronized ResponseEntity<?> start(Long seed) {
+        this.seed = seed == null ? ThreadLocalRandom.current().nextLong() : seed;
+        state = loadCompany(this.seed);
+        employeeTicksPerSecond = 0;
+        lastStatus = status();
+        return new ResponseEntity<>(lastStatus, HttpStatus.CREATED);
+    }
+
+    public synchronized ResponseEntity<?> step(int ticks) {
+        if (state == null) {
+            return new ResponseEntity<>("No simulation has been started!", HttpStatus.CONFLICT);
+        }
+        if (ticks < 1 || ticks > maxTicksPerStep) {
+            return new ResponseEntity<>("ticks must be between 1 and " + maxTicksPerStep + "!", HttpStatus.BAD_REQUEST);
+        }
+        long started = System.nanoTime();
+        long employeeTicks = engine().step(state, seed, ticks);
+        long elapsed = Math.max(1, System.nanoTime() - started);
+        employeeTicksPerSecond = employeeTicks * TimeUnit.SECONDS.toNanos(1) / elapsed;
+        lastStatus = status();
+        return new ResponseEntity<>(lastStatus, HttpStatus.OK);
+    }
+
+    public ResponseEntity<?> getStatus() {
+        SimulationStatus status = lastStatus;
+        if (status == null) {
+            return new ResponseEntity<>("No simulation has been started!", HttpStatus.NOT_FOUND);
+        }
+        return new ResponseEntity<>(status, HttpStatus.OK);
+    }
+
+    CompanyState loadCompany(long seed) {
+        TransactionTemplate transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setReadOnly(true);
+        return transactionTemplate.execute(status -> {
+            List<Long> projectIds = projectRepository.findAllProjectCompanies().stream()
+                    .map(ProjectCompany::getProjectId)
+                    .collect(Collectors.toList());
+            try (Stream<EmployeeSummary> rows = employeeRepository.streamAllSummaries()) {
+                return CompanyState.build(seed, projectIds, rows.collect(Collectors.toList()));
+            }
+        });
+    }
+
+    SimulationEngine engine() {
+        SimulationSettings settings = new SimulationSettings(leaveProbability, moveProbability, assignProbability, hireProbability, splitThreshold);
+        return new SimulationEngine(settings, ForkJoinPool.commonPool());
+    }
+
+    private SimulationStatus status() {
+        return new SimulationStatus(seed, state.tick(), state.projectCount(), state.employeeCount(), state.unassignedCount(),
+                state.hires(), state.departures(), state.reassignments(), state.lastTickOutput(), state.totalOutput(),
+                employeeTicksPerSecond);
+    }
+
+}
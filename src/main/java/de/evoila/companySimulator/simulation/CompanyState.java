@@ -0,0 +1,279 @@
+package de.evoila.companySimulator.simulation;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.EmployeeSummary;
+
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.SplittableRandom;
+
+// project p owns the rows groupStart[p] until groupStart[p + 1], the last group holds the unassigned employees
+public class CompanyState {
+
+    static final int SPECIALITIES = Speciality.values().length;
+
+    static final int LEAVE = -1;
+
+    final long[] projectIds;
+
+    // output factor of a speciality on a project, projects x specialities, a project needing every speciality alike gives 1.0
+    final double[] fit;
+
+    long[] employeeIds;
+
+    byte[] specialities;
+
+    int[] experience;
+
+    final int[] groupStart;
+
+    int employeeCount;
+
+    long nextHireId = -1;
+
+    long tick;
+
+    double totalOutput;
+
+    double lastTickOutput;
+
+    long hires;
+
+    long departures;
+
+    long reassignments;
+
+    // scratch space of the engine, kept across ticks to not allocate per tick
+    int[] targets = new int[0];
+
+    long[] spareEmployeeIds = new long[0];
+
+    byte[] spareSpecialities = new byte[0];
+
+    int[] spareExperience = new int[0];
+
+    private CompanyState(long[] projectIds, double[] fit, long[] employeeIds, byte[] specialities, int[] experience, int[] groupStart, int employeeCount) {
+        this.projectIds = projectIds;
+        this.fit = fit;
+        this.employeeIds = employeeIds;
+        this.specialities = specialities;
+        this.experience = experience;
+        this.groupStart = groupStart;
+        this.employeeCount = employeeCount;
+    }
+
+    public static CompanyState build(long seed, List<Long> projectIds, List<EmployeeSummary> employees) {
+        int projects = projectIds.size();
+        Map<Long, Integer> projectIndexes = new HashMap<>();
+        // sorted, so the projects draw the same random streams in every run
+        long[] ids = projectIds.stream().mapToLong(Long::longValue).sorted().toArray();
+        double[] fit = new double[projects * SPECIALITIES];
+        for (int project = 0; project < projects; project++) {
+            projectIndexes.put(ids[project], project);
+            // the needs of a project are part of the seeded scenario, not of the stored data
+            SplittableRandom random = new SplittableRandom(SimulationEngine.seedFor(seed, -1, project));
+            double sum = 0;
+            for (int speciality = 0; speciality < SPECIALITIES; speciality++) {
+                fit[project * SPECIALITIES + speciality] = random.nextDouble();
+                sum += fit[project * SPECIALITIES + speciality];
+            }
+            for (int speciality = 0; speciality < SPECIALITIES; speciality++) {
+                fit[project * SPECIALITIES + speciality] *= SPECIALITIES / sum;
+            }
+        }
+
+        int[] groups = new int[employees.size()];
+        int[] groupStart = new int[projects + 2];
+        for (int row = 0; row < employees.size(); row++) {
+            Integer project = employees.get(row).getProjectId() == null ? null : projectIndexes.get(employees.get(row).getProjectId());
+            groups[row] = project == null ? projects : project;
+            groupStart[groups[row] + 1]++;
+        }
+        for (int group = 0; group <= projects; group++) {
+            groupStart[group + 1] += groupStart[group];
+        }
+        int[] cursor = groupStart.clone();
+        long[] employeeIds = new long[employees.size()];
+        byte[] specialities = new byte[employees.size()];
+        for (int row = 0; row < employees.size(); row++) {
+            int position = cursor[groups[row]]++;
+            employeeIds[position] = employees.get(row).getId();
+            specialities[position] = (byte) employees.get(row).getSpeciality().ordinal();
+        }
+        return new CompanyState(ids, fit, employeeIds, specialities, new int[employees.size()], groupStart, employees.size());
+    }
+
+    // the project ids and their needs are never changed and stay shared, everything else is copied
+    public CompanyState copy() {
+        CompanyState copy = new CompanyState(projectIds, fit, Arrays.copyOf(employeeIds, employeeCount),
+                Arrays.copyOf(specialities, employeeCount), Arrays.copyOf(experience, employeeCount), groupStart.clone(), employeeCount);
+        copy.nextHireId = nextHireId;
+        copy.tick = tick;
+        copy.totalOutput = totalOutput;
+        copy.lastTickOutput = lastTickOutput;
+        copy.hires = hires;
+        copy.departures = departures;
+        copy.reassignments = reassignments;
+        return copy;
+    }
+
+    // Moves up to count employees of a speciality between projects, a null project is the group of unassigned employees.
+    // Returns how many were moved. Unlike the moves during a tick, these are not counted as reassignments.
+    public int moveEmployees(Speciality speciality, int count, Long fromProjectId, Long toProjectId) {
+        int from = groupOf(fromProjectId);
+        int to = groupOf(toProjectId);
+        if (from < 0 || to < 0 || from == to) {
+            return 0;
+        }
+        prepareTargets();
+        int moved = 0;
+        for (int group = 0; group < groupCount(); group++) {
+            for (int row = groupStart[group]; row < groupStart[group + 1]; row++) {
+                boolean move = group == from && moved < count && specialities[row] == speciality.ordinal();
+                targets[row] = move ? to : group;
+                moved += move ? 1 : 0;
+            }
+        }
+        long reassignmentsBefore = reassignments;
+        regroup(new byte[0]);
+        reassignments = reassignmentsBefore;
+        return moved;
+    }
+
+    public int headcount(Long projectId) {
+        int group = groupOf(projectId);
+        return group < 0 ? 0 : groupStart[group + 1] - groupStart[group];
+    }
+
+    public int projectCount() {
+        return projectIds.length;
+    }
+
+    public int employeeCount() {
+        return employeeCount;
+    }
+
+    public int unassignedCount() {
+        return employeeCount - groupStart[projectIds.length];
+    }
+
+    public long tick() {
+        return tick;
+    }
+
+    public double totalOutput() {
+        return totalOutput;
+    }
+
+    public double lastTickOutput() {
+        return lastTickOutput;
+    }
+
+    public long hires() {
+        return hires;
+    }
+
+    public long departures() {
+        return departures;
+    }
+
+    public long reassignments() {
+        return reassignments;
+    }
+
+    int groupCount() {
+        return projectIds.length + 1;
+    }
+
+    void prepareTargets() {
+        if (targets.length < employeeCount) {
+            targets = new int[capacityFor(employeeCount)];
+        }
+    }
+
+    // Regroups the rows by their entry in targets, a stable counting sort into the spare arrays. Rows targeted at
+    // LEAVE are dropped, a hire speciality of a group other than -1 adds a new employee behind the group.
+    void regroup(byte[] hireSpecialities) {
+        int groups = groupCount();
+        int[] counts = new int[groups + 1];
+        for (int group = 0; group < groups; group++) {
+            for (int row = groupStart[group]; row < groupStart[group + 1]; row++) {
+                if (targets[row] == LEAVE) {
+                    departures++;
+                    continue;
+                }
+                if (targets[row] != group) {
+                    reassignments++;
+                }
+                counts[targets[row] + 1]++;
+            }
+            if (hires(hireSpecialities, group)) {
+                hires++;
+                counts[group + 1]++;
+            }
+        }
+        for (int group = 0; group < groups; group++) {
+            counts[group + 1] += counts[group];
+        }
+        int employees = counts[groups];
+        if (spareEmployeeIds.length < employees) {
+            int capacity = capacityFor(employees);
+            spareEmployeeIds = new long[capacity];
+            spareSpecialities = new byte[capacity];
+            spareExperience = new int[capacity];
+        }
+        long[] newEmployeeIds = spareEmployeeIds;
+        byte[] newSpecialities = spareSpecialities;
+        int[] newExperience = spareExperience;
+        int[] cursor = Arrays.copyOf(counts, groups);
+        for (int group = 0; group < groups; group++) {
+            for (int row = groupStart[group]; row < groupStart[group + 1]; row++) {
+                int target = targets[row];
+                if (target == LEAVE) {
+                    continue;
+                }
+                int position = cursor[target]++;
+                newEmployeeIds[position] = employeeIds[row];
+                newSpecialities[position] = specialities[row];
+                newExperience[position] = target == group ? experience[row] : 0;
+            }
+        }
+        // hires go behind everyone who joined the project this tick
+        for (int group = 0; group < groups; group++) {
+            if (hires(hireSpecialities, group)) {
+                int position = cursor[group]++;
+                newEmployeeIds[position] = nextHireId--;
+                newSpecialities[position] = hireSpecialities[group];
+                newExperience[position] = 0;
+            }
+        }
+
+        spareEmployeeIds = employeeIds;
+        spareSpecialities = specialities;
+        spareExperience = experience;
+        employeeIds = newEmployeeIds;
+        specialities = newSpecialities;
+        experience = newExperience;
+        System.arraycopy(counts, 0, groupStart, 0, groups + 1);
+        employeeCount = employees;
+    }
+
+    private int groupOf(Long projectId) {
+        if (projectId == null) {
+            return projectIds.length;
+        }
+        int index = Arrays.binarySearch(projectIds, projectId);
+        return index < 0 ? -1 : index;
+    }
+
+    private static boolean hires(byte[] hireSpecialities, int group) {
+        return group < hireSpecialities.length && hireSpecialities[group] >= 0;
+    }
+
+    private static int capacityFor(int size) {
+        return Math.max(16, size + (size >> 1));
+    }
+
+}
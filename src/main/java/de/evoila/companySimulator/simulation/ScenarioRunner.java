@@ -0,0 +1,53 @@
+package de.evoila.companySimulator.simulation;
+
+import de.evoila.companySimulator.models.Distribution;
+import de.evoila.companySimulator.models.ScenarioResult;
+import de.evoila.companySimulator.models.StaffMove;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.IntStream;
+
+// Runs a scenario many times on copies of one base state. Run i is seeded from the scenario seed and i alone and its
+// samples land in slot i, so the result does not depend on which runs finished first.
+public class ScenarioRunner {
+
+    private final SimulationEngine engine;
+
+    public ScenarioRunner(SimulationEngine engine) {
+        this.engine = engine;
+    }
+
+    // the parallel stream runs in the fork/join pool of the calling thread, so this is meant to be called inside a pool
+    public ScenarioResult run(CompanyState base, List<StaffMove> moves, long seed, int runs, int ticks, AtomicInteger completedRuns) {
+        CompanyState changed = base.copy();
+        int moved = 0;
+        for (StaffMove move : moves) {
+            moved += changed.moveEmployees(move.getSpeciality(), move.getCount(), move.getFromProjectId(), move.getToProjectId());
+        }
+        double[] baselineOutput = new double[runs];
+        double[] scenarioOutput = new double[runs];
+        IntStream.range(0, runs).parallel().forEach(run -> {
+            long runSeed = SimulationEngine.seedFor(seed, run, -1);
+            baselineOutput[run] = outputOf(base.copy(), runSeed, ticks);
+            scenarioOutput[run] = outputOf(changed.copy(), runSeed, ticks);
+            completedRuns.incrementAndGet();
+        });
+
+        double[] delta = new double[runs];
+        int improved = 0;
+        for (int run = 0; run < runs; run++) {
+            delta[run] = scenarioOutput[run] - baselineOutput[run];
+            improved += delta[run] > 0 ? 1 : 0;
+        }
+        return new ScenarioResult(moved, Distribution.of(baselineOutput), Distribution.of(scenarioOutput), Distribution.of(delta),
+                (double) improved / runs);
+    }
+
+    private double outputOf(CompanyState state, long seed, int ticks) {
+        double before = state.totalOutput();
+        engine.step(state, seed, ticks);
+        return state.totalOutput() - before;
+    }
+
+}
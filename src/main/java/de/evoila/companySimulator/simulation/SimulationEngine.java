@@ -0,0 +1,146 @@
+package de.evoila.companySimulator.simulation;
+
+import java.util.SplittableRandom;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ForkJoinTask;
+import java.util.concurrent.RecursiveAction;
+
+// changes between projects are applied after the parallel part in project order, so a run only depends on its seed
+public class SimulationEngine {
+
+    // experience in ticks after which an employee reaches full productivity
+    static final int RAMP_UP_TICKS = 50;
+
+    private final SimulationSettings settings;
+
+    private final ForkJoinPool pool;
+
+    public SimulationEngine(SimulationSettings settings, ForkJoinPool pool) {
+        this.settings = settings;
+        this.pool = pool;
+    }
+
+    // returns the number of employee ticks simulated
+    public long step(CompanyState state, long seed, int ticks) {
+        long employeeTicks = 0;
+        for (int tick = 0; tick < ticks; tick++) {
+            employeeTicks += state.employeeCount;
+            advance(state, seed);
+        }
+        return employeeTicks;
+    }
+
+    private void advance(CompanyState state, long seed) {
+        int groups = state.groupCount();
+        state.prepareTargets();
+        double[] output = new double[groups];
+        byte[] hireSpecialities = new byte[groups];
+        TickTask task = new TickTask(state, seed, state.tick, 0, groups, output, hireSpecialities);
+        // runs that are already spread over a pool, like the scenario runs, keep their ticks on their own worker
+        if (ForkJoinTask.inForkJoinPool()) {
+            task.invoke();
+        } else {
+            pool.invoke(task);
+        }
+        state.regroup(hireSpecialities);
+
+        double tickOutput = 0;
+        for (double projectOutput : output) {
+            tickOutput += projectOutput;
+        }
+        state.lastTickOutput = tickOutput;
+        state.totalOutput += tickOutput;
+        state.tick++;
+    }
+
+    private void work(CompanyState state, long seed, long tick, int group, double[] output, byte[] hireSpecialities) {
+        SplittableRandom random = new SplittableRandom(seedFor(seed, tick, group));
+        int projects = state.projectCount();
+        boolean bench = group == projects;
+        int[] targets = state.targets;
+        byte[] specialities = state.specialities;
+        int[] experience = state.experience;
+        double leave = settings.getLeaveProbability();
+        double move = leave + (bench ? settings.getAssignProbability() : settings.getMoveProbability());
+        double projectOutput = 0;
+        for (int row = state.groupStart[group]; row < state.groupStart[group + 1]; row++) {
+            if (!bench) {
+                double productivity = experience[row] >= RAMP_UP_TICKS ? 1.0 : 0.5 + 0.5 * experience[row] / RAMP_UP_TICKS;
+                projectOutput += state.fit[group * CompanyState.SPECIALITIES + specialities[row]] * productivity;
+                experience[row]++;
+            }
+            double draw = random.nextDouble();
+            if (draw < leave) {
+                targets[row] = CompanyState.LEAVE;
+            } else if (draw < move && projects > 0) {
+                targets[row] = random.nextInt(projects);
+            } else {
+                targets[row] = group;
+            }
+        }
+        output[group] = projectOutput;
+        // a project hires the speciality it needs most
+        hireSpecialities[group] = -1;
+        if (!bench && random.nextDouble() < settings.getHireProbability()) {
+            int best = 0;
+            for (int speciality = 1; speciality < CompanyState.SPECIALITIES; speciality++) {
+                if (state.fit[group * CompanyState.SPECIALITIES + speciality] > state.fit[group * CompanyState.SPECIALITIES + best]) {
+                    best = speciality;
+                }
+            }
+            hireSpecialities[group] = (byte) best;
+        }
+    }
+
+    // SplitMix64 finalizer over seed, tick and group, so neighbouring ticks and projects get unrelated streams
+    static long seedFor(long seed, long tick, int group) {
+        long z = seed ^ (tick * 0x9E3779B97F4A7C15L) ^ ((group + 1L) * 0xC2B2AE3D27D4EB4FL);
+        z = (z ^ (z >>> 30)) * 0xBF58476D1CE4E5B9L;
+        z = (z ^ (z >>> 27)) * 0x94D049BB133111EBL;
+        return z ^ (z >>> 31);
+    }
+
+    // splits the projects in halves until a part holds few enough employees to run on one thread
+    private class TickTask extends RecursiveAction {
+
+        private final CompanyState state;
+
+        private final long seed;
+
+        private final long tick;
+
+        private final int fromGroup;
+
+        private final int toGroup;
+
+        private final double[] output;
+
+        private final byte[] hireSpecialities;
+
+        TickTask(CompanyState state, long seed, long tick, int fromGroup, int toGroup, double[] output, byte[] hireSpecialities) {
+            this.state = state;
+            this.seed = seed;
+            this.tick = tick;
+            this.fromGroup = fromGroup;
+            this.toGroup = toGroup;
+            this.output = output;
+            this.hireSpecialities = hireSpecialities;
+        }
+
+        @Override
+        protected void compute() {
+            int employees = state.groupStart[toGroup] - state.groupStart[fromGroup];
+            if (toGroup - fromGroup == 1 || employees <= settings.getSplitThreshold()) {
+                for (int group = fromGroup; group < toGroup; group++) {
+                    work(state, seed, tick, group, output, hireSpecialities);
+                }
+                return;
+            }
+            int middle = (fromGroup + toGroup) >>> 1;
+            invokeAll(new TickTask(state, seed, tick, fromGroup, middle, output, hireSpecialities),
+                    new TickTask(state, seed, tick, middle, toGroup, output, hireSpecialities));
+        }
+
+    }
+
+}
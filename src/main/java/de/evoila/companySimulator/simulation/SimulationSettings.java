@@ -0,0 +1,23 @@
+package de.evoila.companySimulator.simulation;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+
+// probabilities are per employee and tick, except hiring which is per project and tick
+@Data
+@AllArgsConstructor
+public class SimulationSettings {
+
+    private double leaveProbability;
+
+    private double moveProbability;
+
+    // chance of an unassigned employee to join a project
+    private double assignProbability;
+
+    private double hireProbability;
+
+    // employees below which a part of the projects is not split further across threads
+    private int splitThreshold;
+
+}
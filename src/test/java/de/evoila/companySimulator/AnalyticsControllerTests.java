@@ -0,0 +1,71 @@
+package de.evoila.companySimulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.evoila.companySimulator.controllers.AnalyticsController;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.EmployeeMatches;
+import de.evoila.companySimulator.models.StaffingReport;
+import de.evoila.companySimulator.services.AnalyticsService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.Map;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(AnalyticsController.class)
+class AnalyticsControllerTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    AnalyticsService analyticsService;
+
+    private final StaffingReport report = new StaffingReport(Map.of(1L, Map.of(Speciality.DEVOPS, 2L)), Map.of(Speciality.CLOUD, 1L), Map.of("Tosch", 1L));
+
+    @Test
+    public void getStaffingReportShouldReturnOkAndTheReport() throws Exception {
+        Mockito.doReturn(new ResponseEntity<>(report, HttpStatus.OK)).when(analyticsService).getStaffingReport();
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/analytics/staffing"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(report)));
+    }
+
+    @Test
+    public void getStaffingReportFromDatabaseShouldReturnOkAndTheReport() throws Exception {
+        Mockito.doReturn(new ResponseEntity<>(report, HttpStatus.OK)).when(analyticsService).getStaffingReportFromDatabase();
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/analytics/staffing/database"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(report)));
+    }
+
+    @Test
+    public void findEmployeesShouldPassTheFiltersAndReturnTheMatches() throws Exception {
+        EmployeeMatches matches = new EmployeeMatches(2, new long[]{1L, 4L});
+        Mockito.doReturn(new ResponseEntity<>(matches, HttpStatus.OK)).when(analyticsService).findEmployees(Speciality.SECURITY, "Tosch", null);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/analytics/employees")
+                        .param("speciality", "SECURITY")
+                        .param("companyName", "Tosch"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(matches)));
+    }
+
+}
@@ -0,0 +1,114 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.assignment.AssignmentSolver;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.AssignmentMove;
+import de.evoila.companySimulator.models.AssignmentProposal;
+import de.evoila.companySimulator.models.EmployeePlacement;
+import de.evoila.companySimulator.models.StaffingDemand;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class AssignmentSolverTests {
+
+    private final Map<Long, String> companyOf = Map.of(1L, "Tosch", 2L, "Tosch", 3L, "WagenDesVolkes");
+
+    @Test
+    public void solveShouldPreferTheUnassignedThenTheSameCompanyThenOtherCompanies() {
+        List<EmployeePlacement> employees = List.of(
+                new EmployeePlacement(1L, 1L, Speciality.DEVOPS),
+                new EmployeePlacement(2L, 1L, Speciality.DEVOPS),
+                new EmployeePlacement(3L, 3L, Speciality.DEVOPS),
+                new EmployeePlacement(4L, null, Speciality.DEVOPS));
+        List<StaffingDemand> demands = List.of(
+                new StaffingDemand(1L, Map.of(Speciality.DEVOPS, 1)),
+                new StaffingDemand(2L, Map.of(Speciality.DEVOPS, 3)),
+                new StaffingDemand(3L, Map.of()));
+
+        AssignmentProposal proposal = new AssignmentSolver(deadlineIn(10)).solve(employees, demands, companyOf);
+
+        assertEquals(List.of(new AssignmentMove(4L, Speciality.DEVOPS, null, 2L),
+                new AssignmentMove(2L, Speciality.DEVOPS, 1L, 2L),
+                new AssignmentMove(3L, Speciality.DEVOPS, 3L, 2L)), proposal.getMoves());
+        assertTrue(proposal.isComplete());
+        assertEquals(4, proposal.getRequiredSlots());
+        assertEquals(1, proposal.getCoveredBefore());
+        assertEquals(4, proposal.getCoveredAfter());
+    }
+
+    @Test
+    public void solveShouldTakeAnUnassignedEmployeeBeforeMovingASurplusOne() {
+        List<EmployeePlacement> employees = List.of(
+                new EmployeePlacement(1L, 1L, Speciality.DEVOPS),
+                new EmployeePlacement(2L, 1L, Speciality.DEVOPS),
+                new EmployeePlacement(3L, null, Speciality.DEVOPS));
+        List<StaffingDemand> demands = List.of(
+                new StaffingDemand(1L, Map.of(Speciality.DEVOPS, 1)),
+                new StaffingDemand(2L, Map.of(Speciality.DEVOPS, 1)));
+
+        AssignmentProposal proposal = new AssignmentSolver(deadlineIn(10)).solve(employees, demands, companyOf);
+
+        assertEquals(List.of(new AssignmentMove(3L, Speciality.DEVOPS, null, 2L)), proposal.getMoves());
+        assertEquals(2, proposal.getCoveredAfter());
+    }
+
+    @Test
+    public void solveShouldNotMoveEmployeesOfProjectsWithoutADemandOrOfAnotherSpeciality() {
+        List<EmployeePlacement> employees = List.of(
+                new EmployeePlacement(1L, 1L, Speciality.CLOUD),
+                new EmployeePlacement(2L, 3L, Speciality.DEVOPS));
+        List<StaffingDemand> demands = List.of(new StaffingDemand(2L, Map.of(Speciality.DEVOPS, 1)));
+
+        AssignmentProposal proposal = new AssignmentSolver(deadlineIn(10)).solve(employees, demands, companyOf);
+
+        assertEquals(List.of(), proposal.getMoves());
+        assertEquals(0, proposal.getCoveredAfter());
+    }
+
+    @Test
+    public void solveShouldReturnAnIncompleteProposalAfterTheDeadline() {
+        List<EmployeePlacement> employees = List.of(new EmployeePlacement(1L, null, Speciality.DEVOPS));
+        List<StaffingDemand> demands = List.of(new StaffingDemand(2L, Map.of(Speciality.DEVOPS, 1)));
+
+        AssignmentProposal proposal = new AssignmentSolver(System.nanoTime() - 1).solve(employees, demands, companyOf);
+
+        assertFalse(proposal.isComplete());
+        assertEquals(List.of(), proposal.getMoves());
+    }
+
+    @Test
+    public void solveShouldCoverHundredThousandEmployeesOnFiveThousandProjectsWithinTheDeadline() {
+        Speciality[] specialities = Speciality.values();
+        List<EmployeePlacement> employees = new ArrayList<>();
+        for (long id = 1; id <= 100_000; id++) {
+            // a tenth unassigned, the rest spread unevenly over the projects
+            Long projectId = id % 10 == 0 ? null : (id * 7) % 5000 + 1;
+            employees.add(new EmployeePlacement(id, projectId, specialities[(int) (id % specialities.length)]));
+        }
+        List<StaffingDemand> demands = new ArrayList<>();
+        Map<Long, String> companies = new HashMap<>();
+        for (long projectId = 1; projectId <= 5000; projectId++) {
+            demands.add(new StaffingDemand(projectId, Map.of(specialities[(int) (projectId % specialities.length)], 10)));
+            companies.put(projectId, "Company " + projectId % 50);
+        }
+
+        AssignmentProposal proposal = new AssignmentSolver(deadlineIn(10)).solve(employees, demands, companies);
+
+        assertTrue(proposal.isComplete());
+        assertEquals(50_000, proposal.getRequiredSlots());
+        assertEquals(proposal.getCoveredBefore() + proposal.getMoves().size(), proposal.getCoveredAfter());
+        assertEquals(50_000, proposal.getCoveredAfter());
+    }
+
+    private static long deadlineIn(long seconds) {
+        return System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+    }
+
+}
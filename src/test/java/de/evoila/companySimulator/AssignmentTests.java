@@ -0,0 +1,101 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.exceptions.AssignmentConflictException;
+import de.evoila.companySimulator.models.AssignmentMove;
+import de.evoila.companySimulator.models.AssignmentProposal;
+import de.evoila.companySimulator.models.AssignmentRequest;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.models.StaffingDemand;
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.services.AssignmentService;
+import de.evoila.companySimulator.services.EmployeeService;
+import de.evoila.companySimulator.services.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class AssignmentTests {
+
+    @Autowired
+    AssignmentService assignmentService;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Test
+    public void applyShouldWriteTheProposedMoves() {
+        String company = "Assign" + System.nanoTime();
+        Project from = (Project) projectService.createProject(new Project(company, "Surplus")).getBody();
+        Project to = (Project) projectService.createProject(new Project(company, "Missing")).getBody();
+        Employee first = newEmployee(from);
+        Employee second = newEmployee(from);
+
+        List<AssignmentMove> moves = movesFrom(from, to);
+        assertEquals(List.of(new AssignmentMove(first.getId(), Speciality.DEVOPS, from.getId(), to.getId()),
+                new AssignmentMove(second.getId(), Speciality.DEVOPS, from.getId(), to.getId())), moves);
+
+        assertEquals(HttpStatus.NO_CONTENT, assignmentService.apply(moves).getStatusCode());
+        for (Employee employee : List.of(first, second)) {
+            assertEquals(to.getId(), employeeRepository.findById(employee.getId()).orElseThrow().getProject().getId());
+        }
+    }
+
+    @Test
+    public void applyShouldRejectAStaleProposalAsAWhole() {
+        String company = "Assign" + System.nanoTime();
+        Project from = (Project) projectService.createProject(new Project(company, "Surplus")).getBody();
+        Project to = (Project) projectService.createProject(new Project(company, "Missing")).getBody();
+        Project elsewhere = (Project) projectService.createProject(new Project(company, "Elsewhere")).getBody();
+        Employee first = newEmployee(from);
+        Employee second = newEmployee(from);
+
+        List<AssignmentMove> moves = movesFrom(from, to);
+        employeeService.assignProject(second.getId(), elsewhere.getId());
+
+        assertThrows(AssignmentConflictException.class, () -> assignmentService.apply(moves));
+        assertEquals(from.getId(), employeeRepository.findById(first.getId()).orElseThrow().getProject().getId());
+        assertEquals(elsewhere.getId(), employeeRepository.findById(second.getId()).orElseThrow().getProject().getId());
+    }
+
+    @Test
+    public void applyShouldRejectAnEmployeeMovedTwice() {
+        List<AssignmentMove> moves = List.of(new AssignmentMove(1L, Speciality.DEVOPS, null, 1L), new AssignmentMove(1L, Speciality.DEVOPS, null, 2L));
+        assertEquals(HttpStatus.BAD_REQUEST, assignmentService.apply(moves).getStatusCode());
+    }
+
+    // the unassigned employees other tests left behind are taken first, the demand reaches past them into the surplus
+    private List<AssignmentMove> movesFrom(Project from, Project to) {
+        long unassigned = employeeRepository.findAllPlacements().stream()
+                .filter(placement -> placement.getProjectId() == null && placement.getSpeciality() == Speciality.DEVOPS)
+                .count();
+        AssignmentRequest request = new AssignmentRequest(List.of(new StaffingDemand(from.getId(), Map.of()),
+                new StaffingDemand(to.getId(), Map.of(Speciality.DEVOPS, (int) unassigned + 2))), null);
+        AssignmentProposal proposal = (AssignmentProposal) assignmentService.propose(request).getBody();
+        return proposal.getMoves().stream()
+                .filter(move -> from.getId().equals(move.getFromProjectId()))
+                .collect(Collectors.toList());
+    }
+
+    private Employee newEmployee(Project project) {
+        Employee employee = (Employee) employeeService.createEmployee(new Employee("Assign", "Potter", "assign@gmail.com", Speciality.DEVOPS)).getBody();
+        employeeService.assignProject(employee.getId(), project.getId());
+        return employee;
+    }
+
+}
@@ -0,0 +1,106 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.BatchItemStatus;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.BatchItemResult;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.repositories.ProjectRepository;
+import de.evoila.companySimulator.services.BatchService;
+import de.evoila.companySimulator.services.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class BatchServiceTests {
+
+    @Autowired
+    BatchService batchService;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createAllShouldReturnCreatedAndTheGeneratedIdsWhenEveryItemIsValid() {
+        ResponseEntity<?> response = batchService.createAll(List.of(new Project("Tosch", "Configuration"), new Project("Tosch", "Billing")), Project::getId);
+        List<BatchItemResult> results = (List<BatchItemResult>) response.getBody();
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(2, results.size());
+        results.forEach(result -> {
+            assertEquals(BatchItemStatus.CREATED, result.getStatus());
+            assertTrue(projectRepository.existsById(result.getId()));
+        });
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createAllShouldReportInvalidItemsAndStillCreateTheValidOnes() {
+        Project withId = new Project("Tosch", "Configuration");
+        withId.setId(42L);
+        List<Project> projects = List.of(new Project("Tosch", "Configuration"), new Project("Tosch", null), withId);
+
+        ResponseEntity<?> response = batchService.createAll(projects, Project::getId);
+        List<BatchItemResult> results = (List<BatchItemResult>) response.getBody();
+
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        assertEquals(BatchItemStatus.CREATED, results.get(0).getStatus());
+        assertEquals(new BatchItemResult(1, BatchItemStatus.INVALID, null, List.of("projectName: must not be null")), results.get(1));
+        assertEquals(new BatchItemResult(2, BatchItemStatus.INVALID, null, List.of("id: must be null")), results.get(2));
+    }
+
+    @Test
+    public void createAllShouldRejectBatchesAboveTheLimit() {
+        ResponseEntity<?> response = batchService.createAll(Collections.nCopies(10001, (Project) null), Project::getId);
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, response.getStatusCode());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createEmployeesShouldReferenceAnExistingProjectInsteadOfPersistingIt() {
+        Project project = projectRepository.save(new Project("WagenDesVolkes", "HomePage"));
+        Employee employee = new Employee("Harry", "Potter", "hp@gmail.com", Speciality.FRONTEND);
+        employee.setProject(new Project(null, null));
+        employee.getProject().setId(project.getId());
+
+        ResponseEntity<?> response = employeeService.createEmployees(List.of(employee));
+        List<BatchItemResult> results = (List<BatchItemResult>) response.getBody();
+
+        assertEquals(HttpStatus.CREATED, response.getStatusCode());
+        assertEquals(project, employeeRepository.findById(results.get(0).getId()).orElseThrow().getProject());
+    }
+
+    @Test
+    @SuppressWarnings("unchecked")
+    public void createEmployeesShouldFailTheWholeChunkWhenItCannotBeInserted() {
+        Employee valid = new Employee("Peter", "Parker", "pp@gmail.com", Speciality.BACKEND);
+        Employee unknownProject = new Employee("Mary", "Jane", "mj@gmail.com", Speciality.DEVOPS);
+        unknownProject.setProject(new Project("Tosch", "Configuration"));
+        unknownProject.getProject().setId(-1L);
+        long employeesBefore = employeeRepository.count();
+
+        ResponseEntity<?> response = employeeService.createEmployees(List.of(valid, unknownProject));
+        List<BatchItemResult> results = (List<BatchItemResult>) response.getBody();
+
+        assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+        results.forEach(result -> assertEquals(BatchItemStatus.FAILED, result.getStatus()));
+        assertEquals(employeesBefore, employeeRepository.count());
+    }
+
+}
@@ -0,0 +1,60 @@
+package de.evoila.companySimulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.evoila.companySimulator.caches.EntityCache;
+import de.evoila.companySimulator.caches.IdExistenceFilter;
+import de.evoila.companySimulator.controllers.CacheController;
+import de.evoila.companySimulator.models.CacheStatistics;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.IdFilterStatistics;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(CacheController.class)
+class CacheControllerTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    EntityCache<Employee> employeeCache;
+
+    @MockBean
+    IdExistenceFilter employeeIdFilter;
+
+    @Test
+    public void getCacheStatisticsShouldReturnOkAndTheStatisticsOfEveryCache() throws Exception {
+        CacheStatistics statistics = new CacheStatistics("employees", 3, 10, 5, 1, 10 / 15.0);
+        Mockito.when(employeeCache.statistics()).thenReturn(statistics);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/cache/stats"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(statistics))));
+    }
+
+    @Test
+    public void getIdFilterStatisticsShouldReturnOkAndTheStatisticsOfEveryFilter() throws Exception {
+        IdFilterStatistics statistics = new IdFilterStatistics("employees", true, 6, 42);
+        Mockito.when(employeeIdFilter.statistics()).thenReturn(statistics);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/cache/id-filters"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(statistics))));
+    }
+
+}
@@ -0,0 +1,137 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.ChangeType;
+import de.evoila.companySimulator.enums.EntityType;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.ChangeBatch;
+import de.evoila.companySimulator.models.ChangeEvent;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.services.EmployeeService;
+import de.evoila.companySimulator.services.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.web.server.LocalServerPort;
+import org.springframework.core.ParameterizedTypeReference;
+import org.springframework.http.codec.ServerSentEvent;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// a small log, so the tests can outrun it, and a short default async timeout, so a subscription has to outlive it
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT,
+        properties = {"company-simulator.changes.capacity=16", "spring.mvc.async.request-timeout=500ms"})
+class ChangeFeedTests {
+
+    @LocalServerPort
+    int port;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Test
+    public void pullShouldReturnTheWritesSinceTheSequence() {
+        long since = pull(0).getLastSequence();
+        Employee employee = newEmployee();
+        Project project = (Project) projectService.createProject(new Project("Changes" + System.nanoTime(), "Feed")).getBody();
+        employeeService.assignProject(employee.getId(), project.getId());
+        employeeService.deleteEmployee(employee.getId());
+
+        ChangeBatch batch = pull(since);
+        assertFalse(batch.isResync());
+        assertEquals(List.of(new ChangeEvent(since + 1, EntityType.EMPLOYEE, ChangeType.CREATED, employee.getId()),
+                new ChangeEvent(since + 2, EntityType.PROJECT, ChangeType.CREATED, project.getId()),
+                new ChangeEvent(since + 3, EntityType.EMPLOYEE, ChangeType.UPDATED, employee.getId()),
+                new ChangeEvent(since + 4, EntityType.EMPLOYEE, ChangeType.DELETED, employee.getId())), batch.getEvents());
+    }
+
+    @Test
+    public void pullShouldAskForAResyncBehindTheRetainedChanges() {
+        long since = pull(0).getLastSequence();
+        for (int change = 0; change < 20; change++) {
+            newEmployee();
+        }
+        ChangeBatch batch = pull(since);
+        assertTrue(batch.isResync());
+        assertEquals(since + 20, batch.getLastSequence());
+    }
+
+    @Test
+    public void streamShouldPushTheChangesAsTheyHappen() {
+        long since = pull(0).getLastSequence();
+        Flux<ServerSentEvent<ChangeEvent>> stream = stream("/changes/stream?since=" + since,
+                new ParameterizedTypeReference<>() {
+                });
+
+        StepVerifier.create(stream.take(2))
+                .then(this::newEmployee)
+                .then(this::newEmployee)
+                .assertNext(event -> {
+                    assertEquals("change", event.event());
+                    assertEquals(Long.toString(since + 1), event.id());
+                    assertEquals(ChangeType.CREATED, event.data().getType());
+                })
+                .assertNext(event -> assertEquals(Long.toString(since + 2), event.id()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void streamShouldOutliveTheDefaultAsyncTimeout() {
+        long since = pull(0).getLastSequence();
+        Flux<ServerSentEvent<ChangeEvent>> stream = stream("/changes/stream?since=" + since,
+                new ParameterizedTypeReference<>() {
+                });
+
+        StepVerifier.create(stream.take(1))
+                .thenAwait(Duration.ofMillis(1500))
+                .then(this::newEmployee)
+                .assertNext(event -> assertEquals(Long.toString(since + 1), event.id()))
+                .verifyComplete();
+    }
+
+    @Test
+    public void streamShouldSignalAResyncToAConsumerTooFarBehind() {
+        long since = pull(0).getLastSequence();
+        for (int change = 0; change < 20; change++) {
+            newEmployee();
+        }
+        // the resync event carries the sequence to continue from instead of a change
+        Flux<ServerSentEvent<Long>> stream = stream("/changes/stream?since=" + since,
+                new ParameterizedTypeReference<>() {
+                });
+
+        StepVerifier.create(stream.take(1))
+                .assertNext(event -> {
+                    assertEquals("resync", event.event());
+                    assertEquals(Long.toString(since + 20), event.id());
+                    assertEquals(since + 20, event.data());
+                })
+                .verifyComplete();
+    }
+
+    private ChangeBatch pull(long since) {
+        return WebClient.create("http://localhost:" + port).get().uri("/changes?since=" + since)
+                .retrieve().bodyToMono(ChangeBatch.class).block(Duration.ofSeconds(10));
+    }
+
+    private <T> Flux<ServerSentEvent<T>> stream(String uri, ParameterizedTypeReference<ServerSentEvent<T>> type) {
+        return WebClient.create("http://localhost:" + port).get().uri(uri)
+                .retrieve().bodyToFlux(type)
+                .timeout(Duration.ofSeconds(10));
+    }
+
+    private Employee newEmployee() {
+        return (Employee) employeeService.createEmployee(
+                new Employee("Change", "Feed", "changes" + System.nanoTime() + "@test.de", Speciality.FRONTEND)).getBody();
+    }
+
+}
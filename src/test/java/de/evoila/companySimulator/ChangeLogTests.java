@@ -0,0 +1,89 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.changes.ChangeLog;
+import de.evoila.companySimulator.enums.ChangeType;
+import de.evoila.companySimulator.enums.EntityType;
+import de.evoila.companySimulator.models.ChangeBatch;
+import de.evoila.companySimulator.models.ChangeEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ChangeLogTests {
+
+    private ChangeLog changeLog;
+
+    @BeforeEach
+    public void init() {
+        changeLog = new ChangeLog();
+        ReflectionTestUtils.setField(changeLog, "capacity", 4);
+        ReflectionTestUtils.invokeMethod(changeLog, "allocate");
+    }
+
+    @Test
+    public void sinceShouldReturnTheChangesInSequence() {
+        changeLog.record(EntityType.EMPLOYEE, ChangeType.CREATED, 10L);
+        changeLog.record(EntityType.PROJECT, ChangeType.UPDATED, 20L);
+        changeLog.record(EntityType.EMPLOYEE, ChangeType.DELETED, 10L);
+
+        ChangeBatch batch = changeLog.since(0, 100);
+        assertFalse(batch.isResync());
+        assertEquals(3, batch.getLastSequence());
+        assertEquals(List.of(new ChangeEvent(1, EntityType.EMPLOYEE, ChangeType.CREATED, 10L),
+                new ChangeEvent(2, EntityType.PROJECT, ChangeType.UPDATED, 20L),
+                new ChangeEvent(3, EntityType.EMPLOYEE, ChangeType.DELETED, 10L)), batch.getEvents());
+        assertEquals(List.of(3L), sequences(changeLog.since(2, 100)));
+        assertTrue(changeLog.since(3, 100).getEvents().isEmpty());
+    }
+
+    @Test
+    public void sinceShouldStopAtTheLimit() {
+        for (long id = 1; id <= 4; id++) {
+            changeLog.record(EntityType.EMPLOYEE, ChangeType.CREATED, id);
+        }
+        ChangeBatch batch = changeLog.since(1, 2);
+        assertEquals(List.of(2L, 3L), sequences(batch));
+        assertEquals(3, batch.getLastSequence());
+    }
+
+    @Test
+    public void sinceShouldAskForAResyncOnceTheChangesAreOverwritten() {
+        for (long id = 1; id <= 6; id++) {
+            changeLog.record(EntityType.EMPLOYEE, ChangeType.CREATED, id);
+        }
+        // changes 3 to 6 are retained
+        assertEquals(List.of(3L, 4L, 5L, 6L), sequences(changeLog.since(2, 100)));
+        ChangeBatch batch = changeLog.since(1, 100);
+        assertTrue(batch.isResync());
+        assertEquals(6, batch.getLastSequence());
+        assertTrue(batch.getEvents().isEmpty());
+    }
+
+    @Test
+    public void sinceShouldAskForAResyncForASequenceOfAnEarlierRun() {
+        changeLog.record(EntityType.EMPLOYEE, ChangeType.CREATED, 1L);
+        assertTrue(changeLog.since(100, 100).isResync());
+    }
+
+    @Test
+    public void recordShouldTellTheListeners() {
+        AtomicInteger calls = new AtomicInteger();
+        Runnable listener = calls::incrementAndGet;
+        changeLog.addListener(listener);
+        changeLog.record(EntityType.EMPLOYEE, ChangeType.CREATED, 1L);
+        changeLog.removeListener(listener);
+        changeLog.record(EntityType.EMPLOYEE, ChangeType.CREATED, 2L);
+        assertEquals(1, calls.get());
+    }
+
+    private static List<Long> sequences(ChangeBatch batch) {
+        return batch.getEvents().stream().map(ChangeEvent::getSequence).collect(Collectors.toList());
+    }
+
+}
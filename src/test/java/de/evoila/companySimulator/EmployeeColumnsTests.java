@@ -0,0 +1,112 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.analytics.EmployeeColumns;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.models.FootprintEstimate;
+import de.evoila.companySimulator.models.ProjectCompany;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EmployeeColumnsTests {
+
+    private EmployeeColumns columns;
+
+    @BeforeEach
+    public void init() {
+        columns = new EmployeeColumns();
+        ReflectionTestUtils.setField(columns, "parallelScanThreshold", 1000);
+        columns.rebuild(() -> Stream.of(
+                new EmployeeSummary(1L, "Harry", "Potter", "hp@gmail.com", Speciality.SECURITY, 10L, "HomePage"),
+                new EmployeeSummary(2L, "Peter", "Parker", "pp@gmail.com", Speciality.SECURITY, 20L, "Billing"),
+                new EmployeeSummary(4L, "Mary", "Jane", "mj@gmail.com", Speciality.DEVOPS, 10L, "HomePage"),
+                new EmployeeSummary(5L, "Tony", "Stark", "ts@gmail.com", Speciality.SECURITY, null, null)
+        ), () -> List.of(new ProjectCompany(10L, "WagenDesVolkes"), new ProjectCompany(20L, "Tosch")));
+    }
+
+    @Test
+    public void findShouldCombineTheSpecialityAndCompanyFilters() {
+        assertArrayEquals(new long[]{1L}, columns.find(Speciality.SECURITY, "WagenDesVolkes", null).getIds());
+        assertArrayEquals(new long[]{1L, 2L, 5L}, columns.find(Speciality.SECURITY, null, null).getIds());
+        assertArrayEquals(new long[]{4L}, columns.find(null, null, "Jane").getIds());
+        assertEquals(0, columns.find(null, "Unknown", null).getCount());
+    }
+
+    @Test
+    public void writesShouldBeVisibleToTheNextScan() {
+        columns.upsert(3L, "Bruce", "Wayne", Speciality.SECURITY, 20L);
+        columns.patch(2L, null, null, Speciality.CLOUD);
+        columns.moveToProject(List.of(5L), 10L);
+        columns.remove(1L);
+
+        assertArrayEquals(new long[]{3L}, columns.find(Speciality.SECURITY, "Tosch", null).getIds());
+        assertArrayEquals(new long[]{5L}, columns.find(Speciality.SECURITY, "WagenDesVolkes", null).getIds());
+        assertArrayEquals(new long[]{2L}, columns.find(Speciality.CLOUD, null, null).getIds());
+    }
+
+    @Test
+    public void aProjectMovedToAnotherCompanyShouldTakeItsEmployeesAlong() {
+        columns.projectSaved(20L, "WagenDesVolkes");
+        assertArrayEquals(new long[]{1L, 2L}, columns.find(Speciality.SECURITY, "WagenDesVolkes", null).getIds());
+    }
+
+    @Test
+    public void rebuildShouldKeepTheChangesMadeWhileTheSnapshotWasRead() {
+        columns.rebuild(() -> {
+            // committed after the snapshot was taken
+            columns.upsert(3L, "Bruce", "Wayne", Speciality.SECURITY, 20L);
+            columns.remove(1L);
+            return Stream.of(new EmployeeSummary(1L, "Harry", "Potter", "hp@gmail.com", Speciality.SECURITY, 20L, "Billing"));
+        }, () -> List.of(new ProjectCompany(20L, "Tosch")));
+
+        assertArrayEquals(new long[]{3L}, columns.find(Speciality.SECURITY, "Tosch", null).getIds());
+    }
+
+    @Test
+    public void compactionShouldDropTheNamesNoRowUsesAnymore() {
+        for (int rename = 0; rename < 100; rename++) {
+            columns.patch(2L, "Peter" + rename, null, null);
+        }
+        columns.remove(1L);
+        columns.remove(4L);
+
+        FootprintEstimate footprint = columns.footprint();
+        assertEquals(2, footprint.getRows());
+        // Peter's last first name, Parker, Tony and Stark
+        assertEquals(4, footprint.getDistinctNames());
+        assertArrayEquals(new long[]{2L}, columns.find(null, null, "Parker").getIds());
+        assertEquals(0, columns.find(null, null, "Potter").getCount());
+    }
+
+    @Test
+    public void theParallelScanShouldReturnTheSameIdsInOrder() {
+        columns.rebuild(() -> LongStream.rangeClosed(1, 5000).mapToObj(id ->
+                new EmployeeSummary(id, "Harry", "Potter", null, Speciality.values()[(int) (id % 5)], id % 3 == 0 ? null : id % 7, null)
+        ), () -> List.of(new ProjectCompany(1L, "Tosch"), new ProjectCompany(2L, "Tosch")));
+
+        long[] expected = LongStream.rangeClosed(1, 5000)
+                .filter(id -> id % 5 == Speciality.DEVOPS.ordinal() && id % 3 != 0 && (id % 7 == 1 || id % 7 == 2))
+                .toArray();
+        assertArrayEquals(expected, columns.find(Speciality.DEVOPS, "Tosch", null).getIds());
+    }
+
+    @Test
+    public void footprintShouldBeSmallerThanTheEntityListForRepeatedNames() {
+        columns.rebuild(() -> LongStream.rangeClosed(1, 5000).mapToObj(id ->
+                new EmployeeSummary(id, "Harry", "Potter", null, Speciality.BACKEND, null, null)
+        ), List::of);
+
+        FootprintEstimate footprint = columns.footprint();
+        assertEquals(5000, footprint.getRows());
+        assertEquals(2, footprint.getDistinctNames());
+        assertTrue(footprint.getColumnarBytes() * 3 < footprint.getEntityListBytes());
+    }
+
+}
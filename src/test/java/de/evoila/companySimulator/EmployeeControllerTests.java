@@ -4,23 +4,40 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import de.evoila.companySimulator.controllers.EmployeeController;
 import de.evoila.companySimulator.enums.Speciality;
 import de.evoila.companySimulator.exceptions.EmployeeNotFoundException;
+import de.evoila.companySimulator.enums.BatchItemStatus;
+import de.evoila.companySimulator.enums.IngestionTicketStatus;
+import de.evoila.companySimulator.exceptions.VersionConflictException;
+import de.evoila.companySimulator.models.BatchItemResult;
+import de.evoila.companySimulator.models.CursorPage;
 import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.EmployeePatch;
+import de.evoila.companySimulator.models.EmployeeSearch;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.models.IngestionTicket;
+import de.evoila.companySimulator.models.ReassignmentResult;
 import de.evoila.companySimulator.services.EmployeeService;
+import de.evoila.companySimulator.services.IngestionService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(EmployeeController.class)
@@ -35,43 +52,113 @@ class EmployeeControllerTests {
     @MockBean
     EmployeeService employeeService;
 
+    @MockBean
+    IngestionService ingestionService;
+
     private List<Employee> employeeList;
     private Employee emp1;
     private Employee emp2;
 
     @BeforeEach
     public void init() {
+        Mockito.doReturn("\"a-1\"").when(employeeService).getEmployeesETag();
         emp1 = new Employee("Harry", "Potter", "hp@gmail.com", Speciality.FRONTEND);
         emp2 = new Employee("Peter", "Parker", "pp@gmail.com", Speciality.BACKEND);
         employeeList = List.of(emp1, emp2);
     }
 
     @Test
-    public void getAllEmployeesShouldReturnFoundAndListOfEmployees() throws Exception {
-        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(employeeList, HttpStatus.FOUND);
+    public void getAllEmployeesShouldReturnOkAndListOfEmployees() throws Exception {
+        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(employeeList, HttpStatus.OK);
         Mockito.doReturn(responseEntityAnswer).when(employeeService).getAllEmployees();
 
         this.mockMvc.perform(MockMvcRequestBuilders
-                        .get("/employee/all"))
-                .andExpect(status().isFound())
+                        .get("/employee/all")
+                        .param("unpaged", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"a-1\""))
                 .andExpect(content().json(objectMapper.writeValueAsString(employeeList)));
     }
 
     @Test
-    public void findEmployeeByIdShouldReturnFoundAndTheCorrespondentEmployee() throws Exception {
-        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(emp1, HttpStatus.FOUND);
+    public void getAllEmployeesShouldReturnNotModifiedWhenTheCollectionIsUnchanged() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/employee/all")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"a-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Mockito.verify(employeeService, Mockito.never()).getEmployeesPage(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void getAllEmployeesShouldReturnOkAndAPageWhenNotUnpaged() throws Exception {
+        CursorPage<EmployeeSummary> page = new CursorPage<>(List.of(new EmployeeSummary(1L, "Harry", "Potter", "hp@gmail.com", Speciality.FRONTEND, 1L, "HomePage")), 1L);
+        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(page, HttpStatus.OK);
+        Mockito.doReturn(responseEntityAnswer).when(employeeService).getEmployeesPage(null, 2);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/employee/all")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(page)));
+    }
+
+    @Test
+    public void exportEmployeesShouldStreamNdjson() throws Exception {
+        StreamingResponseBody body = outputStream -> outputStream.write((objectMapper.writeValueAsString(emp1) + "\n").getBytes());
+        Mockito.doReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body)).when(employeeService).exportEmployees();
+
+        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/employee/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(emp1) + "\n"));
+    }
+
+    @Test
+    public void findEmployeesByIdsShouldReturnOkAndTheFoundEmployees() throws Exception {
+        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(List.of(emp1, emp2), HttpStatus.OK);
+        Mockito.doReturn(responseEntityAnswer).when(employeeService).findEmployeesByIds(List.of(1L, 2L, 3L));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/employee/find")
+                        .param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(emp1, emp2))));
+    }
+
+    @Test
+    public void findEmployeeByIdShouldReturnOkAndTheCorrespondentEmployee() throws Exception {
+        ResponseEntity<?> responseEntityAnswer = ResponseEntity.ok().eTag("1-0").body(emp1);
         Mockito.doReturn(responseEntityAnswer).when(employeeService).findEmployeeById(1L);
 
         this.mockMvc.perform(MockMvcRequestBuilders
                         .get("/employee/find/1"))
-                .andExpect(status().isFound())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0\""))
                 .andExpect(content().json(objectMapper.writeValueAsString(emp1)));
     }
 
+    @Test
+    public void findEmployeeByIdShouldReturnNotModifiedWhenTheETagMatches() throws Exception {
+        Mockito.doReturn(ResponseEntity.ok().eTag("1-0").body(emp1)).when(employeeService).findEmployeeById(1L);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/employee/find/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     public void createEmployeeShouldReturnCreatedAndTheCreatedEmployee() throws Exception {
         ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(emp2, HttpStatus.CREATED);
-        Mockito.doReturn(responseEntityAnswer).when(employeeService).createEmployee(emp2);
+        Mockito.doReturn(responseEntityAnswer).when(employeeService).createEmployee(emp2, null);
 
         this.mockMvc.perform(MockMvcRequestBuilders
                         .post("/employee/new")
@@ -81,10 +168,24 @@ class EmployeeControllerTests {
                 .andExpect(content().json(objectMapper.writeValueAsString(emp2)));
     }
 
+    @Test
+    public void createEmployeeShouldPassTheIdempotencyKey() throws Exception {
+        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(emp2, HttpStatus.CREATED);
+        Mockito.doReturn(responseEntityAnswer).when(employeeService).createEmployee(emp2, "retry-1");
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post("/employee/new")
+                        .header("Idempotency-Key", "retry-1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(emp2)))
+                .andExpect(status().isCreated())
+                .andExpect(content().json(objectMapper.writeValueAsString(emp2)));
+    }
+
     @Test
     public void createEmployeeShouldReturnBadRequestWhenTheDataIsInvalid() throws Exception {
         ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(emp2, HttpStatus.CREATED);
-        Mockito.doReturn(responseEntityAnswer).when(employeeService).createEmployee(emp2);
+        Mockito.doReturn(responseEntityAnswer).when(employeeService).createEmployee(emp2, null);
 
         emp2.setEmail("abcabcabc");
 
@@ -95,6 +196,20 @@ class EmployeeControllerTests {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void createEmployeesShouldReturnThePerItemResults() throws Exception {
+        List<BatchItemResult> results = List.of(new BatchItemResult(0, BatchItemStatus.CREATED, 1L, List.of()), new BatchItemResult(1, BatchItemStatus.CREATED, 2L, List.of()));
+        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(results, HttpStatus.CREATED);
+        Mockito.doReturn(responseEntityAnswer).when(employeeService).createEmployees(employeeList);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post("/employee/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(employeeList)))
+                .andExpect(status().isCreated())
+                .andExpect(content().json(objectMapper.writeValueAsString(results)));
+    }
+
     @Test
     public void deleteEmployeeShouldReturnOk() throws Exception {
         ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(HttpStatus.OK);
@@ -140,6 +255,21 @@ class EmployeeControllerTests {
                 .andExpect(content().string("Employee with id: " + "5" + " could not be found!"));
     }
 
+    @Test
+    public void updateEmployeeShouldQueueTheUpdateWhenAsyncIsPreferred() throws Exception {
+        IngestionTicket ticket = new IngestionTicket("ticket", 1L, IngestionTicketStatus.QUEUED, null);
+        Mockito.doReturn(new ResponseEntity<>(ticket, HttpStatus.ACCEPTED)).when(ingestionService).enqueueUpdate(emp1, 1L);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .put("/employee/update/1")
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(emp1)))
+                .andExpect(status().isAccepted())
+                .andExpect(content().json(objectMapper.writeValueAsString(ticket)));
+        Mockito.verify(employeeService, Mockito.never()).updateEmployee(emp1, 1L);
+    }
+
     @Test
     public void updateEmployeeShouldReturnBadRequestWhenTheDataIsInvalid() throws Exception {
         ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(emp2, HttpStatus.OK);
@@ -154,4 +284,75 @@ class EmployeeControllerTests {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void patchEmployeeShouldReturnNoContent() throws Exception {
+        EmployeePatch patch = new EmployeePatch(3L, "Harry", null, null, null);
+        Mockito.doReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT)).when(employeeService).patchEmployee(patch, 1L);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .patch("/employee/update/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void patchEmployeeShouldReturnConflictWhenTheVersionIsOutdated() throws Exception {
+        EmployeePatch patch = new EmployeePatch(3L, "Harry", null, null, null);
+        Mockito.doThrow(new VersionConflictException("Employee", 1L, 3L)).when(employeeService).patchEmployee(patch, 1L);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .patch("/employee/update/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Employee with id: 1 is no longer at version 3!"));
+    }
+
+    @Test
+    public void patchEmployeeShouldReturnBadRequestWithoutAVersion() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .patch("/employee/update/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new EmployeePatch(null, "Harry", null, null, null))))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void assignProjectShouldReturnNoContent() throws Exception {
+        Mockito.doReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT)).when(employeeService).assignProject(1L, 2L);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .put("/employee/1/project/2"))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void assignProjectShouldReturnTheReassignedCountForManyEmployees() throws Exception {
+        ReassignmentResult result = new ReassignmentResult(2L, 3, 3);
+        Mockito.doReturn(new ResponseEntity<>(result, HttpStatus.OK)).when(employeeService).assignProject(List.of(1L, 3L, 4L), 2L);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .put("/employee/project/2")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("[1, 3, 4]"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(result)));
+    }
+
+    @Test
+    public void searchEmployeesShouldBindTheFiltersAndReturnOk() throws Exception {
+        CursorPage<EmployeeSummary> page = new CursorPage<>(List.of(new EmployeeSummary(3L, "Mary", "Jane", "mj@gmail.com", Speciality.DEVOPS, 1L, "HomePage")), null);
+        EmployeeSearch search = new EmployeeSearch(Speciality.DEVOPS, 1L, "Ja", null);
+        Mockito.doReturn(new ResponseEntity<>(page, HttpStatus.OK)).when(employeeService).searchEmployees(search, null, null);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/employee/search")
+                        .param("speciality", "DEVOPS")
+                        .param("projectId", "1")
+                        .param("lastName", "Ja"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(page)));
+    }
+
 }
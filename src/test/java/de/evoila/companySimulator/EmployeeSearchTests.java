@@ -0,0 +1,69 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.EmployeeSearch;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class EmployeeSearchTests {
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    private Employee weasley;
+    private Employee weasleyOnProject;
+    private Employee wood;
+
+    @BeforeEach
+    public void init() {
+        employeeRepository.deleteAll(employeeRepository.findAll().stream()
+                .filter(employee -> employee.getLastName().startsWith("Search_"))
+                .collect(Collectors.toList()));
+        weasley = employeeRepository.save(new Employee("Ron", "Search_Weasley", "search.rw@gmail.com", Speciality.DEVOPS));
+        weasleyOnProject = new Employee("Ginny", "Search_Weasley", "search.gw@gmail.com", Speciality.DEVOPS);
+        weasleyOnProject.setProject(new Project("Tosch", "Configuration"));
+        weasleyOnProject = employeeRepository.save(weasleyOnProject);
+        wood = employeeRepository.save(new Employee("Oliver", "Search%Wood", "search.ow@gmail.com", Speciality.BACKEND));
+    }
+
+    @Test
+    public void searchSummariesShouldCombineAllGivenFilters() {
+        EmployeeSearch search = new EmployeeSearch(Speciality.DEVOPS, weasleyOnProject.getProject().getId(), "Search_", null);
+        assertEquals(List.of(weasleyOnProject.getId()), ids(employeeRepository.searchSummaries(search, 0L, 10)));
+    }
+
+    @Test
+    public void searchSummariesShouldMatchTheLastNameAsALiteralPrefix() {
+        assertEquals(List.of(wood.getId()), ids(employeeRepository.searchSummaries(new EmployeeSearch(null, null, "Search%", null), 0L, 10)));
+    }
+
+    @Test
+    public void searchSummariesShouldMatchTheEmailExactly() {
+        List<EmployeeSummary> rows = employeeRepository.searchSummaries(new EmployeeSearch(null, null, null, "search.rw@gmail.com"), 0L, 10);
+        assertEquals(List.of(new EmployeeSummary(weasley.getId(), "Ron", "Search_Weasley", "search.rw@gmail.com", Speciality.DEVOPS, null, null)), rows);
+    }
+
+    @Test
+    public void searchSummariesShouldContinueAfterTheCursor() {
+        EmployeeSearch search = new EmployeeSearch(null, null, "Search_", null);
+        assertEquals(List.of(weasley.getId()), ids(employeeRepository.searchSummaries(search, 0L, 1)));
+        assertEquals(List.of(weasleyOnProject.getId()), ids(employeeRepository.searchSummaries(search, weasley.getId(), 10)));
+    }
+
+    private List<Long> ids(List<EmployeeSummary> rows) {
+        return rows.stream().map(EmployeeSummary::getId).collect(Collectors.toList());
+    }
+
+}
@@ -1,21 +1,42 @@
 package de.evoila.companySimulator;
 
+import de.evoila.companySimulator.caches.ETags;
+import de.evoila.companySimulator.caches.EntityCache;
+import de.evoila.companySimulator.caches.IdExistenceFilter;
 import de.evoila.companySimulator.enums.Speciality;
 import de.evoila.companySimulator.exceptions.EmployeeNotFoundException;
+import de.evoila.companySimulator.exceptions.VersionConflictException;
+import de.evoila.companySimulator.models.CursorPage;
 import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.EmployeePatch;
+import de.evoila.companySimulator.models.EmployeePlacement;
+import de.evoila.companySimulator.models.EmployeeSearch;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.models.ReassignmentResult;
 import de.evoila.companySimulator.repositories.EmployeeRepository;
 import de.evoila.companySimulator.services.EmployeeService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -28,10 +49,26 @@ class EmployeeServiceTests {
     @Autowired
     EmployeeService employeeService;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityCache<Employee> employeeCache;
+
+    @Autowired
+    IdExistenceFilter employeeIdFilter;
+
+    @Autowired
+    IdExistenceFilter projectIdFilter;
+
     private List<Employee> employeeList;
     private Employee emp1;
     private Employee emp2;
     private Employee emp3;
+    private List<EmployeeSummary> summaryList;
+    private EmployeeSummary sum1;
+    private EmployeeSummary sum2;
+    private EmployeeSummary sum3;
 
     @BeforeEach
     public void init() {
@@ -39,36 +76,73 @@ class EmployeeServiceTests {
         emp2 = new Employee("Peter", "Parker", "pp@gmail.com", Speciality.BACKEND);
         emp3 = new Employee("Mary", "Jane", "mj@gmail.com", Speciality.DEVOPS);
         employeeList = List.of(emp1, emp2, emp3);
+        sum1 = new EmployeeSummary(1L, "Harry", "Potter", "hp@gmail.com", Speciality.FRONTEND, 1L, "HomePage");
+        sum2 = new EmployeeSummary(2L, "Peter", "Parker", "pp@gmail.com", Speciality.BACKEND, null, null);
+        sum3 = new EmployeeSummary(3L, "Mary", "Jane", "mj@gmail.com", Speciality.DEVOPS, 1L, "HomePage");
+        summaryList = List.of(sum1, sum2, sum3);
+        employeeCache.invalidateAll();
+        employeeIdFilter.reset();
+        projectIdFilter.reset();
     }
 
     @Test
-    public void getAllEmployeesShouldReturnFoundAndListOfEmployees() {
-        Mockito.when(employeeRepository.findAll()).thenReturn(employeeList);
-        assertEquals(new ResponseEntity<>(employeeList, HttpStatus.FOUND), employeeService.getAllEmployees());
+    public void getAllEmployeesShouldReturnOkAndListOfEmployees() {
+        Mockito.when(employeeRepository.findAllSummaries()).thenReturn(summaryList);
+        assertEquals(new ResponseEntity<>(summaryList, HttpStatus.OK), employeeService.getAllEmployees());
     }
 
     @Test
-    public void getAllEmployeesShouldReturnFound() {
-        Mockito.when(employeeRepository.findAll()).thenReturn(employeeList);
-        assertNotEquals(new ResponseEntity<>(employeeList, HttpStatus.OK), employeeService.getAllEmployees());
+    public void getAllEmployeesShouldReturnOk() {
+        Mockito.when(employeeRepository.findAllSummaries()).thenReturn(summaryList);
+        assertNotEquals(new ResponseEntity<>(summaryList, HttpStatus.FOUND), employeeService.getAllEmployees());
     }
 
     @Test
     public void getAllEmployeesShouldReturnAllSavedEmployees() {
-        Mockito.when(employeeRepository.findAll()).thenReturn(employeeList);
-        assertNotEquals(new ResponseEntity<>(emp3, HttpStatus.FOUND), employeeService.getAllEmployees());
+        Mockito.when(employeeRepository.findAllSummaries()).thenReturn(summaryList);
+        assertNotEquals(new ResponseEntity<>(sum3, HttpStatus.FOUND), employeeService.getAllEmployees());
+    }
+
+    @Test
+    public void getEmployeesPageShouldReturnOkAndTheNextCursorWhenMoreRowsExist() {
+        Mockito.when(employeeRepository.findSummariesAfter(0L, PageRequest.of(0, 3))).thenReturn(summaryList);
+        assertEquals(new ResponseEntity<>(new CursorPage<>(List.of(sum1, sum2), 2L), HttpStatus.OK), employeeService.getEmployeesPage(null, 2));
+    }
+
+    @Test
+    public void getEmployeesPageShouldReturnNoCursorOnTheLastPage() {
+        Mockito.when(employeeRepository.findSummariesAfter(0L, PageRequest.of(0, 11))).thenReturn(summaryList);
+        assertEquals(new ResponseEntity<>(new CursorPage<>(summaryList, null), HttpStatus.OK), employeeService.getEmployeesPage(0L, 10));
+    }
+
+    @Test
+    public void getEmployeesPageShouldCapThePageSize() {
+        employeeService.getEmployeesPage(5L, 100000);
+        Mockito.verify(employeeRepository).findSummariesAfter(5L, PageRequest.of(0, 501));
     }
 
     @Test
-    public void findEmployeeByIdShouldReturnFoundAndAnEmployee() {
+    public void exportEmployeesShouldStreamOneJsonDocumentPerLine() throws Exception {
+        Mockito.when(employeeRepository.streamAll()).thenReturn(Stream.of(emp1, emp2));
+        ResponseEntity<StreamingResponseBody> response = employeeService.exportEmployees();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(objectMapper.writeValueAsString(emp1) + "\n" + objectMapper.writeValueAsString(emp2) + "\n", outputStream.toString());
+    }
+
+    @Test
+    public void findEmployeeByIdShouldReturnOkAndAnEmployee() {
         Mockito.when(employeeRepository.findById(1L)).thenReturn(Optional.ofNullable(emp1));
-        assertEquals(new ResponseEntity<>(emp1, HttpStatus.FOUND), employeeService.findEmployeeById(1L));
+        assertEquals(ResponseEntity.ok().eTag(ETags.of(emp1)).body(emp1), employeeService.findEmployeeById(1L));
     }
 
     @Test
-    public void findEmployeeByIdShouldReturnFound() {
+    public void findEmployeeByIdShouldReturnOk() {
         Mockito.when(employeeRepository.findById(1L)).thenReturn(Optional.ofNullable(emp1));
-        assertNotEquals(new ResponseEntity<>(emp1, HttpStatus.OK), employeeService.getAllEmployees());
+        assertNotEquals(new ResponseEntity<>(emp1, HttpStatus.FOUND), employeeService.findEmployeeById(1L));
     }
 
     @Test
@@ -77,6 +151,43 @@ class EmployeeServiceTests {
         assertNotEquals(new ResponseEntity<>(emp2, HttpStatus.FOUND), employeeService.getAllEmployees());
     }
 
+    @Test
+    public void findEmployeeByIdShouldServeRepeatedLookupsFromTheCache() {
+        Mockito.when(employeeRepository.findById(1L)).thenReturn(Optional.ofNullable(emp1));
+        employeeService.findEmployeeById(1L);
+        assertEquals(ResponseEntity.ok().eTag(ETags.of(emp1)).body(emp1), employeeService.findEmployeeById(1L));
+        Mockito.verify(employeeRepository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    public void findEmployeeByIdShouldNotCacheMissingEmployees() {
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.findEmployeeById(5L));
+        assertThrows(EmployeeNotFoundException.class, () -> employeeService.findEmployeeById(5L));
+        Mockito.verify(employeeRepository, Mockito.times(2)).findById(5L);
+    }
+
+    @Test
+    public void findEmployeeByIdShouldNotQueryTheDatabaseForIdsTheFilterRejects() {
+        employeeIdFilter.rebuild(LongStream.of(1L));
+        Throwable exception = assertThrows(EmployeeNotFoundException.class, () -> employeeService.findEmployeeById(7L));
+        assertEquals("Employee with id: 7 could not be found!", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        Mockito.verify(employeeRepository, Mockito.never()).findById(7L);
+    }
+
+    @Test
+    public void createEmployeeShouldMakeTheNewIdKnownToTheFilter() {
+        employeeIdFilter.rebuild(LongStream.empty());
+        emp1.setId(9L);
+        Mockito.when(employeeRepository.save(emp1)).thenReturn(emp1);
+        Mockito.when(employeeRepository.findById(9L)).thenReturn(Optional.ofNullable(emp1));
+
+        employeeService.createEmployee(emp1);
+
+        assertTrue(employeeIdFilter.mightExist(9L));
+        assertEquals(emp1, employeeService.findEmployeeById(9L).getBody());
+    }
+
     @Test
     public void createEmployeeShouldReturnOkAndTheCreatedEmployee() {
         Mockito.when(employeeRepository.save(emp1)).thenReturn(emp1);
@@ -97,49 +208,122 @@ class EmployeeServiceTests {
 
     @Test
     public void deleteEmployeeShouldReturnOk() {
-        Mockito.when(employeeRepository.findById(1L)).thenReturn(Optional.ofNullable(emp1));
+        Mockito.when(employeeRepository.findPlacementsForUpdate(List.of(1L))).thenReturn(List.of(new EmployeePlacement(1L, null, Speciality.FRONTEND)));
         assertEquals(new ResponseEntity<>(HttpStatus.OK), employeeService.deleteEmployee(1L));
     }
 
+    @Test
+    public void deleteEmployeeShouldChangeTheCollectionETag() {
+        Mockito.when(employeeRepository.findPlacementsForUpdate(List.of(1L))).thenReturn(List.of(new EmployeePlacement(1L, null, Speciality.FRONTEND)));
+        String eTag = employeeService.getEmployeesETag();
+        employeeService.deleteEmployee(1L);
+        assertNotEquals(eTag, employeeService.getEmployeesETag());
+    }
+
     @Test
     public void deleteEmployeeShouldNotReturnFoundOrOtherHttpStatus() {
-        Mockito.when(employeeRepository.findById(1L)).thenReturn(Optional.ofNullable(emp1));
+        Mockito.when(employeeRepository.findPlacementsForUpdate(List.of(1L))).thenReturn(List.of(new EmployeePlacement(1L, null, Speciality.FRONTEND)));
         assertNotEquals(new ResponseEntity<>(emp1, HttpStatus.FOUND), employeeService.deleteEmployee(1L));
     }
 
     @Test
     public void deleteEmployeeThrowAnExceptionWhenTheGivenIdNotCorrespondToAnyEmployee() {
-        Mockito.when(employeeRepository.findById(5L)).thenThrow(new EmployeeNotFoundException(5L));
         Throwable exception = assertThrows(RuntimeException.class, () -> employeeService.deleteEmployee(5L));
         assertEquals("Employee with id: 5 could not be found!", exception.getMessage());
     }
 
     @Test
     public void updateEmployeeShouldReturnOkAndTheUpdatedEmployee() {
-        Mockito.when(employeeRepository.findById(1L)).thenReturn(Optional.ofNullable(emp1));
-        Mockito.when(employeeRepository.save(emp1)).thenReturn(emp1);
+        emp1.setId(1L);
+        Mockito.when(employeeRepository.findAllForUpdate(Set.of(1L))).thenReturn(List.of(emp1));
         assertEquals(new ResponseEntity<>(emp1, HttpStatus.OK), employeeService.updateEmployee(emp1, 1L));
     }
 
     @Test
     public void updateEmployeeShouldReturnOk() {
-        Mockito.when(employeeRepository.findById(1L)).thenReturn(Optional.ofNullable(emp1));
-        Mockito.when(employeeRepository.save(emp1)).thenReturn(emp1);
+        emp1.setId(1L);
+        Mockito.when(employeeRepository.findAllForUpdate(Set.of(1L))).thenReturn(List.of(emp1));
         assertNotEquals(new ResponseEntity<>(emp1, HttpStatus.CREATED), employeeService.updateEmployee(emp1, 1L));
     }
 
     @Test
     public void updateEmployeeShoudlReturnTheUpdatedEmployee() {
-        Mockito.when(employeeRepository.findById(1L)).thenReturn(Optional.ofNullable(emp1));
-        Mockito.when(employeeRepository.save(emp1)).thenReturn(emp1);
+        emp1.setId(1L);
+        Mockito.when(employeeRepository.findAllForUpdate(Set.of(1L))).thenReturn(List.of(emp1));
         assertNotEquals(new ResponseEntity<>(emp2, HttpStatus.OK), employeeService.updateEmployee(emp1, 1L));
     }
 
+    @Test
+    public void updateEmployeeShouldInvalidateTheCachedEmployee() {
+        emp1.setId(1L);
+        Mockito.when(employeeRepository.findById(1L)).thenReturn(Optional.ofNullable(emp1));
+        Mockito.when(employeeRepository.findAllForUpdate(Set.of(1L))).thenReturn(List.of(emp1));
+        employeeService.findEmployeeById(1L);
+        employeeService.updateEmployee(emp2, 1L);
+        assertNull(employeeCache.getIfPresent(1L));
+    }
+
     @Test
     public void updateEmployeeThrowAnExceptionWhenTheGivenIdNotCorrespondToAnyEmployee() {
-        Mockito.when(employeeRepository.findById(5L)).thenThrow(new EmployeeNotFoundException(5L));
+        Mockito.when(employeeRepository.findAllForUpdate(Set.of(5L))).thenReturn(List.of());
         Throwable exception = assertThrows(RuntimeException.class, () -> employeeService.updateEmployee(emp1, 5L));
         assertEquals("Employee with id: 5 could not be found!", exception.getMessage());
     }
 
+    @Test
+    public void patchEmployeeShouldUpdateOnlyTheGivenColumnsAndReturnNoContent() {
+        Mockito.when(employeeRepository.updateIfVersionMatches(1L, 3L, Map.of("firstName", "Harry"))).thenReturn(1);
+        assertEquals(new ResponseEntity<>(HttpStatus.NO_CONTENT), employeeService.patchEmployee(new EmployeePatch(3L, "Harry", null, null, null), 1L));
+        Mockito.verify(employeeRepository, Mockito.never()).findById(1L);
+    }
+
+    @Test
+    public void patchEmployeeShouldThrowAVersionConflictWhenTheRowChangedMeanwhile() {
+        Mockito.when(employeeRepository.updateIfVersionMatches(1L, 3L, Map.of("firstName", "Harry"))).thenReturn(0);
+        Mockito.when(employeeRepository.existsById(1L)).thenReturn(true);
+        Throwable exception = assertThrows(VersionConflictException.class, () -> employeeService.patchEmployee(new EmployeePatch(3L, "Harry", null, null, null), 1L));
+        assertEquals("Employee with id: 1 is no longer at version 3!", exception.getMessage());
+    }
+
+    @Test
+    public void patchEmployeeThrowAnExceptionWhenTheGivenIdNotCorrespondToAnyEmployee() {
+        Mockito.when(employeeRepository.updateIfVersionMatches(5L, 3L, Map.of("firstName", "Harry"))).thenReturn(0);
+        Throwable exception = assertThrows(EmployeeNotFoundException.class, () -> employeeService.patchEmployee(new EmployeePatch(3L, "Harry", null, null, null), 5L));
+        assertEquals("Employee with id: 5 could not be found!", exception.getMessage());
+    }
+
+    @Test
+    public void assignProjectShouldReassignTheEmployeeWithOneUpdateAndReturnNoContent() {
+        Mockito.when(employeeRepository.assignProject(Mockito.eq(List.of(1L)), Mockito.any(Project.class))).thenReturn(1);
+        assertEquals(new ResponseEntity<>(HttpStatus.NO_CONTENT), employeeService.assignProject(1L, 2L));
+        Mockito.verify(employeeRepository, Mockito.never()).findById(1L);
+    }
+
+    @Test
+    public void assignProjectThrowAnExceptionWhenTheGivenIdNotCorrespondToAnyEmployee() {
+        Throwable exception = assertThrows(EmployeeNotFoundException.class, () -> employeeService.assignProject(5L, 2L));
+        assertEquals("Employee with id: 5 could not be found!", exception.getMessage());
+    }
+
+    @Test
+    public void assignProjectShouldSkipIdsTheFilterRejects() {
+        employeeIdFilter.rebuild(LongStream.of(1L, 2L));
+        Mockito.when(employeeRepository.assignProject(Mockito.eq(List.of(1L, 2L)), Mockito.any(Project.class))).thenReturn(2);
+        assertEquals(new ResponseEntity<>(new ReassignmentResult(3L, 4, 2), HttpStatus.OK), employeeService.assignProject(List.of(1L, 2L, 2L, 9L), 3L));
+    }
+
+    @Test
+    public void assignProjectShouldRejectTooManyIds() {
+        List<Long> ids = LongStream.rangeClosed(1, 10001).boxed().collect(Collectors.toList());
+        assertEquals(HttpStatus.PAYLOAD_TOO_LARGE, employeeService.assignProject(ids, 3L).getStatusCode());
+        Mockito.verifyNoInteractions(employeeRepository);
+    }
+
+    @Test
+    public void searchEmployeesShouldReturnOkAndAPageOfTheMatchingSummaries() {
+        EmployeeSearch search = new EmployeeSearch(Speciality.DEVOPS, null, null, null);
+        Mockito.when(employeeRepository.searchSummaries(search, 0L, 2)).thenReturn(List.of(sum1, sum2));
+        assertEquals(new ResponseEntity<>(new CursorPage<>(List.of(sum1), 1L), HttpStatus.OK), employeeService.searchEmployees(search, null, 1));
+    }
+
 }
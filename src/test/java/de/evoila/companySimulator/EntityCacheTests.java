@@ -0,0 +1,73 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.caches.EntityCache;
+import de.evoila.companySimulator.models.CacheStatistics;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class EntityCacheTests {
+
+    @Test
+    public void statisticsShouldCountHitsAndMisses() {
+        EntityCache<String> cache = new EntityCache<>("names", 10, Duration.ofMinutes(1));
+        cache.get(1L, id -> "one");
+        cache.get(1L, id -> "one");
+        cache.get(2L, id -> "two");
+
+        CacheStatistics statistics = cache.statistics();
+        assertEquals(2, statistics.getMissCount());
+        assertEquals(1, statistics.getHitCount());
+        assertEquals(2, statistics.getSize());
+    }
+
+    @Test
+    public void statisticsShouldCountEvictionsAboveTheMaximumSize() {
+        EntityCache<String> cache = new EntityCache<>("names", 2, Duration.ofMinutes(1));
+        for (long id = 0; id < 10; id++) {
+            cache.get(id, String::valueOf);
+        }
+
+        CacheStatistics statistics = cache.statistics();
+        assertEquals(2, statistics.getSize());
+        assertEquals(8, statistics.getEvictionCount());
+    }
+
+    @Test
+    public void invalidateIfShouldOnlyRemoveMatchingEntries() {
+        EntityCache<String> cache = new EntityCache<>("names", 10, Duration.ofMinutes(1));
+        cache.get(1L, id -> "keep");
+        cache.get(2L, id -> "drop");
+
+        cache.invalidateIf("drop"::equals);
+
+        assertEquals("keep", cache.getIfPresent(1L));
+        assertNull(cache.getIfPresent(2L));
+    }
+
+    @Test
+    public void aPendingLoadShouldNotBlockAnInvalidationOfItsKey() throws Exception {
+        EntityCache<String> cache = new EntityCache<>("names", 10, Duration.ofMinutes(1));
+        CompletableFuture<String> row = new CompletableFuture<>();
+        CompletableFuture<String> loaded = CompletableFuture.supplyAsync(() -> cache.load(1L, id -> row));
+
+        // under a compute of the key the invalidation would wait for the load
+        CompletableFuture.runAsync(() -> cache.invalidate(1L)).get(5, TimeUnit.SECONDS);
+        row.complete("one");
+
+        assertEquals("one", loaded.get(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    public void aLoadWithoutARowShouldLeaveNothingInTheCache() {
+        EntityCache<String> cache = new EntityCache<>("names", 10, Duration.ofMinutes(1));
+
+        assertNull(cache.load(1L, id -> CompletableFuture.completedFuture(null)));
+        assertNull(cache.getIfPresent(1L));
+    }
+
+}
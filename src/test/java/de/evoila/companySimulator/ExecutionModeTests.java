@@ -0,0 +1,96 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.services.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+// virtual falls back to the bounded pool on JDKs without virtual threads, both offload the handlers
+@SpringBootTest(properties = "company-simulator.execution.mode=virtual")
+@AutoConfigureMockMvc
+class ExecutionModeTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Test
+    public void offloadedHandlerShouldAnswerAfterTheAsyncDispatch() throws Exception {
+        Employee employee = (Employee) employeeService.createEmployee(
+                new Employee("Offloaded", "Handler", "offloaded" + System.nanoTime() + "@test.de", Speciality.CLOUD)).getBody();
+
+        MvcResult result = mockMvc.perform(get("/employee/find/" + employee.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.firstName").value("Offloaded"));
+    }
+
+    @Test
+    public void offloadedHandlerShouldKeepTheExceptionAdvice() throws Exception {
+        MvcResult result = mockMvc.perform(put("/project/update/" + Long.MAX_VALUE)
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"companyName\":\"Offloaded\",\"projectName\":\"Missing\"}"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void argumentsShouldStillBeValidatedBeforeOffloading() throws Exception {
+        mockMvc.perform(post("/employee/new")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{\"firstName\":\"Offloaded\"}"))
+                .andExpect(request().asyncNotStarted())
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void onlyTheExportShouldGetTheStreamingTimeout() throws Exception {
+        Employee employee = (Employee) employeeService.createEmployee(
+                new Employee("Offloaded", "Timeout", "timeout" + System.nanoTime() + "@test.de", Speciality.CLOUD)).getBody();
+
+        MvcResult export = mockMvc.perform(get("/employee/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertEquals(Duration.ofHours(1).toMillis(), export.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(export)).andExpect(status().isOk());
+
+        MvcResult find = mockMvc.perform(get("/employee/find/" + employee.getId()))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        assertNotEquals(Duration.ofHours(1).toMillis(), find.getRequest().getAsyncContext().getTimeout());
+        mockMvc.perform(asyncDispatch(find)).andExpect(status().isOk());
+    }
+
+    @Test
+    public void offloadedConditionalGetShouldAnswerNotModified() throws Exception {
+        MvcResult first = mockMvc.perform(get("/project/all")).andReturn();
+        String eTag = mockMvc.perform(asyncDispatch(first)).andReturn().getResponse().getHeader(HttpHeaders.ETAG);
+
+        MvcResult second = mockMvc.perform(get("/project/all").header(HttpHeaders.IF_NONE_MATCH, eTag))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+        mockMvc.perform(asyncDispatch(second))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
+}
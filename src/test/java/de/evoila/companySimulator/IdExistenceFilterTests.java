@@ -0,0 +1,60 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.caches.IdExistenceFilter;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class IdExistenceFilterTests {
+
+    @Test
+    public void mightExistShouldAcceptEveryIdBeforeTheFirstRebuild() {
+        IdExistenceFilter filter = new IdExistenceFilter("employees");
+        assertTrue(filter.mightExist(42L));
+        assertFalse(filter.statistics().isReady());
+    }
+
+    @Test
+    public void mightExistShouldRejectIdsThatAreNotInTheSnapshot() {
+        IdExistenceFilter filter = new IdExistenceFilter("employees");
+        filter.rebuild(LongStream.of(1L, 2L, 3L));
+
+        assertTrue(filter.mightExist(2L));
+        assertFalse(filter.mightExist(4L));
+        assertEquals(1, filter.statistics().getRejectedLookups());
+    }
+
+    @Test
+    public void mightExistShouldFollowAddsAndRemoves() {
+        IdExistenceFilter filter = new IdExistenceFilter("employees");
+        filter.rebuild(LongStream.of(1L));
+        filter.add(5L);
+        filter.remove(1L);
+
+        assertTrue(filter.mightExist(5L));
+        assertFalse(filter.mightExist(1L));
+    }
+
+    @Test
+    public void rebuildShouldNotResurrectIdsRemovedWhileTheSnapshotWasRead() {
+        IdExistenceFilter filter = new IdExistenceFilter("employees");
+        filter.add(7L);
+        filter.remove(3L);
+        filter.rebuild(LongStream.of(1L, 3L));
+
+        assertTrue(filter.mightExist(1L));
+        assertFalse(filter.mightExist(3L));
+        assertTrue(filter.mightExist(7L));
+        assertEquals(2, filter.statistics().getKnownIds());
+    }
+
+    @Test
+    public void mightExistShouldAcceptIdsOutsideTheTrackedRange() {
+        IdExistenceFilter filter = new IdExistenceFilter("employees");
+        filter.rebuild(LongStream.empty());
+        assertTrue(filter.mightExist(Integer.MAX_VALUE + 1L));
+    }
+
+}
@@ -0,0 +1,125 @@
+package de.evoila.companySimulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.evoila.companySimulator.caches.IdempotencyStore;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.services.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+class IdempotencyTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Test
+    public void aRetryShouldReturnTheOriginalResponseWithoutCreatingAgain() throws Exception {
+        String json = objectMapper.writeValueAsString(newEmployee());
+        String key = "retry" + System.nanoTime();
+
+        String created = mockMvc.perform(post("/employee/new").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isCreated())
+                .andExpect(header().doesNotExist("Idempotent-Replayed"))
+                .andReturn().getResponse().getContentAsString();
+        mockMvc.perform(post("/employee/new").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(json))
+                .andExpect(status().isCreated())
+                .andExpect(header().string("Idempotent-Replayed", "true"))
+                .andExpect(content().json(created));
+
+        Employee employee = objectMapper.readValue(created, Employee.class);
+        assertEquals(1, employeeRepository.findAll().stream().filter(e -> e.getEmail().equals(employee.getEmail())).count());
+    }
+
+    @Test
+    public void aKeyShouldNotBeReusedForADifferentRequest() throws Exception {
+        String key = "reused" + System.nanoTime();
+        mockMvc.perform(post("/project/new").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(new Project("Idempotent", "First"))))
+                .andExpect(status().isCreated());
+        mockMvc.perform(post("/project/new").header("Idempotency-Key", key)
+                        .contentType(MediaType.APPLICATION_JSON).content(objectMapper.writeValueAsString(new Project("Idempotent", "Second"))))
+                .andExpect(status().isUnprocessableEntity())
+                .andExpect(content().string("Idempotency-Key " + key + " was already used for a different request!"));
+    }
+
+    @Test
+    public void concurrentRequestsWithTheSameKeyShouldCreateOnce() throws Exception {
+        String key = "concurrent" + System.nanoTime();
+        String json = objectMapper.writeValueAsString(newEmployee());
+        ExecutorService executor = Executors.newFixedThreadPool(8);
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<ResponseEntity<?>>> responses = new ArrayList<>();
+            for (int request = 0; request < 8; request++) {
+                responses.add(executor.submit(() -> {
+                    start.await();
+                    // every request brings its own copy of the body, like a retried HTTP request would
+                    return employeeService.createEmployee(objectMapper.readValue(json, Employee.class), key);
+                }));
+            }
+            start.countDown();
+            Set<Long> ids = responses.stream().map(response -> {
+                try {
+                    ResponseEntity<?> entity = response.get();
+                    assertEquals(HttpStatus.CREATED, entity.getStatusCode());
+                    return ((Employee) entity.getBody()).getId();
+                } catch (Exception e) {
+                    throw new IllegalStateException(e);
+                }
+            }).collect(Collectors.toSet());
+            assertEquals(1, ids.size());
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    @Test
+    public void requestsWithTheSameHashCodeShouldStillBeTold() {
+        IdempotencyStore store = new IdempotencyStore("keys", objectMapper, 10, Duration.ofMinutes(1), 1);
+        // "Aa" and "BB" share their String hash code
+        store.execute("key", "Aa", () -> new ResponseEntity<>(HttpStatus.CREATED));
+
+        assertEquals(HttpStatus.UNPROCESSABLE_ENTITY, store.execute("key", "BB", () -> new ResponseEntity<>(HttpStatus.CREATED)).getStatusCode());
+    }
+
+    private static Employee newEmployee() {
+        return new Employee("Idempotent", "Create", "idempotent" + System.nanoTime() + "@test.de", Speciality.CLOUD);
+    }
+
+}
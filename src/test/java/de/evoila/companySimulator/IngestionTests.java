@@ -0,0 +1,160 @@
+package de.evoila.companySimulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.evoila.companySimulator.changes.ChangeLog;
+import de.evoila.companySimulator.enums.EntityType;
+import de.evoila.companySimulator.enums.IngestionTicketStatus;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.IngestionTicket;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.repositories.ProjectRepository;
+import de.evoila.companySimulator.services.EmployeeService;
+import de.evoila.companySimulator.services.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.put;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// the queue is only flushed by size, so every test decides when its updates get written
+@SpringBootTest(properties = {"company-simulator.ingestion.flush-size=2", "company-simulator.ingestion.flush-interval=1h"})
+@AutoConfigureMockMvc
+class IngestionTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    ChangeLog changeLog;
+
+    @Test
+    public void updatesOfTheSameEmployeeShouldBeCoalesced() throws Exception {
+        Employee first = newEmployee();
+        Employee second = newEmployee();
+
+        IngestionTicket superseded = enqueue(first.getId(), "Superseded");
+        IngestionTicket latest = enqueue(first.getId(), "Latest");
+        assertEquals(IngestionTicketStatus.SUPERSEDED, ticket(superseded.getId()).getStatus());
+        assertEquals(IngestionTicketStatus.QUEUED, latest.getStatus());
+        // the second employee fills the batch
+        IngestionTicket other = enqueue(second.getId(), "Other");
+
+        assertEquals(IngestionTicketStatus.APPLIED, awaitFlush(latest.getId()).getStatus());
+        assertEquals(IngestionTicketStatus.APPLIED, awaitFlush(other.getId()).getStatus());
+        Employee updated = employeeRepository.findById(first.getId()).orElseThrow();
+        assertEquals("Latest", updated.getFirstName());
+        assertEquals(first.getVersion() + 1, updated.getVersion());
+        assertEquals("Other", employeeRepository.findById(second.getId()).orElseThrow().getFirstName());
+    }
+
+    @Test
+    public void anEmployeeDeletedWhileQueuedShouldOnlyFailItsOwnTicket() throws Exception {
+        Employee deleted = newEmployee();
+        Employee kept = newEmployee();
+
+        IngestionTicket failing = enqueue(deleted.getId(), "Deleted");
+        employeeService.deleteEmployee(deleted.getId());
+        IngestionTicket applied = enqueue(kept.getId(), "Kept");
+
+        IngestionTicket failed = awaitFlush(failing.getId());
+        assertEquals(IngestionTicketStatus.FAILED, failed.getStatus());
+        assertEquals("Employee with id: " + deleted.getId() + " could not be found!", failed.getError());
+        assertEquals(IngestionTicketStatus.APPLIED, awaitFlush(applied.getId()).getStatus());
+        assertEquals("Kept", employeeRepository.findById(kept.getId()).orElseThrow().getFirstName());
+    }
+
+    @Test
+    public void updatesReferencingAProjectShouldNeitherCopyNorChangeIt() throws Exception {
+        Project billing = (Project) projectService.createProject(new Project("Tosch", "Billing")).getBody();
+        Employee first = newEmployee();
+        Employee second = newEmployee();
+        long projects = projectRepository.count();
+        long sequence = changeLog.lastSequence();
+
+        // as a client sends it back, without the version
+        Project givenById = new Project("Tosch", "Billing");
+        givenById.setId(billing.getId());
+        IngestionTicket firstTicket = enqueue(first.getId(), "First", givenById);
+        IngestionTicket secondTicket = enqueue(second.getId(), "Second", givenById);
+
+        assertEquals(IngestionTicketStatus.APPLIED, awaitFlush(firstTicket.getId()).getStatus());
+        assertEquals(IngestionTicketStatus.APPLIED, awaitFlush(secondTicket.getId()).getStatus());
+        assertEquals(projects, projectRepository.count());
+        assertTrue(changeLog.since(sequence, 100).getEvents().stream().noneMatch(event -> event.getEntity() == EntityType.PROJECT));
+        for (Employee employee : List.of(first, second)) {
+            assertEquals(billing.getId(), employeeRepository.findById(employee.getId()).orElseThrow().getProject().getId());
+        }
+    }
+
+    @Test
+    public void anUnknownTicketShouldReturnNotFound() throws Exception {
+        mockMvc.perform(get("/ingestion/tickets/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+    private IngestionTicket enqueue(Long id, String firstName) throws Exception {
+        return enqueue(id, firstName, null);
+    }
+
+    private IngestionTicket enqueue(Long id, String firstName, Project project) throws Exception {
+        Employee update = new Employee(firstName, "Ingestion", "ingestion" + System.nanoTime() + "@test.de", Speciality.SECURITY);
+        update.setProject(project);
+        String body = mockMvc.perform(put("/employee/update/" + id)
+                        .header("Prefer", "respond-async")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(update)))
+                .andExpect(status().isAccepted())
+                .andExpect(header().string("Preference-Applied", "respond-async"))
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, IngestionTicket.class);
+    }
+
+    private IngestionTicket ticket(String id) throws Exception {
+        String body = mockMvc.perform(get("/ingestion/tickets/" + id))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+        return objectMapper.readValue(body, IngestionTicket.class);
+    }
+
+    private IngestionTicket awaitFlush(String id) throws Exception {
+        long deadline = System.currentTimeMillis() + 10_000;
+        IngestionTicket ticket = ticket(id);
+        while (ticket.getStatus() == IngestionTicketStatus.QUEUED && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+            ticket = ticket(id);
+        }
+        return ticket;
+    }
+
+    private Employee newEmployee() {
+        return (Employee) employeeService.createEmployee(
+                new Employee("Queued", "Ingestion", "ingestion" + System.nanoTime() + "@test.de", Speciality.SECURITY)).getBody();
+    }
+
+}
@@ -0,0 +1,84 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.caches.LookupCoalescer;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class LookupCoalescerTests {
+
+    private final List<List<Long>> batches = new CopyOnWriteArrayList<>();
+
+    // every id below 100 exists
+    private final Function<Collection<Long>, Map<Long, String>> loader = ids -> {
+        batches.add(new ArrayList<>(ids));
+        return ids.stream().filter(id -> id < 100).collect(Collectors.toMap(id -> id, id -> "row" + id));
+    };
+
+    @Test
+    public void concurrentLookupsShouldBeLoadedInOneBatch() throws Exception {
+        LookupCoalescer<String> coalescer = new LookupCoalescer<>(Duration.ofMillis(500), 100, loader);
+
+        List<String> rows = lookUpConcurrently(coalescer, List.of(1L, 2L, 2L, 3L, 200L));
+
+        assertEquals(List.of("row1", "row2", "row2", "row3", "missing"), rows);
+        assertEquals(1, batches.size());
+        assertEquals(List.of(1L, 2L, 3L, 200L), batches.get(0).stream().sorted().collect(Collectors.toList()));
+    }
+
+    @Test
+    public void aFullBatchShouldBeLoadedBeforeTheWindowEnds() throws Exception {
+        LookupCoalescer<String> coalescer = new LookupCoalescer<>(Duration.ofHours(1), 2, loader);
+
+        assertEquals(List.of("row1", "row2"), lookUpConcurrently(coalescer, List.of(1L, 2L)));
+        assertEquals(1, batches.size());
+    }
+
+    @Test
+    public void aFailingLoadShouldFailEveryLookupOfTheBatch() {
+        LookupCoalescer<String> coalescer = new LookupCoalescer<>(Duration.ofMillis(1), 100, ids -> {
+            throw new IllegalStateException("database down");
+        });
+
+        CompletionException exception = assertThrows(CompletionException.class, () -> coalescer.load(1L).join());
+        assertEquals("database down", exception.getCause().getMessage());
+    }
+
+    private static List<String> lookUpConcurrently(LookupCoalescer<String> coalescer, List<Long> ids) throws Exception {
+        ExecutorService executor = Executors.newFixedThreadPool(ids.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<String>> rows = new ArrayList<>();
+            for (Long id : ids) {
+                rows.add(executor.submit(() -> {
+                    start.await();
+                    String row = coalescer.load(id).join();
+                    return row == null ? "missing" : row;
+                }));
+            }
+            start.countDown();
+            List<String> result = new ArrayList<>();
+            for (Future<String> row : rows) {
+                result.add(row.get());
+            }
+            return result;
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
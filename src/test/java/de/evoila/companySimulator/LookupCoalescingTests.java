@@ -0,0 +1,59 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.services.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// a long window, so the concurrent lookups of a test surely meet
+@SpringBootTest(properties = "company-simulator.lookup.coalesce-window=500ms")
+@Import(SqlCapture.class)
+class LookupCoalescingTests {
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    SqlCapture sqlCapture;
+
+    @Test
+    public void concurrentLookupsShouldShareOneQuery() throws Exception {
+        List<Employee> employees = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            employees.add((Employee) employeeService.createEmployee(
+                    new Employee("Coalesced", "Lookup", "coalesced" + System.nanoTime() + "@test.de", Speciality.BACKEND)).getBody());
+        }
+        ExecutorService executor = Executors.newFixedThreadPool(employees.size());
+        CountDownLatch start = new CountDownLatch(1);
+        try {
+            List<Future<Employee>> found = new ArrayList<>();
+            for (Employee employee : employees) {
+                found.add(executor.submit(() -> {
+                    start.await();
+                    return (Employee) employeeService.findEmployeeById(employee.getId()).getBody();
+                }));
+            }
+            sqlCapture.start();
+            start.countDown();
+            for (int i = 0; i < employees.size(); i++) {
+                assertEquals(employees.get(i).getId(), found.get(i).get().getId());
+            }
+            sqlCapture.assertStatements(1);
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+}
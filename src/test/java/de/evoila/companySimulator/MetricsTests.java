@@ -0,0 +1,52 @@
+package de.evoila.companySimulator;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.actuate.metrics.AutoConfigureMetrics;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.test.web.servlet.MockMvc;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@SpringBootTest
+@AutoConfigureMockMvc
+@AutoConfigureMetrics
+class MetricsTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Test
+    public void prometheusEndpointShouldExposeTheMetrics() throws Exception {
+        mockMvc.perform(get("/employee/all")).andExpect(status().isOk());
+        mockMvc.perform(get("/project/all")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andExpect(status().isOk())
+                .andReturn().getResponse().getContentAsString();
+
+        assertTrue(scrape.contains("http_server_requests_seconds_bucket{exception=\"None\",method=\"GET\",outcome=\"SUCCESS\",status=\"200\",uri=\"/employee/all\""));
+        assertTrue(scrape.contains("http_server_requests_queries_count{method=\"GET\",uri=\"/employee/all\",}"));
+        assertTrue(scrape.contains("company_simulator_service_seconds_count{class=\"EmployeeService\",exception=\"none\",method=\"getEmployeesPage\",}"));
+        assertTrue(scrape.contains("hibernate_statements_total"));
+        assertTrue(scrape.contains("hibernate_entities_loads_total"));
+        assertTrue(scrape.contains("hikaricp_connections_pending"));
+        assertTrue(scrape.contains("cache_gets_total{cache=\"employees\""));
+    }
+
+    @Test
+    public void queriesPerRequestShouldCountTheHibernateStatements() throws Exception {
+        mockMvc.perform(get("/project/all")).andExpect(status().isOk());
+
+        String scrape = mockMvc.perform(get("/actuator/prometheus"))
+                .andReturn().getResponse().getContentAsString();
+        String line = scrape.lines()
+                .filter(l -> l.startsWith("http_server_requests_queries_max{method=\"GET\",uri=\"/project/all\",}"))
+                .findFirst().orElseThrow();
+        assertTrue(Double.parseDouble(line.substring(line.lastIndexOf(' ') + 1)) >= 1);
+    }
+
+}
@@ -0,0 +1,113 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.caches.EntityCache;
+import de.evoila.companySimulator.changes.ChangeLog;
+import de.evoila.companySimulator.enums.EntityType;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.exceptions.ProjectNotFoundException;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.models.ReassignmentResult;
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.repositories.ProjectRepository;
+import de.evoila.companySimulator.services.EmployeeService;
+import de.evoila.companySimulator.services.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class ProjectAssignmentTests {
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    EntityCache<Employee> employeeCache;
+
+    @Autowired
+    ChangeLog changeLog;
+
+    @Test
+    public void assignProjectShouldMoveAllEmployeesAndBumpTheirVersions() {
+        Project to = (Project) projectService.createProject(new Project("Tosch", "Billing")).getBody();
+        Employee harry = newEmployee("Harry", new Project("Tosch", "Configuration"));
+        Employee peter = newEmployee("Peter", null);
+
+        ResponseEntity<?> response = employeeService.assignProject(List.of(harry.getId(), peter.getId()), to.getId());
+
+        assertEquals(new ResponseEntity<>(new ReassignmentResult(to.getId(), 2, 2), HttpStatus.OK), response);
+        for (Employee employee : List.of(harry, peter)) {
+            Employee moved = employeeRepository.findById(employee.getId()).orElseThrow();
+            assertEquals(to.getId(), moved.getProject().getId());
+            assertEquals("Billing", moved.getProject().getProjectName());
+            assertEquals(employee.getVersion() + 1, moved.getVersion());
+        }
+    }
+
+    @Test
+    public void assignProjectShouldRejectAnUnknownProject() {
+        Employee harry = newEmployee("Harry", null);
+        assertThrows(ProjectNotFoundException.class, () -> employeeService.assignProject(harry.getId(), Long.MAX_VALUE));
+    }
+
+    @Test
+    public void aProjectGivenByIdShouldOnlyBeReferenced() {
+        Project billing = (Project) projectService.createProject(new Project("Tosch", "Billing")).getBody();
+        long projects = projectRepository.count();
+
+        // as a client sends it back, without the version
+        Project givenById = new Project("Tosch", "Billing");
+        givenById.setId(billing.getId());
+        Employee harry = newEmployee("Harry", givenById);
+        assertEquals(projects, projectRepository.count());
+
+        Employee harryUpdated = new Employee("Harry", "Potter", "hp@gmail.com", Speciality.BACKEND);
+        harryUpdated.setProject(givenById);
+        employeeService.updateEmployee(harryUpdated, harry.getId());
+        assertEquals(projects, projectRepository.count());
+        assertEquals(billing.getId(), employeeRepository.findById(harry.getId()).orElseThrow().getProject().getId());
+    }
+
+    @Test
+    public void anUpdateReferencingAProjectShouldLeaveTheProjectUntouched() {
+        Project billing = (Project) projectService.createProject(new Project("Tosch", "Billing")).getBody();
+        Employee harry = newEmployee("Harry", billing);
+        Employee peter = newEmployee("Peter", billing);
+        employeeService.findEmployeeById(peter.getId());
+        String projectsETag = projectService.getProjectsETag();
+        long sequence = changeLog.lastSequence();
+
+        Employee harryUpdated = new Employee("Harry", "Potter", "hp@gmail.com", Speciality.BACKEND);
+        harryUpdated.setProject(billing);
+        employeeService.updateEmployee(harryUpdated, harry.getId());
+
+        assertEquals(projectsETag, projectService.getProjectsETag());
+        assertTrue(changeLog.since(sequence, 100).getEvents().stream().noneMatch(event -> event.getEntity() == EntityType.PROJECT));
+        // only the updated employee is evicted
+        assertNotNull(employeeCache.getIfPresent(peter.getId()));
+        assertNull(employeeCache.getIfPresent(harry.getId()));
+    }
+
+    private Employee newEmployee(String firstName, Project project) {
+        Employee employee = new Employee(firstName, "Potter", "hp@gmail.com", Speciality.FRONTEND);
+        employee.setProject(project);
+        return (Employee) employeeService.createEmployee(employee).getBody();
+    }
+
+}
@@ -3,7 +3,12 @@ package de.evoila.companySimulator;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import de.evoila.companySimulator.controllers.ProjectController;
 import de.evoila.companySimulator.exceptions.ProjectNotFoundException;
+import de.evoila.companySimulator.enums.BatchItemStatus;
+import de.evoila.companySimulator.exceptions.VersionConflictException;
+import de.evoila.companySimulator.models.BatchItemResult;
+import de.evoila.companySimulator.models.CursorPage;
 import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.models.ProjectPatch;
 import de.evoila.companySimulator.services.ProjectService;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -11,15 +16,21 @@ import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MvcResult;
 import org.springframework.test.web.servlet.MockMvc;
 import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.util.List;
 
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ProjectController.class)
@@ -40,37 +51,104 @@ class ProjectControllerTests {
 
     @BeforeEach
     public void init() {
+        Mockito.doReturn("\"a-1\"").when(projectService).getProjectsETag();
         p1 = new Project("WagenDesVolkes", "HomePage");
         p2 = new Project("Tosch", "Configuration");
         projectList = List.of(p1, p2);
     }
 
     @Test
-    public void getAllProjectsShouldReturnFoundAndListOfProjects() throws Exception {
-        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(projectList, HttpStatus.FOUND);
+    public void getAllProjectsShouldReturnOkAndListOfProjects() throws Exception {
+        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(projectList, HttpStatus.OK);
         Mockito.doReturn(responseEntityAnswer).when(projectService).getAllProjects();
 
         this.mockMvc.perform(MockMvcRequestBuilders
-                        .get("/project/all"))
-                .andExpect(status().isFound())
+                        .get("/project/all")
+                        .param("unpaged", "true"))
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"a-1\""))
                 .andExpect(content().json(objectMapper.writeValueAsString(projectList)));
     }
 
     @Test
-    public void findProjectByIdShouldReturnFoundAndTheCorrespondentProject() throws Exception {
-        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(p1, HttpStatus.FOUND);
+    public void getAllProjectsShouldReturnNotModifiedWhenTheCollectionIsUnchanged() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/project/all")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"a-1\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+
+        Mockito.verify(projectService, Mockito.never()).getProjectsPage(Mockito.any(), Mockito.any());
+    }
+
+    @Test
+    public void getAllProjectsShouldReturnOkAndAPageWhenNotUnpaged() throws Exception {
+        CursorPage<Project> page = new CursorPage<>(projectList, 2L);
+        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(page, HttpStatus.OK);
+        Mockito.doReturn(responseEntityAnswer).when(projectService).getProjectsPage(null, 2);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/project/all")
+                        .param("size", "2"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(page)));
+    }
+
+    @Test
+    public void exportProjectsShouldStreamNdjson() throws Exception {
+        StreamingResponseBody body = outputStream -> outputStream.write((objectMapper.writeValueAsString(p1) + "\n").getBytes());
+        Mockito.doReturn(ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body)).when(projectService).exportProjects();
+
+        MvcResult mvcResult = this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/project/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        this.mockMvc.perform(asyncDispatch(mvcResult))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andExpect(content().string(objectMapper.writeValueAsString(p1) + "\n"));
+    }
+
+    @Test
+    public void findProjectsByIdsShouldReturnOkAndTheFoundProjects() throws Exception {
+        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(List.of(p1, p2), HttpStatus.OK);
+        Mockito.doReturn(responseEntityAnswer).when(projectService).findProjectsByIds(List.of(1L, 2L, 3L));
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/project/find")
+                        .param("ids", "1,2,3"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(List.of(p1, p2))));
+    }
+
+    @Test
+    public void findProjectByIdShouldReturnOkAndTheCorrespondentProject() throws Exception {
+        ResponseEntity<?> responseEntityAnswer = ResponseEntity.ok().eTag("1-0").body(p1);
         Mockito.doReturn(responseEntityAnswer).when(projectService).findProjectById(1L);
 
         this.mockMvc.perform(MockMvcRequestBuilders
                         .get("/project/find/1"))
-                .andExpect(status().isFound())
+                .andExpect(status().isOk())
+                .andExpect(header().string(HttpHeaders.ETAG, "\"1-0\""))
                 .andExpect(content().json(objectMapper.writeValueAsString(p1)));
     }
 
+    @Test
+    public void findProjectByIdShouldReturnNotModifiedWhenTheETagMatches() throws Exception {
+        Mockito.doReturn(ResponseEntity.ok().eTag("1-0").body(p1)).when(projectService).findProjectById(1L);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/project/find/1")
+                        .header(HttpHeaders.IF_NONE_MATCH, "\"1-0\""))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     public void createProjectShouldReturnCreatedAndTheCreatedProject() throws Exception {
         ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(p2, HttpStatus.CREATED);
-        Mockito.doReturn(responseEntityAnswer).when(projectService).createProject(p2);
+        Mockito.doReturn(responseEntityAnswer).when(projectService).createProject(p2, null);
 
         this.mockMvc.perform(MockMvcRequestBuilders
                         .post("/project/new")
@@ -83,7 +161,7 @@ class ProjectControllerTests {
     @Test
     public void createProjectShouldReturnBadRequestWhenTheDataIsInvalid() throws Exception {
         ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(p2, HttpStatus.CREATED);
-        Mockito.doReturn(responseEntityAnswer).when(projectService).createProject(p2);
+        Mockito.doReturn(responseEntityAnswer).when(projectService).createProject(p2, null);
 
         p2.setProjectName(null);
 
@@ -94,6 +172,20 @@ class ProjectControllerTests {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void createProjectsShouldReturnThePerItemResults() throws Exception {
+        List<BatchItemResult> results = List.of(new BatchItemResult(0, BatchItemStatus.CREATED, 1L, List.of()), new BatchItemResult(1, BatchItemStatus.CREATED, 2L, List.of()));
+        ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(results, HttpStatus.CREATED);
+        Mockito.doReturn(responseEntityAnswer).when(projectService).createProjects(projectList);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post("/project/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(projectList)))
+                .andExpect(status().isCreated())
+                .andExpect(content().json(objectMapper.writeValueAsString(results)));
+    }
+
     @Test
     public void deleteProjectShouldReturnOk() throws Exception {
         ResponseEntity<?> responseEntityAnswer = new ResponseEntity<>(HttpStatus.OK);
@@ -153,4 +245,38 @@ class ProjectControllerTests {
                 .andExpect(status().isBadRequest());
     }
 
+    @Test
+    public void patchProjectShouldReturnNoContent() throws Exception {
+        ProjectPatch patch = new ProjectPatch(3L, null, "Billing");
+        Mockito.doReturn(new ResponseEntity<>(HttpStatus.NO_CONTENT)).when(projectService).patchProject(patch, 1L);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .patch("/project/update/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isNoContent());
+    }
+
+    @Test
+    public void patchProjectShouldReturnConflictWhenTheVersionIsOutdated() throws Exception {
+        ProjectPatch patch = new ProjectPatch(3L, null, "Billing");
+        Mockito.doThrow(new VersionConflictException("Project", 1L, 3L)).when(projectService).patchProject(patch, 1L);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .patch("/project/update/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(patch)))
+                .andExpect(status().isConflict())
+                .andExpect(content().string("Project with id: 1 is no longer at version 3!"));
+    }
+
+    @Test
+    public void patchProjectShouldReturnBadRequestWithoutAVersion() throws Exception {
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .patch("/project/update/1")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(new ProjectPatch(null, null, "Billing"))))
+                .andExpect(status().isBadRequest());
+    }
+
 }
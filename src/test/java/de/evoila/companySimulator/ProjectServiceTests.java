@@ -1,20 +1,38 @@
 package de.evoila.companySimulator;
 
+import de.evoila.companySimulator.caches.ETags;
+import de.evoila.companySimulator.caches.EntityCache;
+import de.evoila.companySimulator.caches.IdExistenceFilter;
+import de.evoila.companySimulator.enums.Speciality;
 import de.evoila.companySimulator.exceptions.EmployeeNotFoundException;
+import de.evoila.companySimulator.exceptions.ProjectNotFoundException;
+import de.evoila.companySimulator.exceptions.VersionConflictException;
+import de.evoila.companySimulator.models.CursorPage;
+import de.evoila.companySimulator.models.Employee;
 import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.models.ProjectPatch;
 import de.evoila.companySimulator.repositories.ProjectRepository;
+import de.evoila.companySimulator.services.EmployeeService;
 import de.evoila.companySimulator.services.ProjectService;
+import com.fasterxml.jackson.databind.ObjectMapper;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.mockito.Mockito;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.context.SpringBootTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.ByteArrayOutputStream;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.stream.LongStream;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -27,6 +45,21 @@ class ProjectServiceTests {
     @Autowired
     ProjectService projectService;
 
+    @Autowired
+    ObjectMapper objectMapper;
+
+    @Autowired
+    EntityCache<Project> projectCache;
+
+    @Autowired
+    IdExistenceFilter projectIdFilter;
+
+    @Autowired
+    EntityCache<Employee> employeeCache;
+
+    @Autowired
+    EmployeeService employeeService;
+
     private List<Project> projectList;
     private Project p1;
     private Project p2;
@@ -36,18 +69,21 @@ class ProjectServiceTests {
         p1 = new Project("WagenDesVolkes", "HomePage");
         p2 = new Project("Tosch", "Configuration");
         projectList = List.of(p1, p2);
+        projectCache.invalidateAll();
+        projectIdFilter.reset();
+        employeeCache.invalidateAll();
     }
 
     @Test
-    public void getAllProjectsShouldReturnFoundAndListOfProjects() {
+    public void getAllProjectsShouldReturnOkAndListOfProjects() {
         Mockito.when(projectRepository.findAll()).thenReturn(projectList);
-        assertEquals(new ResponseEntity<>(projectList, HttpStatus.FOUND), projectService.getAllProjects());
+        assertEquals(new ResponseEntity<>(projectList, HttpStatus.OK), projectService.getAllProjects());
     }
 
     @Test
-    public void getAllProjectsShouldReturnFound() {
+    public void getAllProjectsShouldReturnOk() {
         Mockito.when(projectRepository.findAll()).thenReturn(projectList);
-        assertNotEquals(new ResponseEntity<>(projectList, HttpStatus.OK), projectService.getAllProjects());
+        assertNotEquals(new ResponseEntity<>(projectList, HttpStatus.FOUND), projectService.getAllProjects());
     }
 
     @Test
@@ -57,21 +93,77 @@ class ProjectServiceTests {
     }
 
     @Test
-    public void findProjectByIdShouldReturnFoundAndTheFoundProject() {
+    public void getProjectsPageShouldReturnOkAndTheNextCursorWhenMoreRowsExist() {
+        p1.setId(1L);
+        p2.setId(2L);
+        Mockito.when(projectRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 2))).thenReturn(List.of(p1, p2));
+        assertEquals(new ResponseEntity<>(new CursorPage<>(List.of(p1), 1L), HttpStatus.OK), projectService.getProjectsPage(null, 1));
+    }
+
+    @Test
+    public void getProjectsPageShouldReturnNoCursorOnTheLastPage() {
+        p1.setId(1L);
+        p2.setId(2L);
+        Mockito.when(projectRepository.findByIdGreaterThanOrderByIdAsc(0L, PageRequest.of(0, 11))).thenReturn(List.of(p1, p2));
+        assertEquals(new ResponseEntity<>(new CursorPage<>(List.of(p1, p2), null), HttpStatus.OK), projectService.getProjectsPage(0L, 10));
+    }
+
+    @Test
+    public void getProjectsPageShouldCapThePageSize() {
+        projectService.getProjectsPage(5L, 100000);
+        Mockito.verify(projectRepository).findByIdGreaterThanOrderByIdAsc(5L, PageRequest.of(0, 501));
+    }
+
+    @Test
+    public void exportProjectsShouldStreamOneJsonDocumentPerLine() throws Exception {
+        Mockito.when(projectRepository.streamAll()).thenReturn(Stream.of(p1, p2));
+        ResponseEntity<StreamingResponseBody> response = projectService.exportProjects();
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        response.getBody().writeTo(outputStream);
+
+        assertEquals(HttpStatus.OK, response.getStatusCode());
+        assertEquals(MediaType.APPLICATION_NDJSON, response.getHeaders().getContentType());
+        assertEquals(objectMapper.writeValueAsString(p1) + "\n" + objectMapper.writeValueAsString(p2) + "\n", outputStream.toString());
+    }
+
+    @Test
+    public void findProjectByIdShouldReturnOkAndTheFoundProject() {
         Mockito.when(projectRepository.findById(1L)).thenReturn(Optional.ofNullable(p1));
-        assertEquals(new ResponseEntity<>(p1, HttpStatus.FOUND), projectService.findProjectById(1L));
+        assertEquals(ResponseEntity.ok().eTag(ETags.of(p1)).body(p1), projectService.findProjectById(1L));
     }
 
     @Test
-    public void findProjectByIdShouldReturnFound() {
+    public void findProjectByIdShouldReturnOk() {
         Mockito.when(projectRepository.findById(1L)).thenReturn(Optional.ofNullable(p1));
-        assertNotEquals(new ResponseEntity<>(p1, HttpStatus.OK), projectService.findProjectById(1L));
+        assertNotEquals(new ResponseEntity<>(p1, HttpStatus.FOUND), projectService.findProjectById(1L));
     }
 
     @Test
     public void findProjectByIdShouldReturnTheFoundProject() {
         Mockito.when(projectRepository.findById(1L)).thenReturn(Optional.ofNullable(p1));
-        assertNotEquals(new ResponseEntity<>(p2, HttpStatus.FOUND), projectService.findProjectById(1L));
+        assertNotEquals(ResponseEntity.ok().eTag(ETags.of(p2)).body(p2), projectService.findProjectById(1L));
+    }
+
+    @Test
+    public void findProjectByIdShouldNotQueryTheDatabaseForIdsTheFilterRejects() {
+        projectIdFilter.rebuild(LongStream.of(1L));
+        Throwable exception = assertThrows(ProjectNotFoundException.class, () -> projectService.findProjectById(7L));
+        assertEquals("Project with id: 7 could not be found!", exception.getMessage());
+        assertEquals(0, exception.getStackTrace().length);
+        Mockito.verify(projectRepository, Mockito.never()).findById(7L);
+    }
+
+    @Test
+    public void createProjectShouldMakeTheNewIdKnownToTheFilter() {
+        projectIdFilter.rebuild(LongStream.empty());
+        p1.setId(9L);
+        Mockito.when(projectRepository.save(p1)).thenReturn(p1);
+        Mockito.when(projectRepository.findById(9L)).thenReturn(Optional.ofNullable(p1));
+
+        projectService.createProject(p1);
+
+        assertTrue(projectIdFilter.mightExist(9L));
+        assertEquals(p1, projectService.findProjectById(9L).getBody());
     }
 
     @Test
@@ -94,19 +186,19 @@ class ProjectServiceTests {
 
     @Test
     public void deleteProjectShouldReturnOk() {
-        Mockito.when(projectRepository.findById(1L)).thenReturn(Optional.ofNullable(p1));
+        Mockito.when(projectRepository.deleteRowById(1L)).thenReturn(1);
         assertEquals(new ResponseEntity<>(HttpStatus.OK), projectService.deleteProject(1L));
     }
 
     @Test
     public void deleteProjectShouldNotReturnFoundOrOtherHttpStatus() {
-        Mockito.when(projectRepository.findById(1L)).thenReturn(Optional.ofNullable(p1));
+        Mockito.when(projectRepository.deleteRowById(1L)).thenReturn(1);
         assertNotEquals(new ResponseEntity<>(p1, HttpStatus.FOUND), projectService.deleteProject(1L));
     }
 
     @Test
     public void deleteProjectThrowAnExceptionWhenTheGivenIdNotCorrespondToAnyProject() {
-        Mockito.when(projectRepository.findById(1L)).thenReturn(Optional.ofNullable(p1));
+        Mockito.when(projectRepository.deleteRowById(1L)).thenReturn(1);
         Throwable exception = assertThrows(RuntimeException.class, () -> projectService.deleteProject(5L));
         assertEquals("Project with id: 5 could not be found!", exception.getMessage());
     }
@@ -132,6 +224,56 @@ class ProjectServiceTests {
         assertNotEquals(new ResponseEntity<>(p2, HttpStatus.OK), projectService.updateProject(p1, 1L));
     }
 
+    @Test
+    public void findProjectByIdShouldServeRepeatedLookupsFromTheCache() {
+        Mockito.when(projectRepository.findById(1L)).thenReturn(Optional.ofNullable(p1));
+        projectService.findProjectById(1L);
+        assertEquals(ResponseEntity.ok().eTag(ETags.of(p1)).body(p1), projectService.findProjectById(1L));
+        Mockito.verify(projectRepository, Mockito.times(1)).findById(1L);
+    }
+
+    @Test
+    public void updateProjectShouldInvalidateTheProjectAndTheCachedEmployeesEmbeddingIt() {
+        p1.setId(1L);
+        p2.setId(2L);
+        Employee onProject = new Employee("Harry", "Potter", "hp@gmail.com", Speciality.FRONTEND);
+        onProject.setProject(p1);
+        Employee onOtherProject = new Employee("Peter", "Parker", "pp@gmail.com", Speciality.BACKEND);
+        onOtherProject.setProject(p2);
+        employeeCache.get(1L, id -> onProject);
+        employeeCache.get(2L, id -> onOtherProject);
+        projectCache.get(1L, id -> p1);
+        Mockito.when(projectRepository.findById(1L)).thenReturn(Optional.ofNullable(p1));
+        Mockito.when(projectRepository.save(p1)).thenReturn(p1);
+
+        projectService.updateProject(p2, 1L);
+
+        assertNull(projectCache.getIfPresent(1L));
+        assertNull(employeeCache.getIfPresent(1L));
+        assertEquals(onOtherProject, employeeCache.getIfPresent(2L));
+    }
+
+    @Test
+    public void updateProjectShouldChangeTheProjectAndEmployeeCollectionETags() {
+        Mockito.when(projectRepository.findById(1L)).thenReturn(Optional.ofNullable(p1));
+        Mockito.when(projectRepository.save(p1)).thenReturn(p1);
+        String projectsETag = projectService.getProjectsETag();
+        String employeesETag = employeeService.getEmployeesETag();
+
+        projectService.updateProject(p2, 1L);
+
+        assertNotEquals(projectsETag, projectService.getProjectsETag());
+        assertNotEquals(employeesETag, employeeService.getEmployeesETag());
+    }
+
+    @Test
+    public void findProjectByIdShouldTagTheProjectWithItsVersion() {
+        p1.setId(1L);
+        p1.setVersion(3L);
+        Mockito.when(projectRepository.findById(1L)).thenReturn(Optional.ofNullable(p1));
+        assertEquals("\"1-3\"", projectService.findProjectById(1L).getHeaders().getETag());
+    }
+
     @Test
     public void updateProjectThrowAnExceptionWhenTheGivenIdNotCorrespondToAnyProject() {
         Mockito.when(projectRepository.findById(5L)).thenThrow(new EmployeeNotFoundException(5L));
@@ -139,4 +281,26 @@ class ProjectServiceTests {
         assertEquals("Employee with id: 5 could not be found!", exception.getMessage());
     }
 
+    @Test
+    public void patchProjectShouldUpdateOnlyTheGivenColumnsAndReturnNoContent() {
+        Mockito.when(projectRepository.updateIfVersionMatches(1L, 3L, Map.of("projectName", "Billing"))).thenReturn(1);
+        assertEquals(new ResponseEntity<>(HttpStatus.NO_CONTENT), projectService.patchProject(new ProjectPatch(3L, null, "Billing"), 1L));
+        Mockito.verify(projectRepository, Mockito.never()).findById(1L);
+    }
+
+    @Test
+    public void patchProjectShouldThrowAVersionConflictWhenTheRowChangedMeanwhile() {
+        Mockito.when(projectRepository.updateIfVersionMatches(1L, 3L, Map.of("projectName", "Billing"))).thenReturn(0);
+        Mockito.when(projectRepository.existsById(1L)).thenReturn(true);
+        Throwable exception = assertThrows(VersionConflictException.class, () -> projectService.patchProject(new ProjectPatch(3L, null, "Billing"), 1L));
+        assertEquals("Project with id: 1 is no longer at version 3!", exception.getMessage());
+    }
+
+    @Test
+    public void patchProjectThrowAnExceptionWhenTheGivenIdNotCorrespondToAnyProject() {
+        Mockito.when(projectRepository.updateIfVersionMatches(5L, 3L, Map.of("projectName", "Billing"))).thenReturn(0);
+        Throwable exception = assertThrows(ProjectNotFoundException.class, () -> projectService.patchProject(new ProjectPatch(3L, null, "Billing"), 5L));
+        assertEquals("Project with id: 5 could not be found!", exception.getMessage());
+    }
+
 }
@@ -0,0 +1,234 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.services.EmployeeService;
+import de.evoila.companySimulator.services.ProjectService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import org.springframework.test.web.servlet.RequestBuilder;
+
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.*;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+// Pins the statements every EmployeeController and ProjectController operation costs. A change that adds queries
+// fails here, lower a budget when a change saves some.
+@SpringBootTest
+@AutoConfigureMockMvc
+@Import(SqlCapture.class)
+class QueryBudgetTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    SqlCapture sqlCapture;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Test
+    public void employeePage() throws Exception {
+        assertBudget(get("/employee/all"), 1);
+    }
+
+    @Test
+    public void employeesUnpaged() throws Exception {
+        assertBudget(get("/employee/all").param("unpaged", "true"), 1);
+    }
+
+    @Test
+    public void employeeSearch() throws Exception {
+        assertBudget(get("/employee/search").param("speciality", "DEVOPS").param("lastName", "Jane"), 1);
+    }
+
+    @Test
+    public void employeeExport() throws Exception {
+        sqlCapture.start();
+        MvcResult result = mockMvc.perform(get("/employee/export")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        sqlCapture.assertStatements(1);
+    }
+
+    @Test
+    public void findEmployee() throws Exception {
+        Employee employee = newEmployee();
+        assertBudget(get("/employee/find/" + employee.getId()), 1);
+        // the second read is served from the entity cache
+        assertBudget(get("/employee/find/" + employee.getId()), 0);
+    }
+
+    @Test
+    public void findEmployees() throws Exception {
+        Employee first = newEmployee();
+        Employee second = newEmployee();
+        Employee third = newEmployee();
+        assertBudget(get("/employee/find").param("ids", first.getId() + "," + second.getId() + "," + third.getId()), 1);
+    }
+
+    @Test
+    public void createEmployee() throws Exception {
+        assertBudget(post("/employee/new").contentType(MediaType.APPLICATION_JSON).content(employeeJson()), 1);
+    }
+
+    @Test
+    public void retriedCreateEmployee() throws Exception {
+        String json = employeeJson();
+        String key = "budget" + System.nanoTime();
+        assertBudget(post("/employee/new").header("Idempotency-Key", key).contentType(MediaType.APPLICATION_JSON).content(json), 1);
+        // the retry is answered from the idempotency store
+        assertBudget(post("/employee/new").header("Idempotency-Key", key).contentType(MediaType.APPLICATION_JSON).content(json), 0);
+    }
+
+    @Test
+    public void createEmployees() throws Exception {
+        assertBudget(post("/employee/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[" + employeeJson() + "," + employeeJson() + "," + employeeJson() + "]"), 1);
+    }
+
+    @Test
+    public void deleteEmployee() throws Exception {
+        Employee employee = newEmployee();
+        assertBudget(delete("/employee/delete/" + employee.getId()), 1);
+    }
+
+    @Test
+    public void updateEmployee() throws Exception {
+        Employee employee = newEmployee();
+        assertBudget(put("/employee/update/" + employee.getId()).contentType(MediaType.APPLICATION_JSON).content(employeeJson()), 2);
+    }
+
+    @Test
+    public void patchEmployee() throws Exception {
+        Employee employee = newEmployee();
+        assertBudget(patch("/employee/update/" + employee.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\":" + employee.getVersion() + ",\"firstName\":\"Patched\"}"), 1);
+    }
+
+    @Test
+    public void patchEmployeeSpeciality() throws Exception {
+        Employee employee = newEmployee();
+        assertBudget(patch("/employee/update/" + employee.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\":" + employee.getVersion() + ",\"speciality\":\"CLOUD\"}"), 2);
+    }
+
+    @Test
+    public void assignProject() throws Exception {
+        Employee employee = newEmployee();
+        Project project = newProject();
+        assertBudget(put("/employee/" + employee.getId() + "/project/" + project.getId()), 2);
+    }
+
+    @Test
+    public void assignProjectToMany() throws Exception {
+        Employee first = newEmployee();
+        Employee second = newEmployee();
+        Project project = newProject();
+        assertBudget(put("/employee/project/" + project.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("[" + first.getId() + "," + second.getId() + "]"), 2);
+    }
+
+    @Test
+    public void projectPage() throws Exception {
+        assertBudget(get("/project/all"), 1);
+    }
+
+    @Test
+    public void projectsUnpaged() throws Exception {
+        assertBudget(get("/project/all").param("unpaged", "true"), 1);
+    }
+
+    @Test
+    public void projectExport() throws Exception {
+        sqlCapture.start();
+        MvcResult result = mockMvc.perform(get("/project/export")).andExpect(request().asyncStarted()).andReturn();
+        mockMvc.perform(asyncDispatch(result)).andExpect(status().isOk());
+        sqlCapture.assertStatements(1);
+    }
+
+    @Test
+    public void findProject() throws Exception {
+        Project project = newProject();
+        assertBudget(get("/project/find/" + project.getId()), 1);
+        assertBudget(get("/project/find/" + project.getId()), 0);
+    }
+
+    @Test
+    public void findProjects() throws Exception {
+        Project first = newProject();
+        Project second = newProject();
+        assertBudget(get("/project/find").param("ids", first.getId() + "," + second.getId()), 1);
+    }
+
+    @Test
+    public void createProject() throws Exception {
+        assertBudget(post("/project/new").contentType(MediaType.APPLICATION_JSON).content(projectJson()), 1);
+    }
+
+    @Test
+    public void retriedCreateProject() throws Exception {
+        String json = projectJson();
+        String key = "budget" + System.nanoTime();
+        assertBudget(post("/project/new").header("Idempotency-Key", key).contentType(MediaType.APPLICATION_JSON).content(json), 1);
+        assertBudget(post("/project/new").header("Idempotency-Key", key).contentType(MediaType.APPLICATION_JSON).content(json), 0);
+    }
+
+    @Test
+    public void createProjects() throws Exception {
+        assertBudget(post("/project/batch").contentType(MediaType.APPLICATION_JSON)
+                .content("[" + projectJson() + "," + projectJson() + "," + projectJson() + "]"), 1);
+    }
+
+    @Test
+    public void deleteProject() throws Exception {
+        Project project = newProject();
+        assertBudget(delete("/project/delete/" + project.getId()), 1);
+    }
+
+    @Test
+    public void updateProject() throws Exception {
+        Project project = newProject();
+        assertBudget(put("/project/update/" + project.getId()).contentType(MediaType.APPLICATION_JSON).content(projectJson()), 2);
+    }
+
+    @Test
+    public void patchProject() throws Exception {
+        Project project = newProject();
+        assertBudget(patch("/project/update/" + project.getId()).contentType(MediaType.APPLICATION_JSON)
+                .content("{\"version\":" + project.getVersion() + ",\"projectName\":\"Patched\"}"), 1);
+    }
+
+    private void assertBudget(RequestBuilder request, int statements) throws Exception {
+        sqlCapture.start();
+        mockMvc.perform(request).andExpect(status().is2xxSuccessful());
+        sqlCapture.assertStatements(statements);
+    }
+
+    private Employee newEmployee() {
+        return (Employee) employeeService.createEmployee(new Employee("Budget", "Test", "budget" + System.nanoTime() + "@test.de", Speciality.DEVOPS)).getBody();
+    }
+
+    private Project newProject() {
+        return (Project) projectService.createProject(new Project("Budget" + System.nanoTime(), "Budget")).getBody();
+    }
+
+    private static String employeeJson() {
+        return "{\"firstName\":\"Budget\",\"lastName\":\"Test\",\"email\":\"budget" + System.nanoTime() + "@test.de\",\"speciality\":\"BACKEND\"}";
+    }
+
+    private static String projectJson() {
+        return "{\"companyName\":\"Budget" + System.nanoTime() + "\",\"projectName\":\"Budget\"}";
+    }
+
+}
@@ -0,0 +1,119 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.web.reactive.server.WebTestClient;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the test bootstrapper picks the web application type before the profile is read, so it is repeated here
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT, properties = "spring.main.web-application-type=reactive")
+@ActiveProfiles("reactive")
+class ReactiveApiTests {
+
+    @Autowired
+    WebTestClient webTestClient;
+
+    @Test
+    public void pageShouldMirrorTheServletStack() {
+        webTestClient.get().uri("/employee/all?size=2")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().exists(HttpHeaders.ETAG)
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(2)
+                .jsonPath("$.content[0].id").isEqualTo(1)
+                .jsonPath("$.nextCursor").isEqualTo(2);
+    }
+
+    @Test
+    public void pageShouldAnswerNotModifiedForAMatchingETag() {
+        String eTag = webTestClient.get().uri("/employee/all")
+                .exchange()
+                .returnResult(String.class)
+                .getResponseHeaders().getETag();
+
+        webTestClient.get().uri("/employee/all")
+                .header(HttpHeaders.IF_NONE_MATCH, eTag)
+                .exchange()
+                .expectStatus().isNotModified();
+    }
+
+    @Test
+    public void unpagedListShouldStreamAsNdjson() {
+        Flux<EmployeeSummary> employees = webTestClient.get().uri("/employee/all?unpaged=true")
+                .accept(MediaType.APPLICATION_NDJSON)
+                .exchange()
+                .expectStatus().isOk()
+                .returnResult(EmployeeSummary.class)
+                .getResponseBody();
+
+        // requested one at a time, the rest of the stream waits for the demand
+        StepVerifier.create(employees, 1)
+                .assertNext(employee -> assertEquals("Potter", employee.getLastName()))
+                .thenRequest(5)
+                .expectNextCount(5)
+                .verifyComplete();
+    }
+
+    @Test
+    public void searchShouldApplyTheFilters() {
+        webTestClient.get().uri("/employee/search?speciality=DEVOPS&lastName=Ja")
+                .exchange()
+                .expectStatus().isOk()
+                .expectBody()
+                .jsonPath("$.content.length()").isEqualTo(1)
+                .jsonPath("$.content[0].speciality").isEqualTo(Speciality.DEVOPS.name())
+                .jsonPath("$.content[0].lastName").isEqualTo("Jane");
+    }
+
+    @Test
+    public void findShouldAnswerTheEmployeeWithItsETag() {
+        webTestClient.get().uri("/employee/find/1")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().valueEquals(HttpHeaders.ETAG, "\"1-0\"")
+                .expectBody()
+                .jsonPath("$.firstName").isEqualTo("Harry")
+                .jsonPath("$.speciality").isEqualTo("FRONTEND");
+    }
+
+    @Test
+    public void findShouldKeepTheNotFoundAdvice() {
+        webTestClient.get().uri("/employee/find/" + Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound();
+        webTestClient.get().uri("/project/find/" + Long.MAX_VALUE)
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+    @Test
+    public void exportShouldStreamEveryEmployee() {
+        webTestClient.get().uri("/employee/export")
+                .exchange()
+                .expectStatus().isOk()
+                .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+                .returnResult(String.class)
+                .getResponseBody()
+                .as(StepVerifier::create)
+                .expectNextCount(6)
+                .verifyComplete();
+    }
+
+    @Test
+    public void servletOnlyEndpointsShouldNotBeServed() {
+        webTestClient.get().uri("/simulation/status")
+                .exchange()
+                .expectStatus().isNotFound();
+    }
+
+}
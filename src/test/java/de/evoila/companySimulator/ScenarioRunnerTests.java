@@ -0,0 +1,75 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.models.ScenarioResult;
+import de.evoila.companySimulator.models.StaffMove;
+import de.evoila.companySimulator.simulation.CompanyState;
+import de.evoila.companySimulator.simulation.ScenarioRunner;
+import de.evoila.companySimulator.simulation.SimulationEngine;
+import de.evoila.companySimulator.simulation.SimulationSettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ScenarioRunnerTests {
+
+    private static final SimulationSettings SETTINGS = new SimulationSettings(0.01, 0.02, 0.1, 0.2, 1000);
+
+    private final List<StaffMove> moves = List.of(new StaffMove(Speciality.DEVOPS, 3, 1L, 2L));
+
+    @Test
+    public void moveEmployeesShouldOnlyChangeTheCopy() {
+        CompanyState base = company();
+        CompanyState copy = base.copy();
+
+        assertEquals(3, copy.moveEmployees(Speciality.DEVOPS, 3, 1L, 2L));
+        assertEquals(base.headcount(1L) - 3, copy.headcount(1L));
+        assertEquals(base.headcount(2L) + 3, copy.headcount(2L));
+        assertEquals(0, copy.reassignments());
+    }
+
+    @Test
+    public void moveEmployeesShouldStopWhenTheProjectRunsOutOfTheSpeciality() {
+        CompanyState state = company();
+
+        assertEquals(20, state.moveEmployees(Speciality.CLOUD, 1000, 1L, null));
+        assertEquals(0, state.moveEmployees(Speciality.CLOUD, 1, 99L, 1L));
+    }
+
+    @Test
+    public void runsWithTheSameSeedShouldGiveTheSameResultOnAnyNumberOfThreads() throws Exception {
+        ScenarioRunner runner = new ScenarioRunner(new SimulationEngine(SETTINGS, ForkJoinPool.commonPool()));
+        ForkJoinPool onePool = new ForkJoinPool(1);
+        ForkJoinPool fourPool = new ForkJoinPool(4);
+        try {
+            AtomicInteger completedRuns = new AtomicInteger();
+            ScenarioResult single = onePool.submit(() -> runner.run(company(), moves, 11L, 50, 20, completedRuns)).get();
+            ScenarioResult parallel = fourPool.submit(() -> runner.run(company(), moves, 11L, 50, 20, new AtomicInteger())).get();
+
+            assertEquals(single, parallel);
+            assertEquals(50, completedRuns.get());
+            assertEquals(3, single.getMovedEmployees());
+            assertTrue(single.getOutputDelta().getP5() <= single.getOutputDelta().getP95());
+        } finally {
+            onePool.shutdown();
+            fourPool.shutdown();
+        }
+    }
+
+    private static CompanyState company() {
+        List<EmployeeSummary> rows = new ArrayList<>();
+        Speciality[] specialities = Speciality.values();
+        for (int employee = 1; employee <= 200; employee++) {
+            rows.add(new EmployeeSummary((long) employee, "First", "Last", "e" + employee + "@scenario.de",
+                    specialities[employee % specialities.length], (long) employee % 2 + 1, null));
+        }
+        return CompanyState.build(5L, List.of(1L, 2L), rows);
+    }
+
+}
@@ -0,0 +1,46 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.ScenarioJobStatus;
+import de.evoila.companySimulator.models.ScenarioJob;
+import de.evoila.companySimulator.models.ScenarioRequest;
+import de.evoila.companySimulator.services.ScenarioService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.annotation.DirtiesContext;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+// the closed context shuts the scenario pool down, so no job keeps running into the other tests
+@SpringBootTest(properties = "company-simulator.simulation.max-running-jobs=1")
+@DirtiesContext
+class ScenarioServiceTests {
+
+    @Autowired
+    ScenarioService scenarioService;
+
+    @Test
+    public void aSubmissionBeyondTheRunningJobsShouldBeRejectedUntilOneFinishes() throws Exception {
+        ResponseEntity<?> running = scenarioService.submit(new ScenarioRequest(1L, 1000, 10000, List.of()));
+        assertEquals(HttpStatus.ACCEPTED, running.getStatusCode());
+
+        assertEquals(HttpStatus.SERVICE_UNAVAILABLE, scenarioService.submit(new ScenarioRequest(2L, 1, 1, List.of())).getStatusCode());
+
+        String id = ((ScenarioJob) running.getBody()).getId();
+        long deadline = System.currentTimeMillis() + 60_000;
+        while (job(id).getStatus() == ScenarioJobStatus.RUNNING && System.currentTimeMillis() < deadline) {
+            Thread.sleep(20);
+        }
+        assertEquals(ScenarioJobStatus.DONE, job(id).getStatus());
+        assertEquals(HttpStatus.ACCEPTED, scenarioService.submit(new ScenarioRequest(2L, 1, 1, List.of())).getStatusCode());
+    }
+
+    private ScenarioJob job(String id) {
+        return (ScenarioJob) scenarioService.getJob(id).getBody();
+    }
+
+}
@@ -0,0 +1,111 @@
+package de.evoila.companySimulator;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import de.evoila.companySimulator.controllers.SimulationController;
+import de.evoila.companySimulator.enums.ScenarioJobStatus;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.exceptions.ScenarioJobNotFoundException;
+import de.evoila.companySimulator.models.ScenarioJob;
+import de.evoila.companySimulator.models.ScenarioRequest;
+import de.evoila.companySimulator.models.SimulationStatus;
+import de.evoila.companySimulator.models.StaffMove;
+import de.evoila.companySimulator.services.ScenarioService;
+import de.evoila.companySimulator.services.SimulationService;
+import org.junit.jupiter.api.Test;
+import org.mockito.Mockito;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.boot.test.mock.mockito.MockBean;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.request.MockMvcRequestBuilders;
+
+import java.util.List;
+
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(SimulationController.class)
+class SimulationControllerTests {
+
+    @Autowired
+    MockMvc mockMvc;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @MockBean
+    SimulationService simulationService;
+
+    @MockBean
+    ScenarioService scenarioService;
+
+    private final SimulationStatus simulationStatus = new SimulationStatus(42L, 10L, 2, 20, 1, 3L, 1L, 2L, 18.5, 170.0, 1_000_000L);
+
+    @Test
+    public void startShouldPassTheSeedAndReturnCreated() throws Exception {
+        Mockito.doReturn(new ResponseEntity<>(simulationStatus, HttpStatus.CREATED)).when(simulationService).start(42L);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post("/simulation/start")
+                        .param("seed", "42"))
+                .andExpect(status().isCreated())
+                .andExpect(content().json(objectMapper.writeValueAsString(simulationStatus)));
+    }
+
+    @Test
+    public void stepShouldDefaultToOneTick() throws Exception {
+        Mockito.doReturn(new ResponseEntity<>(simulationStatus, HttpStatus.OK)).when(simulationService).step(1);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post("/simulation/step"))
+                .andExpect(status().isOk())
+                .andExpect(content().json(objectMapper.writeValueAsString(simulationStatus)));
+    }
+
+    @Test
+    public void getStatusShouldReturnNotFoundBeforeAStart() throws Exception {
+        Mockito.doReturn(new ResponseEntity<>("No simulation has been started!", HttpStatus.NOT_FOUND)).when(simulationService).getStatus();
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/simulation/status"))
+                .andExpect(status().isNotFound());
+    }
+
+    @Test
+    public void submitScenarioShouldReturnAcceptedAndTheJob() throws Exception {
+        ScenarioRequest request = new ScenarioRequest(3L, 100, 50, List.of(new StaffMove(Speciality.DEVOPS, 3, 1L, 2L)));
+        ScenarioJob job = new ScenarioJob("job", ScenarioJobStatus.RUNNING, 3L, 100, 0, null, null);
+        Mockito.doReturn(new ResponseEntity<>(job, HttpStatus.ACCEPTED)).when(scenarioService).submit(request);
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post("/simulation/scenarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isAccepted())
+                .andExpect(content().json(objectMapper.writeValueAsString(job)));
+    }
+
+    @Test
+    public void submitScenarioShouldReturnBadRequestWithoutMoves() throws Exception {
+        ScenarioRequest request = new ScenarioRequest(3L, 100, 50, List.of());
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .post("/simulation/scenarios")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content(objectMapper.writeValueAsString(request)))
+                .andExpect(status().isBadRequest());
+    }
+
+    @Test
+    public void getScenarioJobShouldReturnNotFoundForAnUnknownId() throws Exception {
+        Mockito.doThrow(new ScenarioJobNotFoundException("unknown")).when(scenarioService).getJob("unknown");
+
+        this.mockMvc.perform(MockMvcRequestBuilders
+                        .get("/simulation/scenarios/unknown"))
+                .andExpect(status().isNotFound());
+    }
+
+}
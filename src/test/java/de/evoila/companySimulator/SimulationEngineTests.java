@@ -0,0 +1,88 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.EmployeeSummary;
+import de.evoila.companySimulator.simulation.CompanyState;
+import de.evoila.companySimulator.simulation.SimulationEngine;
+import de.evoila.companySimulator.simulation.SimulationSettings;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class SimulationEngineTests {
+
+    private static final SimulationSettings SETTINGS = new SimulationSettings(0.01, 0.02, 0.1, 0.2, 1000);
+
+    @Test
+    public void runsWithTheSameSeedShouldEndInTheSameStateRegardlessOfTheThreads() {
+        ForkJoinPool singleThread = new ForkJoinPool(1);
+        try {
+            CompanyState sequential = company(7L, 50, 20000);
+            new SimulationEngine(new SimulationSettings(0.01, 0.02, 0.1, 0.2, Integer.MAX_VALUE), singleThread).step(sequential, 7L, 30);
+            CompanyState parallel = company(7L, 50, 20000);
+            new SimulationEngine(new SimulationSettings(0.01, 0.02, 0.1, 0.2, 100), ForkJoinPool.commonPool()).step(parallel, 7L, 30);
+
+            assertEquals(sequential.employeeCount(), parallel.employeeCount());
+            assertEquals(sequential.unassignedCount(), parallel.unassignedCount());
+            assertEquals(sequential.hires(), parallel.hires());
+            assertEquals(sequential.departures(), parallel.departures());
+            assertEquals(sequential.reassignments(), parallel.reassignments());
+            assertEquals(sequential.totalOutput(), parallel.totalOutput());
+        } finally {
+            singleThread.shutdown();
+        }
+    }
+
+    @Test
+    public void runsWithDifferentSeedsShouldDiffer() {
+        CompanyState first = company(1L, 20, 5000);
+        new SimulationEngine(SETTINGS, ForkJoinPool.commonPool()).step(first, 1L, 20);
+        CompanyState second = company(2L, 20, 5000);
+        new SimulationEngine(SETTINGS, ForkJoinPool.commonPool()).step(second, 2L, 20);
+
+        assertNotEquals(first.totalOutput(), second.totalOutput());
+    }
+
+    @Test
+    public void headcountShouldFollowHiresAndDepartures() {
+        CompanyState state = company(3L, 10, 2000);
+        long employeeTicks = new SimulationEngine(SETTINGS, ForkJoinPool.commonPool()).step(state, 3L, 100);
+
+        assertEquals(100, state.tick());
+        assertEquals(2000 + state.hires() - state.departures(), state.employeeCount());
+        assertTrue(state.hires() > 0 && state.departures() > 0 && state.reassignments() > 0);
+        assertTrue(employeeTicks >= 100L * Math.min(2000, state.employeeCount()));
+        assertTrue(state.lastTickOutput() > 0);
+    }
+
+    @Test
+    public void unassignedEmployeesShouldProduceNothing() {
+        List<EmployeeSummary> employees = List.of(new EmployeeSummary(1L, "Jan", "Bench", "jan@bench.de", Speciality.CLOUD, null, null));
+        CompanyState state = CompanyState.build(4L, List.of(), employees);
+        new SimulationEngine(SETTINGS, ForkJoinPool.commonPool()).step(state, 4L, 10);
+
+        assertEquals(0.0, state.totalOutput());
+        assertEquals(0, state.hires());
+    }
+
+    private static CompanyState company(long seed, int projects, int employees) {
+        List<Long> projectIds = new ArrayList<>();
+        for (long project = 1; project <= projects; project++) {
+            projectIds.add(project);
+        }
+        List<EmployeeSummary> rows = new ArrayList<>();
+        Speciality[] specialities = Speciality.values();
+        for (int employee = 1; employee <= employees; employee++) {
+            // every tenth employee is unassigned
+            Long projectId = employee % 10 == 0 ? null : (long) employee % projects + 1;
+            rows.add(new EmployeeSummary((long) employee, "First", "Last", "e" + employee + "@sim.de",
+                    specialities[employee % specialities.length], projectId, null));
+        }
+        return CompanyState.build(seed, projectIds, rows);
+    }
+
+}
@@ -0,0 +1,96 @@
+package de.evoila.companySimulator;
+
+import org.springframework.beans.factory.config.BeanPostProcessor;
+
+import javax.sql.DataSource;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+// Captures the SQL run through the application's data source, Hibernate and JdbcTemplate alike, so tests can pin how
+// many statements an operation costs. Import it into a test context; it wraps the DataSource bean. Sequence fetches
+// are left out, the pooled id generator only runs them once per block of ids.
+public class SqlCapture implements BeanPostProcessor {
+
+    private final List<String> statements = Collections.synchronizedList(new ArrayList<>());
+
+    private volatile boolean capturing;
+
+    public void start() {
+        statements.clear();
+        capturing = true;
+    }
+
+    public List<String> stop() {
+        capturing = false;
+        synchronized (statements) {
+            return new ArrayList<>(statements);
+        }
+    }
+
+    // stops the capture and lists the statements when the count differs
+    public void assertStatements(int expected) {
+        List<String> captured = stop();
+        assertEquals(expected, captured.size(), () -> "Captured statements:\n" + String.join("\n", captured));
+    }
+
+    @Override
+    public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DataSource) {
+            DataSource dataSource = (DataSource) bean;
+            return proxy(DataSource.class, dataSource, (target, method, args) -> {
+                Object result = invoke(target, method, args);
+                return result instanceof Connection ? proxy(Connection.class, (Connection) result, this::connection) : result;
+            });
+        }
+        return bean;
+    }
+
+    private Object connection(Object target, Method method, Object[] args) throws Throwable {
+        if ((method.getName().equals("prepareStatement") || method.getName().equals("prepareCall")) && args[0] instanceof String) {
+            record((String) args[0]);
+        }
+        Object result = invoke(target, method, args);
+        if (method.getName().equals("createStatement")) {
+            return proxy(Statement.class, (Statement) result, (statement, statementMethod, statementArgs) -> {
+                if (statementMethod.getName().startsWith("execute") && statementArgs != null && statementArgs[0] instanceof String) {
+                    record((String) statementArgs[0]);
+                }
+                return invoke(statement, statementMethod, statementArgs);
+            });
+        }
+        return result;
+    }
+
+    private void record(String sql) {
+        if (capturing && !sql.contains("next value for")) {
+            statements.add(sql);
+        }
+    }
+
+    private interface Handler<T> {
+        Object invoke(T target, Method method, Object[] args) throws Throwable;
+    }
+
+    private static <T> T proxy(Class<T> type, T target, Handler<T> handler) {
+        InvocationHandler invocationHandler = (proxy, method, args) -> handler.invoke(target, method, args);
+        return type.cast(Proxy.newProxyInstance(SqlCapture.class.getClassLoader(), new Class<?>[]{type}, invocationHandler));
+    }
+
+    private static Object invoke(Object target, Method method, Object[] args) throws Throwable {
+        try {
+            return method.invoke(target, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+}
@@ -0,0 +1,118 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.analytics.AnalyticsLoader;
+import de.evoila.companySimulator.analytics.EmployeeColumns;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.models.EmployeeMatches;
+import de.evoila.companySimulator.models.EmployeePatch;
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.models.ProjectPatch;
+import de.evoila.companySimulator.repositories.EmployeeRepository;
+import de.evoila.companySimulator.services.AnalyticsService;
+import de.evoila.companySimulator.services.EmployeeService;
+import de.evoila.companySimulator.services.ProjectService;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class StaffingAnalyticsTests {
+
+    @Autowired
+    AnalyticsService analyticsService;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    ProjectService projectService;
+
+    @Autowired
+    AnalyticsLoader analyticsLoader;
+
+    @Autowired
+    EmployeeColumns employeeColumns;
+
+    @Autowired
+    EmployeeRepository employeeRepository;
+
+    @BeforeEach
+    public void init() {
+        // other tests write through the repositories and bypass the read models
+        analyticsLoader.loadStaffingCounter();
+        analyticsLoader.loadEmployeeColumns();
+    }
+
+    @Test
+    public void theCountersShouldMatchTheDatabaseAfterEveryKindOfWrite() {
+        Project billing = (Project) projectService.createProject(new Project("Tosch", "Billing")).getBody();
+        Employee ron = create(new Employee("Ron", "Weasley", "rw@gmail.com", Speciality.DEVOPS), new Project("Tosch", "Configuration"));
+        Employee ginny = create(new Employee("Ginny", "Weasley", "gw@gmail.com", Speciality.CLOUD), null);
+        Employee fred = create(new Employee("Fred", "Weasley", "fw@gmail.com", Speciality.BACKEND), null);
+        assertCountersMatchTheDatabase();
+
+        employeeService.assignProject(List.of(ginny.getId(), fred.getId()), billing.getId());
+        assertCountersMatchTheDatabase();
+
+        employeeService.patchEmployee(new EmployeePatch(ginny.getVersion() + 1, null, null, null, Speciality.SECURITY), ginny.getId());
+        assertCountersMatchTheDatabase();
+
+        Employee ronMoved = new Employee("Ron", "Weasley", "rw@gmail.com", Speciality.FRONTEND);
+        employeeService.updateEmployee(ronMoved, ron.getId());
+        assertCountersMatchTheDatabase();
+
+        projectService.patchProject(new ProjectPatch(billing.getVersion(), "WagenDesVolkes", null), billing.getId());
+        assertCountersMatchTheDatabase();
+
+        employeeService.deleteEmployee(fred.getId());
+        employeeService.deleteEmployee(ginny.getId());
+        projectService.deleteProject(billing.getId());
+        assertCountersMatchTheDatabase();
+    }
+
+    @Test
+    public void theEmployeeColumnsShouldFollowTheWrites() {
+        Employee ron = create(new Employee("Ron", "Columns_Weasley", "rw@gmail.com", Speciality.SECURITY), new Project("Columns_Company", "Configuration"));
+        Employee ginny = create(new Employee("Ginny", "Columns_Weasley", "gw@gmail.com", Speciality.CLOUD), null);
+        assertArrayEquals(new long[]{ron.getId()}, columnIds(Speciality.SECURITY));
+
+        employeeService.assignProject(ginny.getId(), ron.getProject().getId());
+        employeeService.patchEmployee(new EmployeePatch(ginny.getVersion() + 1, null, null, null, Speciality.SECURITY), ginny.getId());
+        assertArrayEquals(new long[]{ron.getId(), ginny.getId()}, columnIds(Speciality.SECURITY));
+
+        employeeService.deleteEmployee(ron.getId());
+        assertArrayEquals(new long[]{ginny.getId()}, columnIds(Speciality.SECURITY));
+    }
+
+    @Test
+    public void aDeleteShouldReadThePlacementWhenTheColumnsAreBehind() {
+        Employee ron = create(new Employee("Ron", "Weasley", "rw@gmail.com", Speciality.DEVOPS), new Project("Tosch", "Configuration"));
+        // as if a concurrent write had committed but not yet reached the read model
+        employeeColumns.patch(ron.getId(), null, null, Speciality.CLOUD);
+
+        employeeService.deleteEmployee(ron.getId());
+
+        assertFalse(employeeRepository.existsById(ron.getId()));
+        assertCountersMatchTheDatabase();
+    }
+
+    private long[] columnIds(Speciality speciality) {
+        return ((EmployeeMatches) analyticsService.findEmployees(speciality, "Columns_Company", "Columns_Weasley").getBody()).getIds();
+    }
+
+    private Employee create(Employee employee, Project project) {
+        employee.setProject(project);
+        return (Employee) employeeService.createEmployee(employee).getBody();
+    }
+
+    private void assertCountersMatchTheDatabase() {
+        assertEquals(analyticsService.getStaffingReportFromDatabase(), analyticsService.getStaffingReport());
+    }
+
+}
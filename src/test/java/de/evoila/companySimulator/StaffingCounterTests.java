@@ -0,0 +1,71 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.analytics.StaffingCounter;
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.HeadcountRow;
+import de.evoila.companySimulator.models.ProjectCompany;
+import de.evoila.companySimulator.models.StaffingReport;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class StaffingCounterTests {
+
+    @Test
+    public void reportShouldReflectTheRebuildAndLaterChanges() {
+        StaffingCounter counter = new StaffingCounter();
+        counter.rebuild(() -> List.of(new HeadcountRow(1L, Speciality.DEVOPS, 2L), new HeadcountRow(null, Speciality.CLOUD, 1L)),
+                () -> List.of(new ProjectCompany(1L, "Tosch"), new ProjectCompany(2L, "Tosch")));
+
+        counter.employeeAdded(2L, Speciality.BACKEND);
+        counter.employeeMoved(null, Speciality.CLOUD, 1L, Speciality.CLOUD);
+        counter.employeeRemoved(1L, Speciality.DEVOPS);
+        counter.projectSaved(3L, "WagenDesVolkes");
+
+        StaffingReport report = counter.report();
+        assertEquals(Map.of(1L, Map.of(Speciality.DEVOPS, 1L, Speciality.CLOUD, 1L), 2L, Map.of(Speciality.BACKEND, 1L)), report.getHeadcountPerProject());
+        assertEquals(Map.of(), report.getUnassignedPerSpeciality());
+        assertEquals(Map.of("Tosch", 2L, "WagenDesVolkes", 1L), report.getProjectsPerCompany());
+    }
+
+    @Test
+    public void rebuildShouldKeepTheChangesMadeWhileTheSnapshotWasRead() {
+        StaffingCounter counter = new StaffingCounter();
+        counter.rebuild(() -> {
+            // committed after the snapshot was taken
+            counter.employeeAdded(1L, Speciality.DEVOPS);
+            counter.projectSaved(2L, "WagenDesVolkes");
+            return List.of(new HeadcountRow(1L, Speciality.DEVOPS, 2L));
+        }, () -> List.of(new ProjectCompany(1L, "Tosch")));
+
+        StaffingReport report = counter.report();
+        assertEquals(Map.of(1L, Map.of(Speciality.DEVOPS, 3L)), report.getHeadcountPerProject());
+        assertEquals(Map.of("Tosch", 1L, "WagenDesVolkes", 1L), report.getProjectsPerCompany());
+    }
+
+    @Test
+    public void projectSavedShouldMoveTheProjectToItsNewCompanyAndKeepItOnANullName() {
+        StaffingCounter counter = new StaffingCounter();
+        counter.projectSaved(1L, "Tosch");
+        counter.projectSaved(1L, "WagenDesVolkes");
+        counter.projectSaved(1L, null);
+
+        assertEquals(Map.of("WagenDesVolkes", 1L), counter.report().getProjectsPerCompany());
+    }
+
+    @Test
+    public void projectRemovedShouldDropTheProjectFromTheReport() {
+        StaffingCounter counter = new StaffingCounter();
+        counter.projectSaved(1L, "Tosch");
+        counter.employeeAdded(1L, Speciality.SECURITY);
+        counter.projectRemoved(1L);
+
+        StaffingReport report = counter.report();
+        assertEquals(Map.of(), report.getHeadcountPerProject());
+        assertEquals(Map.of(), report.getProjectsPerCompany());
+    }
+
+}
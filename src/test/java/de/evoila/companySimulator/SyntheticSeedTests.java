@@ -0,0 +1,57 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.enums.Speciality;
+import de.evoila.companySimulator.models.Employee;
+import de.evoila.companySimulator.repositories.ProjectRepository;
+import de.evoila.companySimulator.services.EmployeeService;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest(properties = {
+        "company-simulator.seed.employees=2000",
+        "company-simulator.seed.projects=20",
+        "company-simulator.seed.speciality-weights=DEVOPS:1",
+        "company-simulator.seed.assigned-ratio=0.5",
+        "company-simulator.seed.batch-size=300"})
+class SyntheticSeedTests {
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Autowired
+    EmployeeService employeeService;
+
+    @Autowired
+    JdbcTemplate jdbcTemplate;
+
+    @Test
+    public void seedShouldInsertTheConfiguredRows() {
+        // other tests of this class may have added employees behind the seeded ids
+        assertEquals(2000, jdbcTemplate.queryForObject("select count(*) from employee where id <= 2000", Integer.class));
+        assertEquals(20, projectRepository.count());
+        assertEquals(2000, jdbcTemplate.queryForObject(
+                "select count(*) from employee where id <= 2000 and speciality = ?", Integer.class, Speciality.DEVOPS.ordinal()));
+
+        int assigned = jdbcTemplate.queryForObject("select count(*) from employee where id <= 2000 and project_id is not null", Integer.class);
+        assertTrue(assigned > 800 && assigned < 1200, "assigned " + assigned);
+    }
+
+    @Test
+    public void seedShouldRestoreTheDeclaredIndexes() {
+        Integer indexes = jdbcTemplate.queryForObject(
+                "select count(*) from information_schema.indexes where table_name = 'EMPLOYEE' and index_name like 'IDX\\_%'", Integer.class);
+        assertTrue(indexes > 0);
+    }
+
+    @Test
+    public void newEmployeesShouldGetIdsBehindTheSeededOnes() {
+        Employee created = (Employee) employeeService.createEmployee(
+                new Employee("Seed", "Test", "seed" + System.nanoTime() + "@test.de", Speciality.BACKEND)).getBody();
+        assertTrue(created.getId() > 2000);
+    }
+
+}
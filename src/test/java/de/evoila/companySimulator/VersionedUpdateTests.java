@@ -0,0 +1,49 @@
+package de.evoila.companySimulator;
+
+import de.evoila.companySimulator.models.Project;
+import de.evoila.companySimulator.repositories.ProjectRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+@SpringBootTest
+class VersionedUpdateTests {
+
+    @Autowired
+    ProjectRepository projectRepository;
+
+    @Test
+    public void updateIfVersionMatchesShouldChangeOnlyTheGivenColumnsAndBumpTheVersion() {
+        Project project = projectRepository.save(new Project("Tosch", "Configuration"));
+
+        assertEquals(1, projectRepository.updateIfVersionMatches(project.getId(), project.getVersion(), Map.of("projectName", "Billing")));
+
+        Project updated = projectRepository.findById(project.getId()).orElseThrow();
+        assertEquals("Tosch", updated.getCompanyName());
+        assertEquals("Billing", updated.getProjectName());
+        assertEquals(project.getVersion() + 1, updated.getVersion());
+    }
+
+    @Test
+    public void updateIfVersionMatchesShouldNotTouchARowWithAnotherVersion() {
+        Project project = projectRepository.save(new Project("Tosch", "Configuration"));
+
+        assertEquals(0, projectRepository.updateIfVersionMatches(project.getId(), project.getVersion() + 1, Map.of("projectName", "Billing")));
+
+        assertEquals("Configuration", projectRepository.findById(project.getId()).orElseThrow().getProjectName());
+    }
+
+    @Test
+    public void deleteRowByIdShouldReturnTheNumberOfDeletedRows() {
+        Project project = projectRepository.save(new Project("Tosch", "Configuration"));
+
+        assertEquals(1, projectRepository.deleteRowById(project.getId()));
+        assertEquals(0, projectRepository.deleteRowById(project.getId()));
+        assertFalse(projectRepository.existsById(project.getId()));
+    }
+
+}